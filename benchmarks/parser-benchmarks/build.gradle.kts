@@ -0,0 +1,60 @@
+import com.diffplug.gradle.spotless.SpotlessTask
+
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.3"
+    id("com.diffplug.spotless") version "8.2.1"
+}
+
+group = "com.jobcopilot"
+version = "0.0.1-SNAPSHOT"
+description = "Parser Benchmarks"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(25)
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    jmh("org.jobcopilot:parser-core:0.0.1-SNAPSHOT")
+    jmh("com.jobcopilot:job-analyzer-service:0.0.1-SNAPSHOT")
+    jmh("com.jobcopilot:profile-service:0.0.1-SNAPSHOT")
+}
+
+val fixtures = rootDir.resolve("../../services/job-analyzer-service/src/test/resources/fixtures").canonicalPath
+
+jmh {
+    jmhVersion.set("1.37")
+    benchmarkMode.set(listOf("thrpt", "avgt"))
+    timeUnit.set("us")
+    profilers.set(listOf("gc"))
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    fork.set(2)
+    jvmArgsAppend.set(listOf("-Dbenchmark.fixtures=$fixtures"))
+    resultFormat.set("JSON")
+    // Narrow a run with -Pjmh.includes=JobAnalysisStage
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
+
+spotless {
+    java {
+        googleJavaFormat("1.29.0")
+        target("src/**/*.java")
+    }
+
+    kotlinGradle {
+        target("*.gradle.kts")
+    }
+}
+
+tasks.build {
+    dependsOn(tasks.withType<SpotlessTask>())
+}
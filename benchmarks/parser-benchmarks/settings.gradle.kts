@@ -0,0 +1,6 @@
+rootProject.name = "parser-benchmarks"
+
+includeBuild("../../shared/libs/auth-core")
+includeBuild("../../shared/libs/parser-core")
+includeBuild("../../services/profile-service")
+includeBuild("../../services/job-analyzer-service")
@@ -0,0 +1,102 @@
+package com.jobcopilot.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Inputs shared by the benchmarks: the job description fixtures and generated resumes. */
+final class Fixtures {
+  static final List<String> JOB_DESCRIPTIONS =
+      List.of(
+          "jd_backend_senior",
+          "jd_fullstack_mid",
+          "real_jd_3pillar_fullstack",
+          "real_jd_agiloft_devops",
+          "real_jd_ahead_security",
+          "real_jd_appzen_backend",
+          "real_jd_coins_android",
+          "real_jd_cority_platform",
+          "real_jd_decentraland_data",
+          "real_jd_hive_frontend",
+          "real_jd_squire_ml",
+          "real_jd_whoop_ios");
+
+  private static final String[] COMPANIES = {"Acme Corp", "Globex", "Initech", "Umbrella", "Hooli"};
+  private static final String[] ROLES = {
+    "Software Engineer", "Senior Engineer", "Staff Engineer", "Backend Developer", "Tech Lead"
+  };
+  private static final String[] BULLETS = {
+    "- Built REST APIs in Java and Spring Boot serving 2M requests a day",
+    "- Migrated batch jobs to Kafka streams and cut latency by 40%",
+    "- Ran PostgreSQL and MongoDB clusters on AWS with Terraform",
+    "- Led a team of 5 engineers and mentored new hires",
+    "- Added Prometheus metrics and Grafana dashboards for every service",
+    "- Containerized services with Docker and deployed them on Kubernetes"
+  };
+
+  private Fixtures() {}
+
+  /** Reads a fixture from the directory passed in {@code -Dbenchmark.fixtures}. */
+  static String jobDescription(String name) {
+    String directory = System.getProperty("benchmark.fixtures");
+    if (directory == null) {
+      throw new IllegalStateException("benchmark.fixtures is not set");
+    }
+    try {
+      return Files.readString(Path.of(directory, name + ".txt"), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static List<String> jobDescriptions() {
+    List<String> texts = new ArrayList<>(JOB_DESCRIPTIONS.size());
+    for (String name : JOB_DESCRIPTIONS) {
+      texts.add(jobDescription(name));
+    }
+    return texts;
+  }
+
+  /**
+   * A plain text resume with {@code roles} experience entries, so its size grows linearly with the
+   * parameter while the section layout stays the same.
+   */
+  static String resume(int roles) {
+    StringBuilder text = new StringBuilder(512 + roles * 400);
+    text.append("PROFESSIONAL SUMMARY\n")
+        .append("Backend engineer with ")
+        .append(roles + 2)
+        .append("+ years of experience building\n")
+        .append("distributed systems in Java, Go and Python.\n\n")
+        .append("EXPERIENCE\n");
+    int year = 2024;
+    for (int i = 0; i < roles; i++) {
+      String end = i == 0 ? "Present" : String.valueOf(year);
+      year -= 2;
+      text.append(COMPANIES[i % COMPANIES.length])
+          .append(" — ")
+          .append(ROLES[i % ROLES.length])
+          .append(" — ")
+          .append(year)
+          .append(" - ")
+          .append(end)
+          .append('\n');
+      for (int b = 0; b < 4; b++) {
+        text.append(BULLETS[(i + b) % BULLETS.length]).append('\n');
+      }
+    }
+    text.append("\nEDUCATION\n")
+        .append("State University\n")
+        .append("B.Sc. in Computer Science\n")
+        .append(year - 4)
+        .append(" - ")
+        .append(year)
+        .append("\n\nSKILLS\n")
+        .append("Java, Spring Boot, Kafka, PostgreSQL, MongoDB, AWS, Docker, Kubernetes\n");
+    return text.toString();
+  }
+}
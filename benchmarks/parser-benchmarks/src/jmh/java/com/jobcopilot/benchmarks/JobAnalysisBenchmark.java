@@ -0,0 +1,132 @@
+package com.jobcopilot.benchmarks;
+
+import com.jobcopilot.job_analyzer_service.parser.model.output.DomainOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.output.LabeledLinesOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.output.NormalizedJdTextOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.output.SeniorityOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.output.SkillExtractedOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.request.JdAnalysisPipelineRequest;
+import com.jobcopilot.job_analyzer_service.parser.stages.BlockLabeler;
+import com.jobcopilot.job_analyzer_service.parser.stages.DomainExtractor;
+import com.jobcopilot.job_analyzer_service.parser.stages.ExtractedMetadataMerger;
+import com.jobcopilot.job_analyzer_service.parser.stages.JdTextNormalizer;
+import com.jobcopilot.job_analyzer_service.parser.stages.SeniorityExtractor;
+import com.jobcopilot.job_analyzer_service.parser.stages.SkillExtractor;
+import com.jobcopilot.parser.ParsingPipeline;
+import com.jobcopilot.parser.PipelineBuilder;
+import com.jobcopilot.parser.model.output.DependencyOutputs;
+import com.jobcopilot.parser.model.output.StageOutput;
+import com.jobcopilot.parser.model.response.PipelineResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The job analysis pipeline as the service configures it, end to end and one stage at a time. Each
+ * stage benchmark starts from the output its predecessor produced during setup.
+ */
+@State(Scope.Benchmark)
+public class JobAnalysisBenchmark {
+  @Param({
+    "jd_backend_senior",
+    "jd_fullstack_mid",
+    "real_jd_3pillar_fullstack",
+    "real_jd_agiloft_devops",
+    "real_jd_ahead_security",
+    "real_jd_appzen_backend",
+    "real_jd_coins_android",
+    "real_jd_cority_platform",
+    "real_jd_decentraland_data",
+    "real_jd_hive_frontend",
+    "real_jd_squire_ml",
+    "real_jd_whoop_ios"
+  })
+  public String fixture;
+
+  private final JdTextNormalizer normalizer = new JdTextNormalizer();
+  private final BlockLabeler blockLabeler = new BlockLabeler();
+  private final SeniorityExtractor seniorityExtractor = new SeniorityExtractor();
+  private final DomainExtractor domainExtractor = new DomainExtractor();
+  private final SkillExtractor skillExtractor = new SkillExtractor();
+  private final ExtractedMetadataMerger merger = new ExtractedMetadataMerger();
+
+  private ParsingPipeline pipeline;
+  private JdAnalysisPipelineRequest request;
+  private NormalizedJdTextOutput normalized;
+  private LabeledLinesOutput labeled;
+  private DependencyOutputs extracted;
+
+  @Setup
+  public void setUp() {
+    pipeline =
+        PipelineBuilder.init(
+                Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()))
+            .name("job-analysis")
+            .stageTimeout(Duration.ofSeconds(5))
+            .timeout(Duration.ofSeconds(15))
+            .addStage(new JdTextNormalizer())
+            .addStage(new BlockLabeler())
+            .addStage(new SeniorityExtractor())
+            .addStage(new DomainExtractor())
+            .addStage(new SkillExtractor())
+            .addStage(new ExtractedMetadataMerger())
+            .build();
+
+    request = new JdAnalysisPipelineRequest(Fixtures.jobDescription(fixture));
+    normalized = (NormalizedJdTextOutput) normalizer.process(request);
+    labeled = (LabeledLinesOutput) blockLabeler.process(normalized);
+    extracted =
+        new DependencyOutputs(
+            Map.of(
+                LabeledLinesOutput.class, labeled,
+                SeniorityOutput.class, seniorityExtractor.process(labeled),
+                DomainOutput.class, domainExtractor.process(labeled),
+                SkillExtractedOutput.class, skillExtractor.process(labeled)));
+  }
+
+  @TearDown
+  public void tearDown() {
+    pipeline.close();
+  }
+
+  @Benchmark
+  public PipelineResponse pipeline() throws Exception {
+    return pipeline.execute(request);
+  }
+
+  @Benchmark
+  public StageOutput normalize() {
+    return normalizer.process(request);
+  }
+
+  @Benchmark
+  public StageOutput labelBlocks() {
+    return blockLabeler.process(normalized);
+  }
+
+  @Benchmark
+  public StageOutput extractSeniority() {
+    return seniorityExtractor.process(labeled);
+  }
+
+  @Benchmark
+  public StageOutput extractDomain() {
+    return domainExtractor.process(labeled);
+  }
+
+  @Benchmark
+  public StageOutput extractSkills() {
+    return skillExtractor.process(labeled);
+  }
+
+  @Benchmark
+  public StageOutput merge() {
+    return merger.process(extracted);
+  }
+}
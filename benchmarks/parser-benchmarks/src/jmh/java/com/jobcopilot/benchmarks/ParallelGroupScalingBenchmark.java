@@ -0,0 +1,109 @@
+package com.jobcopilot.benchmarks;
+
+import com.jobcopilot.job_analyzer_service.parser.model.request.JdAnalysisPipelineRequest;
+import com.jobcopilot.job_analyzer_service.parser.stages.BlockLabeler;
+import com.jobcopilot.job_analyzer_service.parser.stages.DomainExtractor;
+import com.jobcopilot.job_analyzer_service.parser.stages.ExtractedMetadataMerger;
+import com.jobcopilot.job_analyzer_service.parser.stages.JdTextNormalizer;
+import com.jobcopilot.job_analyzer_service.parser.stages.SeniorityExtractor;
+import com.jobcopilot.job_analyzer_service.parser.stages.SkillExtractor;
+import com.jobcopilot.parser.ParsingPipeline;
+import com.jobcopilot.parser.PipelineBuilder;
+import com.jobcopilot.parser.model.BatchResult;
+import com.jobcopilot.parser.model.response.PipelineResponse;
+import com.jobcopilot.profile_service.parser.model.request.PlainTextAnalysisPipelineRequest;
+import com.jobcopilot.profile_service.parser.stages.EducationExtractor;
+import com.jobcopilot.profile_service.parser.stages.ExperienceExtractor;
+import com.jobcopilot.profile_service.parser.stages.ExtractedResumeDataMerger;
+import com.jobcopilot.profile_service.parser.stages.Sectionizer;
+import com.jobcopilot.profile_service.parser.stages.TextNormalizer;
+import com.jobcopilot.profile_service.parser.stages.YearsOfExperienceExtractor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * How the parallel stage groups scale with the pipeline executor. Both pipelines fan their
+ * extractors out over a pool of {@code poolSize} threads, for a single document and for a batch of
+ * documents in flight at once.
+ */
+@State(Scope.Benchmark)
+public class ParallelGroupScalingBenchmark {
+  @Param({"1", "2", "4", "8"})
+  public int poolSize;
+
+  private ParsingPipeline jobAnalysis;
+  private ParsingPipeline resume;
+  private JdAnalysisPipelineRequest jobDescription;
+  private PlainTextAnalysisPipelineRequest longResume;
+  private List<JdAnalysisPipelineRequest> jobDescriptions;
+  private List<PlainTextAnalysisPipelineRequest> resumes;
+
+  @Setup
+  public void setUp() {
+    jobAnalysis =
+        PipelineBuilder.init(Executors.newFixedThreadPool(poolSize))
+            .name("job-analysis")
+            .addStage(new JdTextNormalizer())
+            .addStage(new BlockLabeler())
+            .addStage(new SeniorityExtractor())
+            .addStage(new DomainExtractor())
+            .addStage(new SkillExtractor())
+            .addStage(new ExtractedMetadataMerger())
+            .build();
+    resume =
+        PipelineBuilder.init(Executors.newFixedThreadPool(poolSize))
+            .name("resume-text")
+            .addStage(new TextNormalizer())
+            .addStage(new Sectionizer())
+            .addStage(new YearsOfExperienceExtractor())
+            .addStage(new ExperienceExtractor())
+            .addStage(new EducationExtractor())
+            .addStage(new com.jobcopilot.profile_service.parser.stages.SkillExtractor())
+            .addStage(new ExtractedResumeDataMerger())
+            .build();
+
+    jobDescriptions = new ArrayList<>();
+    for (String text : Fixtures.jobDescriptions()) {
+      jobDescriptions.add(new JdAnalysisPipelineRequest(text));
+    }
+    jobDescription = jobDescriptions.getFirst();
+    longResume = new PlainTextAnalysisPipelineRequest(Fixtures.resume(64));
+    resumes = new ArrayList<>();
+    for (int roles = 1; roles <= 16; roles++) {
+      resumes.add(new PlainTextAnalysisPipelineRequest(Fixtures.resume(roles)));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    jobAnalysis.close();
+    resume.close();
+  }
+
+  @Benchmark
+  public PipelineResponse jobAnalysisSingle() throws Exception {
+    return jobAnalysis.execute(jobDescription);
+  }
+
+  @Benchmark
+  public List<BatchResult> jobAnalysisBatch() throws InterruptedException {
+    return jobAnalysis.executeBatch(jobDescriptions);
+  }
+
+  @Benchmark
+  public PipelineResponse resumeSingle() throws Exception {
+    return resume.execute(longResume);
+  }
+
+  @Benchmark
+  public List<BatchResult> resumeBatch() throws InterruptedException {
+    return resume.executeBatch(resumes);
+  }
+}
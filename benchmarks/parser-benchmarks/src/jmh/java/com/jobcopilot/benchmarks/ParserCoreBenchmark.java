@@ -0,0 +1,74 @@
+package com.jobcopilot.benchmarks;
+
+import com.jobcopilot.parser.matcher.DictionaryMatcher;
+import com.jobcopilot.parser.model.document.TextDocument;
+import com.jobcopilot.parser.normalizer.FusedTextNormalizer;
+import java.util.List;
+import java.util.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** The shared building blocks of parser-core on their own, over generated resumes. */
+@State(Scope.Benchmark)
+public class ParserCoreBenchmark {
+  private static final List<String> TERMS =
+      List.of(
+          "java",
+          "spring boot",
+          "kafka",
+          "postgresql",
+          "mongodb",
+          "aws",
+          "docker",
+          "kubernetes",
+          "terraform",
+          "prometheus",
+          "grafana",
+          "rest apis",
+          "go",
+          "python");
+
+  @Param({"1", "4", "16", "64"})
+  public int roles;
+
+  private final FusedTextNormalizer normalizer =
+      FusedTextNormalizer.builder()
+          .lineTrim(FusedTextNormalizer.LineTrim.STRIP)
+          .repairLineWrapping(true)
+          .cleanUpHeaders(true)
+          .dropTrailingEmptyLines(true)
+          .build();
+
+  private DictionaryMatcher<String> matcher;
+  private String text;
+  private String normalized;
+
+  @Setup
+  public void setUp() {
+    DictionaryMatcher.Builder<String> builder = DictionaryMatcher.builder();
+    for (String term : TERMS) {
+      builder.add(term, term);
+    }
+    matcher = builder.build();
+    text = Fixtures.resume(roles);
+    normalized = normalizer.normalize(text);
+  }
+
+  @Benchmark
+  public String normalize() {
+    return normalizer.normalize(text);
+  }
+
+  @Benchmark
+  public TextDocument indexDocument() {
+    return TextDocument.of(normalized);
+  }
+
+  @Benchmark
+  public Set<String> matchDictionary() {
+    return matcher.findValues(normalized);
+  }
+}
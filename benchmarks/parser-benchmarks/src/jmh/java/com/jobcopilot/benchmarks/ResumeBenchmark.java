@@ -0,0 +1,126 @@
+package com.jobcopilot.benchmarks;
+
+import com.jobcopilot.parser.ParsingPipeline;
+import com.jobcopilot.parser.PipelineBuilder;
+import com.jobcopilot.parser.model.output.ParallelOutputs;
+import com.jobcopilot.parser.model.output.StageOutput;
+import com.jobcopilot.parser.model.response.PipelineResponse;
+import com.jobcopilot.profile_service.parser.model.output.NormalizedTextOutput;
+import com.jobcopilot.profile_service.parser.model.output.SectionizedOutput;
+import com.jobcopilot.profile_service.parser.model.request.PlainTextAnalysisPipelineRequest;
+import com.jobcopilot.profile_service.parser.stages.EducationExtractor;
+import com.jobcopilot.profile_service.parser.stages.ExperienceExtractor;
+import com.jobcopilot.profile_service.parser.stages.ExtractedResumeDataMerger;
+import com.jobcopilot.profile_service.parser.stages.Sectionizer;
+import com.jobcopilot.profile_service.parser.stages.SkillExtractor;
+import com.jobcopilot.profile_service.parser.stages.TextNormalizer;
+import com.jobcopilot.profile_service.parser.stages.YearsOfExperienceExtractor;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The plain text resume pipeline as the profile service configures it, end to end and one stage at
+ * a time, over generated resumes of growing length.
+ */
+@State(Scope.Benchmark)
+public class ResumeBenchmark {
+  /** Experience entries in the generated resume. */
+  @Param({"1", "4", "16", "64"})
+  public int roles;
+
+  private final TextNormalizer normalizer = new TextNormalizer();
+  private final Sectionizer sectionizer = new Sectionizer();
+  private final YearsOfExperienceExtractor yearsExtractor = new YearsOfExperienceExtractor();
+  private final ExperienceExtractor experienceExtractor = new ExperienceExtractor();
+  private final EducationExtractor educationExtractor = new EducationExtractor();
+  private final SkillExtractor skillExtractor = new SkillExtractor();
+  private final ExtractedResumeDataMerger merger = new ExtractedResumeDataMerger();
+
+  private ParsingPipeline pipeline;
+  private PlainTextAnalysisPipelineRequest request;
+  private NormalizedTextOutput normalized;
+  private SectionizedOutput sectionized;
+  private ParallelOutputs extracted;
+
+  @Setup
+  public void setUp() {
+    pipeline =
+        PipelineBuilder.init(
+                Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()))
+            .name("resume-text")
+            .stageTimeout(Duration.ofSeconds(10))
+            .timeout(Duration.ofSeconds(30))
+            .addStage(new TextNormalizer())
+            .addStage(new Sectionizer())
+            .addStage(new YearsOfExperienceExtractor())
+            .addStage(new ExperienceExtractor())
+            .addStage(new EducationExtractor())
+            .addStage(new SkillExtractor())
+            .addStage(new ExtractedResumeDataMerger())
+            .build();
+
+    request = new PlainTextAnalysisPipelineRequest(Fixtures.resume(roles));
+    normalized = (NormalizedTextOutput) normalizer.process(request);
+    sectionized = (SectionizedOutput) sectionizer.process(normalized);
+    extracted =
+        new ParallelOutputs(
+            sectionized,
+            List.of(
+                yearsExtractor.process(sectionized),
+                experienceExtractor.process(sectionized),
+                educationExtractor.process(sectionized),
+                skillExtractor.process(sectionized)));
+  }
+
+  @TearDown
+  public void tearDown() {
+    pipeline.close();
+  }
+
+  @Benchmark
+  public PipelineResponse pipeline() throws Exception {
+    return pipeline.execute(request);
+  }
+
+  @Benchmark
+  public StageOutput normalize() {
+    return normalizer.process(request);
+  }
+
+  @Benchmark
+  public StageOutput sectionize() {
+    return sectionizer.process(normalized);
+  }
+
+  @Benchmark
+  public StageOutput extractYears() {
+    return yearsExtractor.process(sectionized);
+  }
+
+  @Benchmark
+  public StageOutput extractExperience() {
+    return experienceExtractor.process(sectionized);
+  }
+
+  @Benchmark
+  public StageOutput extractEducation() {
+    return educationExtractor.process(sectionized);
+  }
+
+  @Benchmark
+  public StageOutput extractSkills() {
+    return skillExtractor.process(sectionized);
+  }
+
+  @Benchmark
+  public StageOutput merge() {
+    return merger.process(extracted);
+  }
+}
@@ -38,6 +38,7 @@ dependencyManagement {
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     implementation("org.jobcopilot:auth-core:0.0.1-SNAPSHOT")
     implementation("org.jobcopilot:parser-core:0.0.1-SNAPSHOT")
     implementation("com.jobcopilot:profile-service-client:0.0.1-SNAPSHOT")
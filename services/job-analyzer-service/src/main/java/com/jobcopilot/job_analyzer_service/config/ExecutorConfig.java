@@ -1,10 +1,13 @@
 package com.jobcopilot.job_analyzer_service.config;
 
+import com.jobcopilot.job_analyzer_service.job.WorkerLimits;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -13,7 +16,15 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableScheduling
 public class ExecutorConfig {
 
+  /**
+   * A fixed pool of {@code poller.workerThreads}. The poller only claims what the pool has room
+   * for; a job rejected anyway goes back to the queue rather than run on the poller.
+   */
   @Bean
+  @ConditionalOnProperty(
+      name = "poller.workerMode",
+      havingValue = "platform",
+      matchIfMissing = true)
   public ExecutorService getExecutor(
       @Value("${poller.workerThreads}") Integer workerThreads,
       @Value("${poller.queueSize}") Integer queueSize) {
@@ -23,6 +34,13 @@ public class ExecutorConfig {
         0L,
         TimeUnit.MILLISECONDS,
         new ArrayBlockingQueue<>(queueSize),
-        new ThreadPoolExecutor.CallerRunsPolicy());
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /** One virtual thread per job, as many at once as {@link WorkerLimits} allows. */
+  @Bean
+  @ConditionalOnProperty(name = "poller.workerMode", havingValue = "virtual")
+  public ExecutorService getVirtualThreadExecutor() {
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("job-worker-", 0).factory());
   }
 }
@@ -3,6 +3,11 @@ package com.jobcopilot.job_analyzer_service.config;
 import com.jobcopilot.job_analyzer_service.parser.stages.*;
 import com.jobcopilot.parser.ParsingPipeline;
 import com.jobcopilot.parser.PipelineBuilder;
+import com.jobcopilot.parser.listener.MicrometerPipelineListener;
+import com.jobcopilot.parser.listener.PipelineListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,8 +15,20 @@ import org.springframework.context.annotation.Configuration;
 public class ParserConfig {
 
   @Bean
-  public ParsingPipeline jobAnalysisPipeline() {
+  public PipelineListener parserPipelineListener(MeterRegistry meterRegistry) {
+    return new MicrometerPipelineListener(meterRegistry);
+  }
+
+  @Bean
+  public ParsingPipeline jobAnalysisPipeline(
+      PipelineListener parserPipelineListener,
+      @Value("${parser.stageTimeoutMs:5000}") long stageTimeoutMs,
+      @Value("${parser.timeoutMs:15000}") long timeoutMs) {
     return PipelineBuilder.init()
+        .name("job-analysis")
+        .listener(parserPipelineListener)
+        .stageTimeout(Duration.ofMillis(stageTimeoutMs))
+        .timeout(Duration.ofMillis(timeoutMs))
         .addStage(new JdTextNormalizer())
         .addStage(new BlockLabeler())
         .addStage(new SeniorityExtractor())
@@ -1,18 +1,27 @@
 package com.jobcopilot.job_analyzer_service.controller;
 
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.exception.JobNotFoundException;
 import com.jobcopilot.job_analyzer_service.exception.MissingUserIdException;
 import com.jobcopilot.job_analyzer_service.exception.ProfileOwnershipException;
 import com.jobcopilot.job_analyzer_service.exception.ProfileServiceException;
+import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisBatchRequest;
 import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisRequest;
 import com.jobcopilot.job_analyzer_service.model.response.ErrorResponse;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisBatchResponse;
 import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisResponse;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisResultResponse;
 import com.jobcopilot.job_analyzer_service.service.JobAnalysisService;
+import com.jobcopilot.job_analyzer_service.service.JobCompletionStream;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
@@ -20,9 +29,12 @@ import org.springframework.web.bind.annotation.*;
 public class JobAnalysisController {
 
   private final JobAnalysisService jobAnalysisService;
+  private final JobCompletionStream jobCompletionStream;
 
-  public JobAnalysisController(JobAnalysisService jobAnalysisService) {
+  public JobAnalysisController(
+      JobAnalysisService jobAnalysisService, JobCompletionStream jobCompletionStream) {
     this.jobAnalysisService = jobAnalysisService;
+    this.jobCompletionStream = jobCompletionStream;
   }
 
   @PostMapping("/submit")
@@ -32,7 +44,52 @@ public class JobAnalysisController {
     if (userId == null || userId.isBlank()) {
       throw new MissingUserIdException();
     }
-    return ResponseEntity.accepted().body(jobAnalysisService.submitJobAnalysis(request, userId));
+    JobAnalysisResponse response = jobAnalysisService.submitJobAnalysis(request, userId);
+    // Jobs analysed during the submit answer with their result; the rest are queued.
+    if (response.status() == AnalysisStatus.COMPLETED) {
+      return ResponseEntity.ok(response);
+    }
+    return ResponseEntity.accepted().body(response);
+  }
+
+  @PostMapping("/submit/batch")
+  public ResponseEntity<JobAnalysisBatchResponse> submitJobAnalysisBatch(
+      @Valid @RequestBody SubmitJobAnalysisBatchRequest request,
+      @RequestHeader("X-User-Id") String userId) {
+    if (userId == null || userId.isBlank()) {
+      throw new MissingUserIdException();
+    }
+    return ResponseEntity.accepted()
+        .body(jobAnalysisService.submitJobAnalysisBatch(request, userId));
+  }
+
+  @GetMapping("/{jobId}")
+  public ResponseEntity<JobAnalysisResultResponse> getJobAnalysis(
+      @PathVariable String jobId,
+      @RequestHeader("X-User-Id") String userId,
+      WebRequest webRequest) {
+    if (userId == null || userId.isBlank()) {
+      throw new MissingUserIdException();
+    }
+    JobAnalysisResultResponse response = jobAnalysisService.getJobAnalysis(jobId, userId);
+    if (response.updatedAt() == null) {
+      return ResponseEntity.ok(response);
+    }
+    // Every change to a job moves updatedAt, so it identifies the version of the body.
+    String eTag = "\"" + response.updatedAt().toEpochMilli() + "\"";
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(eTag).body(response);
+  }
+
+  @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamJobCompletion(
+      @PathVariable String jobId, @RequestHeader("X-User-Id") String userId) {
+    if (userId == null || userId.isBlank()) {
+      throw new MissingUserIdException();
+    }
+    return jobCompletionStream.open(jobId, userId);
   }
 
   @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -58,6 +115,11 @@ public class JobAnalysisController {
         .body(new ErrorResponse("Profile service unavailable."));
   }
 
+  @ExceptionHandler(JobNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleJobNotFoundException(JobNotFoundException ex) {
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(ex.getMessage()));
+  }
+
   @ExceptionHandler(MissingUserIdException.class)
   public ResponseEntity<ErrorResponse> handleMissingUserIdException(MissingUserIdException ex) {
     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new ErrorResponse(ex.getMessage()));
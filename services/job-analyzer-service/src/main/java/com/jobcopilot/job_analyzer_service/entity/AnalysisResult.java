@@ -0,0 +1,25 @@
+package com.jobcopilot.job_analyzer_service.entity;
+
+import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Result of analysing one job description, shared by every job with the same normalized text. The
+ * id combines the extractor version and the content hash, so a new extractor never reads results of
+ * an older one.
+ */
+@Data
+@Builder(toBuilder = true)
+@Document(collection = "analysis_results")
+public class AnalysisResult {
+  @Id private String id;
+  private String contentHash;
+  private String extractorVersion;
+  private String normalizedText;
+  private Extracted extracted;
+  private Instant createdAt;
+}
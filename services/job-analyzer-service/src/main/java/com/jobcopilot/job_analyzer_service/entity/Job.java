@@ -1,6 +1,7 @@
 package com.jobcopilot.job_analyzer_service.entity;
 
 import com.jobcopilot.job_analyzer_service.entity.values.*;
+import java.time.Instant;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -13,10 +14,9 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @Builder(toBuilder = true)
 @Document(collection = "jobs")
 @CompoundIndex(name = "userId_profileId_idx", def = "{'userId': 1, 'profileId': 1}")
-@CompoundIndex(
-    name = "analysis_status_lockedAt_idx",
-    def = "{'analysis.status': 1, 'analysis.lockedAt': 1}")
 @CompoundIndex(name = "profileId_input_url_idx", def = "{'profileId': 1, 'input.url': 1}")
+// Lets the job queue sweep page through the unfinished jobs alone.
+@CompoundIndex(name = "analysis_status_id_idx", def = "{'analysis.status': 1, '_id': 1}")
 public class Job extends BaseEntity {
   @Id private String id;
   private String userId;
@@ -27,4 +27,13 @@ public class Job extends BaseEntity {
   private Extracted extracted;
   private Links links;
   private Versioning versioning;
+
+  /**
+   * When the job is due to run. Jobs left pending from before run times were recorded have none and
+   * are due since they were created.
+   */
+  public Instant readyAt() {
+    Instant nextRunAt = analysis == null ? null : analysis.nextRunAt();
+    return nextRunAt != null ? nextRunAt : getCreatedAt();
+  }
 }
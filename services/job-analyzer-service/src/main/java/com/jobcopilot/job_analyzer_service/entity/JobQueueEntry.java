@@ -0,0 +1,75 @@
+package com.jobcopilot.job_analyzer_service.entity;
+
+import com.jobcopilot.job_analyzer_service.entity.values.Analysis;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Dispatch state of a job still to be analysed, kept apart from the job itself so claims and lease
+ * renewals only ever touch these few fields. The id is the job's id. An entry is {@code PENDING}
+ * until claimed and {@code PROCESSING} while leased, and is removed once the job's outcome is
+ * written to the job.
+ */
+@Data
+@Builder(toBuilder = true)
+@Document(collection = "job_queue")
+@CompoundIndex(name = "status_lockedAt_idx", def = "{'status': 1, 'lockedAt': 1}")
+// Only pending entries are in these two, so claiming scans a range of the ready ones.
+@CompoundIndex(
+    name = "pending_priority_nextRunAt_idx",
+    def = "{'priority': -1, 'nextRunAt': 1}",
+    partialFilter = "{'status': 'PENDING'}")
+@CompoundIndex(
+    name = "pending_userId_priority_nextRunAt_idx",
+    def = "{'userId': 1, 'priority': -1, 'nextRunAt': 1}",
+    partialFilter = "{'status': 'PENDING'}")
+public class JobQueueEntry {
+  /** Jobs submitted in a batch, behind the single submissions of the same user. */
+  public static final int BATCH_PRIORITY = 0;
+
+  public static final int DEFAULT_PRIORITY = 1;
+
+  @Id private String id;
+  private String userId;
+  private AnalysisStatus status;
+  private int priority;
+  private int attempt;
+  private Instant nextRunAt;
+  private String lockedBy;
+  private Instant lockedAt;
+
+  public static JobQueueEntry pending(Job job, int priority) {
+    return JobQueueEntry.builder()
+        .id(job.getId())
+        .userId(job.getUserId())
+        .status(AnalysisStatus.PENDING)
+        .priority(priority)
+        .nextRunAt(job.readyAt())
+        .build();
+  }
+
+  /** The entry of a job queued before jobs had one, in the state the job is in. */
+  public static JobQueueEntry backfilled(Job job) {
+    Analysis analysis = job.getAnalysis();
+    Instant lockedAt = analysis.lockedAt();
+    if (analysis.status() == AnalysisStatus.PROCESSING && lockedAt == null) {
+      // Without a lock time the job could never be reclaimed; treat its lock as expired.
+      lockedAt = Instant.EPOCH;
+    }
+    return JobQueueEntry.builder()
+        .id(job.getId())
+        .userId(job.getUserId())
+        .status(analysis.status())
+        .priority(DEFAULT_PRIORITY)
+        .attempt(analysis.attempt())
+        .nextRunAt(job.readyAt())
+        .lockedBy(analysis.lockedBy())
+        .lockedAt(lockedAt)
+        .build();
+  }
+}
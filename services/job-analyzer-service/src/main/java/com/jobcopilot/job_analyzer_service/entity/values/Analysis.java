@@ -8,6 +8,7 @@ import lombok.Builder;
 public record Analysis(
     AnalysisStatus status,
     int attempt,
+    Instant nextRunAt,
     String lockedBy,
     Instant lockedAt,
     Instant startedAt,
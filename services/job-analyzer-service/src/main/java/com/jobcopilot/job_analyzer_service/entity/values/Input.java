@@ -11,5 +11,6 @@ public record Input(
     String rawText,
     String fetchedText,
     String normalizedText,
+    String contentHash,
     String language,
     Instant submittedAt) {}
@@ -5,4 +5,11 @@ public enum AnalysisStatus {
   PROCESSING,
   COMPLETED,
   FAILED,
+  /** Failed with a retryable error on every one of its attempts. */
+  DEAD_LETTER;
+
+  /** Whether the job is done with, so no worker will pick it up again. */
+  public boolean isFinished() {
+    return this == COMPLETED || this == FAILED || this == DEAD_LETTER;
+  }
 }
@@ -0,0 +1,7 @@
+package com.jobcopilot.job_analyzer_service.exception;
+
+public class JobNotFoundException extends RuntimeException {
+  public JobNotFoundException(String jobId) {
+    super("Job " + jobId + " not found");
+  }
+}
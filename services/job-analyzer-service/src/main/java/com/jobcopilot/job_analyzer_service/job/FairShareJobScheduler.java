@@ -0,0 +1,148 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
+import com.jobcopilot.job_analyzer_service.repository.PendingUser;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which pending jobs a poller claims so that users share the workers fairly, using
+ * start-time fair queuing keyed by {@code userId}. Every user has a virtual finish tag that grows
+ * by one per job claimed for them; the next slot goes to the user with the smallest start tag, the
+ * larger of their finish tag and the current virtual time. A user who submits 500 jobs therefore
+ * takes turns with everyone else instead of holding the queue, and a user who was idle re-enters at
+ * the current virtual time rather than with credit saved up.
+ *
+ * <p>Jobs whose lock expired were claimed before and are reclaimed first, oldest first. The
+ * candidates of up to {@code poller.fairShareMaxUsers} users, those waiting longest first, are read
+ * in one query, and users are only charged for the jobs the claim actually won. Tags are kept per
+ * node, which is fair across users for the jobs each node claims.
+ */
+@Component
+public class FairShareJobScheduler {
+  private final JobQueueRepository jobQueueRepository;
+  private final int maxUsers;
+  private final Map<String, Long> finishTags = new HashMap<>();
+  private long virtualTime;
+
+  public FairShareJobScheduler(
+      JobQueueRepository jobQueueRepository,
+      @Value("${poller.fairShareMaxUsers:1000}") int maxUsers) {
+    if (maxUsers < 1) {
+      throw new IllegalArgumentException("poller.fairShareMaxUsers must be at least 1");
+    }
+    this.jobQueueRepository = jobQueueRepository;
+    this.maxUsers = maxUsers;
+  }
+
+  /** Claims up to {@code limit} jobs for {@code pollerId}, spread fairly across users. */
+  public synchronized List<JobQueueEntry> acquire(
+      String pollerId, Instant now, Instant lockExpiry, int maxAttempts, int limit) {
+    List<String> jobIds =
+        new ArrayList<>(jobQueueRepository.findExpiredLockJobIds(lockExpiry, maxAttempts, limit));
+    int slots = limit - jobIds.size();
+    List<Share> shares =
+        slots > 0
+            ? allocate(jobQueueRepository.findPendingUsers(now, slots, maxUsers), slots)
+            : List.of();
+    Map<String, String> owners = new HashMap<>();
+    for (Share share : shares) {
+      share.jobIds().forEach(jobId -> owners.put(jobId, share.userId()));
+      jobIds.addAll(share.jobIds());
+    }
+    if (jobIds.isEmpty()) {
+      return List.of();
+    }
+
+    List<JobQueueEntry> claimed =
+        jobQueueRepository.claimJobs(pollerId, jobIds, now, lockExpiry, maxAttempts);
+    // Only jobs actually claimed are charged; another poller may have taken some since the find.
+    Map<String, Integer> claimedPerUser = new HashMap<>();
+    for (JobQueueEntry entry : claimed) {
+      String userId = owners.get(entry.getId());
+      if (userId != null) {
+        claimedPerUser.merge(userId, 1, Integer::sum);
+      }
+    }
+    long lastStartTag = virtualTime;
+    for (Share share : shares) {
+      int charged = claimedPerUser.getOrDefault(share.userId(), 0);
+      if (charged > 0) {
+        // Charged from the tag the slots were allocated at, so the order of charging is moot.
+        finishTags.put(share.userId(), share.startTag() + charged);
+        lastStartTag = Math.max(lastStartTag, share.startTag() + charged - 1);
+      }
+    }
+    advanceVirtualTime(lastStartTag);
+    return claimed;
+  }
+
+  /**
+   * Hands out {@code slots} of the users' next jobs one at a time to the user with the smallest
+   * start tag; a user out of jobs drops out. Returns each user's share, with the start tag of its
+   * first slot, in the order their first slot was handed out.
+   */
+  List<Share> allocate(List<PendingUser> users, int slots) {
+    PriorityQueue<Turn> turns =
+        new PriorityQueue<>(
+            Comparator.comparingLong(Turn::startTag)
+                .thenComparing(
+                    turn -> turn.user().oldestReadyAt(),
+                    Comparator.nullsFirst(Comparator.naturalOrder())));
+    for (PendingUser user : users) {
+      if (!user.jobIds().isEmpty()) {
+        turns.add(new Turn(user, startTag(user.userId()), 0));
+      }
+    }
+
+    Map<String, Turn> firstTurns = new LinkedHashMap<>();
+    Map<String, Integer> handedOut = new HashMap<>();
+    for (int i = 0; i < slots && !turns.isEmpty(); i++) {
+      Turn turn = turns.poll();
+      firstTurns.putIfAbsent(turn.user().userId(), turn);
+      handedOut.put(turn.user().userId(), turn.taken() + 1);
+      if (turn.taken() + 1 < turn.user().jobIds().size()) {
+        turns.add(new Turn(turn.user(), turn.startTag() + 1, turn.taken() + 1));
+      }
+    }
+
+    List<Share> shares = new ArrayList<>(firstTurns.size());
+    for (Turn first : firstTurns.values()) {
+      PendingUser user = first.user();
+      shares.add(
+          new Share(
+              user.userId(),
+              first.startTag(),
+              List.copyOf(user.jobIds().subList(0, handedOut.get(user.userId())))));
+    }
+    return shares;
+  }
+
+  /**
+   * Moves the virtual time to the start tag of the last job handed out, once the whole batch is
+   * charged, so every user in the batch was tagged against the same virtual time.
+   */
+  private void advanceVirtualTime(long lastStartTag) {
+    virtualTime = Math.max(virtualTime, lastStartTag);
+    // Users whose tag fell behind the virtual time would restart from it anyway.
+    finishTags.values().removeIf(tag -> tag <= virtualTime);
+  }
+
+  private long startTag(String userId) {
+    return Math.max(virtualTime, finishTags.getOrDefault(userId, 0L));
+  }
+
+  record Share(String userId, long startTag, List<String> jobIds) {}
+
+  /** The next slot of {@code user}, who already has {@code taken} of this batch. */
+  private record Turn(PendingUser user, long startTag, int taken) {}
+}
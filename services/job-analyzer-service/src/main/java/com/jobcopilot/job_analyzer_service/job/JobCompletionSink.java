@@ -0,0 +1,142 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import com.jobcopilot.job_analyzer_service.repository.JobCompletion;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
+import com.jobcopilot.job_analyzer_service.repository.JobRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes analysis results behind the workers. Results wait up to {@code
+ * completionSink.flushDelayMs} and are then written together in one unordered bulk update, or right
+ * away once {@code completionSink.maxBatchSize} are waiting. Each update still requires the
+ * worker's lock, and each caller learns whether its own job was written. The queue entries of the
+ * jobs written are then released in a second bulk write.
+ *
+ * <p>Results still buffered when the node dies are lost with it; their jobs stay locked until the
+ * lock expires and are then claimed and analysed again.
+ */
+@Slf4j
+@Component
+public class JobCompletionSink implements SmartLifecycle {
+  private final JobRepository jobRepository;
+  private final JobQueueRepository jobQueueRepository;
+  private final long flushDelayMs;
+  private final int maxBatchSize;
+  private final ScheduledExecutorService flusher =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("job-completion-sink").daemon().factory());
+
+  private List<Buffered> buffer = new ArrayList<>();
+  private boolean running;
+
+  public JobCompletionSink(
+      JobRepository jobRepository,
+      JobQueueRepository jobQueueRepository,
+      @Value("${completionSink.flushDelayMs:5}") long flushDelayMs,
+      @Value("${completionSink.maxBatchSize:100}") int maxBatchSize) {
+    if (flushDelayMs < 0) {
+      throw new IllegalArgumentException("completionSink.flushDelayMs must not be negative");
+    }
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("completionSink.maxBatchSize must be at least 1");
+    }
+    this.jobRepository = jobRepository;
+    this.jobQueueRepository = jobQueueRepository;
+    this.flushDelayMs = flushDelayMs;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /** Completes with whether the job was still held and so was written. */
+  public CompletableFuture<Boolean> submit(JobCompletion completion) {
+    Buffered buffered = new Buffered(completion, new CompletableFuture<>());
+    List<Buffered> batch = null;
+    synchronized (this) {
+      buffer.add(buffered);
+      // Before start and after stop there is no flusher to wait for, so results go straight out.
+      if (!running || flushDelayMs == 0 || buffer.size() >= maxBatchSize) {
+        batch = drain();
+      } else if (buffer.size() == 1) {
+        flusher.schedule(this::flush, flushDelayMs, TimeUnit.MILLISECONDS);
+      }
+    }
+    if (batch != null) {
+      write(batch);
+    }
+    return buffered.written();
+  }
+
+  void flush() {
+    List<Buffered> batch;
+    synchronized (this) {
+      batch = drain();
+    }
+    if (!batch.isEmpty()) {
+      write(batch);
+    }
+  }
+
+  private List<Buffered> drain() {
+    List<Buffered> batch = buffer;
+    buffer = new ArrayList<>();
+    return batch;
+  }
+
+  private void write(List<Buffered> batch) {
+    List<Boolean> written;
+    try {
+      written = jobRepository.markFinished(batch.stream().map(Buffered::completion).toList());
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to write {} job results; the jobs are analysed again once their locks expire",
+          batch.size(),
+          e);
+      batch.forEach(buffered -> buffered.written().completeExceptionally(e));
+      return;
+    }
+    List<JobCompletion> release = new ArrayList<>();
+    for (int i = 0; i < batch.size(); i++) {
+      if (written.get(i)) {
+        release.add(batch.get(i).completion());
+      }
+    }
+    try {
+      jobQueueRepository.release(release);
+    } catch (RuntimeException e) {
+      // The results are written. Entries left behind expire and are claimed again, which drops
+      // those of finished jobs.
+      log.warn("Failed to release {} job queue entries", release.size(), e);
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      batch.get(i).written().complete(written.get(i));
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    synchronized (this) {
+      running = false;
+    }
+    flush();
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return running;
+  }
+
+  private record Buffered(JobCompletion completion, CompletableFuture<Boolean> written) {}
+}
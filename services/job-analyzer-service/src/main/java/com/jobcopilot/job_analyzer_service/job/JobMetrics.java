@@ -0,0 +1,98 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.values.Analysis;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.repository.JobCompletion;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how jobs move through the queue: {@code job.queue.claim} per claim query, tagged by
+ * whether it came back empty; {@code job.queue.wait} from submission to the first start; {@code
+ * job.analysis.duration} from start to outcome, tagged by the status the job moves to; and {@code
+ * job.analysis.retries} once per finished job.
+ */
+@Component
+public class JobMetrics {
+
+  public static final String CLAIM = "job.queue.claim";
+  public static final String QUEUE_WAIT = "job.queue.wait";
+  public static final String ANALYSIS_DURATION = "job.analysis.duration";
+  public static final String RETRIES = "job.analysis.retries";
+
+  private final Timer claimed;
+  private final Timer emptyClaims;
+  private final Timer queueWait;
+  private final Map<AnalysisStatus, Timer> analysisDurations = new EnumMap<>(AnalysisStatus.class);
+  private final DistributionSummary retries;
+
+  public JobMetrics(MeterRegistry registry) {
+    this.claimed = claimTimer(registry, "claimed");
+    this.emptyClaims = claimTimer(registry, "empty");
+    this.queueWait =
+        Timer.builder(QUEUE_WAIT)
+            .description("Time from submission until a worker first starts on the job")
+            .publishPercentileHistogram()
+            .register(registry);
+    for (AnalysisStatus status : AnalysisStatus.values()) {
+      if (status != AnalysisStatus.PROCESSING) {
+        analysisDurations.put(
+            status,
+            Timer.builder(ANALYSIS_DURATION)
+                .description("Time from the start of an attempt until its outcome is handed off")
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(registry));
+      }
+    }
+    this.retries =
+        DistributionSummary.builder(RETRIES)
+            .description("Attempts beyond the first that a finished job took")
+            .register(registry);
+  }
+
+  public void recordClaim(long durationNanos, int claimedJobs) {
+    (claimedJobs == 0 ? emptyClaims : claimed).record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** Records the wait of a job that just started; later attempts would count earlier ones too. */
+  public void recordStart(Job job) {
+    Analysis analysis = job.getAnalysis();
+    Instant submittedAt = job.getInput() == null ? null : job.getInput().submittedAt();
+    if (analysis.attempt() == 1 && submittedAt != null && analysis.startedAt() != null) {
+      queueWait.record(nonNegative(Duration.between(submittedAt, analysis.startedAt())));
+    }
+  }
+
+  public void recordOutcome(Job job, JobCompletion completion, Instant now) {
+    Timer duration = analysisDurations.get(completion.status());
+    if (duration != null && job.getAnalysis().startedAt() != null) {
+      duration.record(nonNegative(Duration.between(job.getAnalysis().startedAt(), now)));
+    }
+    if (completion.status().isFinished()) {
+      retries.record(Math.max(0, job.getAnalysis().attempt() - 1));
+    }
+  }
+
+  private static Timer claimTimer(MeterRegistry registry, String outcome) {
+    return Timer.builder(CLAIM)
+        .description("Time taken to claim a batch of pending jobs")
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  /** Clocks of different nodes may disagree by a little. */
+  private static Duration nonNegative(Duration duration) {
+    return duration.isNegative() ? Duration.ZERO : duration;
+  }
+}
@@ -0,0 +1,66 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
+import com.jobcopilot.job_analyzer_service.repository.JobRepository;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives every job still pending or processing without an entry in the job queue one, so it is
+ * claimed and finished like any other. Such jobs were queued before the job queue existed, were
+ * submitted by a node of that version during a rollout, or lost their entry to a submit that failed
+ * half way. Nothing marks the sweep as done, since an older node may still submit jobs: it pages
+ * through the unfinished jobs every {@code poller.backfillMs}, starting at startup. Entries are
+ * only inserted where none exists, so the sweep and submits never undo each other.
+ *
+ * <p>The indexes jobs were claimed by before are dropped after each full pass, in case an older
+ * node created them again on startup.
+ */
+@Slf4j
+@Component
+public class JobQueueBackfill {
+  static final List<String> LEGACY_INDEXES =
+      List.of(
+          "analysis_status_lockedAt_idx", "pending_nextRunAt_idx", "pending_userId_nextRunAt_idx");
+
+  private static final int BATCH_SIZE = 500;
+
+  private final JobRepository jobRepository;
+  private final JobQueueRepository jobQueueRepository;
+
+  public JobQueueBackfill(JobRepository jobRepository, JobQueueRepository jobQueueRepository) {
+    this.jobRepository = jobRepository;
+    this.jobQueueRepository = jobQueueRepository;
+  }
+
+  @Scheduled(fixedDelayString = "${poller.backfillMs:60000}")
+  void sweep() {
+    long queued = 0;
+    String afterId = null;
+    List<Job> jobs;
+    do {
+      jobs = jobRepository.findUnfinishedJobs(afterId, BATCH_SIZE);
+      if (!jobs.isEmpty()) {
+        queued +=
+            jobQueueRepository.insertMissing(jobs.stream().map(JobQueueEntry::backfilled).toList());
+        afterId = jobs.getLast().getId();
+      }
+    } while (jobs.size() == BATCH_SIZE);
+    if (queued > 0) {
+      log.info("Queued {} unfinished jobs that had no queue entry", queued);
+    }
+
+    Set<String> indexes = jobRepository.findIndexNames();
+    for (String index : LEGACY_INDEXES) {
+      if (indexes.contains(index)) {
+        jobRepository.dropIndex(index);
+        log.info("Dropped legacy index {} on jobs", index);
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
+import com.jobcopilot.job_analyzer_service.repository.QueueBacklog;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges for the backlog: {@code job.queue.size} per status and {@code job.queue.oldest.age}, how
+ * long the longest-due pending job has waited. They are refreshed from one aggregation over the job
+ * queue every {@code metrics.queueRefreshMs}, so scrapes never reach Mongo. {@code
+ * job.workers.active} and {@code job.workers.queued} read the workers directly: the pool's active
+ * threads and queue, or with virtual-thread workers the jobs in flight and those waiting for a
+ * pipeline slot.
+ */
+@Component
+public class JobQueueMetrics {
+
+  public static final String QUEUE_SIZE = "job.queue.size";
+  public static final String OLDEST_AGE = "job.queue.oldest.age";
+  public static final String WORKERS_ACTIVE = "job.workers.active";
+  public static final String WORKERS_QUEUED = "job.workers.queued";
+
+  private final JobQueueRepository jobQueueRepository;
+  private final Map<AnalysisStatus, AtomicLong> queueSizes = new EnumMap<>(AnalysisStatus.class);
+  private final AtomicLong oldestAgeMs = new AtomicLong();
+
+  public JobQueueMetrics(
+      MeterRegistry registry,
+      JobQueueRepository jobQueueRepository,
+      ExecutorService executor,
+      WorkerLimits workerLimits) {
+    this.jobQueueRepository = jobQueueRepository;
+    // Entries only exist while a job waits or runs.
+    for (AnalysisStatus status : List.of(AnalysisStatus.PENDING, AnalysisStatus.PROCESSING)) {
+      AtomicLong size = new AtomicLong();
+      queueSizes.put(status, size);
+      Gauge.builder(QUEUE_SIZE, size, AtomicLong::get)
+          .description("Jobs in the queue as of the last refresh")
+          .tag("status", status.name().toLowerCase(Locale.ROOT))
+          .register(registry);
+    }
+    TimeGauge.builder(OLDEST_AGE, oldestAgeMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+        .description("How long the longest-due pending job has been waiting")
+        .register(registry);
+
+    if (executor instanceof ThreadPoolExecutor threadPool) {
+      Gauge.builder(WORKERS_ACTIVE, threadPool, ThreadPoolExecutor::getActiveCount)
+          .description("Workers analysing a job")
+          .register(registry);
+      Gauge.builder(WORKERS_QUEUED, threadPool, pool -> pool.getQueue().size())
+          .description("Claimed jobs waiting for a worker")
+          .register(registry);
+    } else {
+      Gauge.builder(WORKERS_ACTIVE, workerLimits, WorkerLimits::jobsInFlight)
+          .description("Jobs claimed and not yet finished")
+          .register(registry);
+      Gauge.builder(WORKERS_QUEUED, workerLimits, WorkerLimits::pipelinesWaiting)
+          .description("Jobs waiting for a pipeline slot")
+          .register(registry);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${metrics.queueRefreshMs:15000}")
+  private void refresh() {
+    Instant now = Instant.now();
+    Map<AnalysisStatus, QueueBacklog> backlog = new EnumMap<>(AnalysisStatus.class);
+    for (QueueBacklog entry : jobQueueRepository.findBacklog()) {
+      backlog.put(entry.status(), entry);
+    }
+    queueSizes.forEach(
+        (status, size) -> {
+          QueueBacklog entry = backlog.get(status);
+          size.set(entry == null ? 0 : entry.count());
+        });
+
+    // Retries wait with their run time pushed out, so the earliest one may not be due yet.
+    QueueBacklog pending = backlog.get(AnalysisStatus.PENDING);
+    Instant earliest = pending == null ? null : pending.earliestNextRunAt();
+    oldestAgeMs.set(
+        earliest == null || earliest.isAfter(now) ? 0 : Duration.between(earliest, now).toMillis());
+  }
+}
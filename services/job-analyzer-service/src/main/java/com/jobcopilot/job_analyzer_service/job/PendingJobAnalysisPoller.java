@@ -1,54 +1,292 @@
 package com.jobcopilot.job_analyzer_service.job;
 
+import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
 import com.jobcopilot.job_analyzer_service.job.service.JobAnalysisService;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
 import com.jobcopilot.job_analyzer_service.repository.JobRepository;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Claims pending jobs in batches sized to the idle workers, picked across users by {@link
+ * FairShareJobScheduler}. Claims only touch the small entries of the job queue; a worker loads the
+ * job itself once it starts on it. While jobs keep coming the poller claims again as soon as a
+ * batch comes back full or a worker frees up; once the queue is empty it backs off exponentially
+ * from {@code poller.minIntervalMs} up to {@code poller.intervalMs}.
+ *
+ * <p>Every {@code poller.heartbeatMs} the locks on all jobs this node holds, queued or running, are
+ * renewed in one update, so {@code poller.lockTtlMs} only has to cover a few missed heartbeats and
+ * the jobs of a dead node are reclaimed within seconds.
+ *
+ * <p>With a thread pool the batch is sized to its idle threads. Any other executor, such as one
+ * virtual thread per job, gets as many jobs as {@link WorkerLimits} has room for. Work is never run
+ * on the polling thread: a job the executor rejects is put straight back in the queue.
+ */
 @Slf4j
 @Component
 public class PendingJobAnalysisPoller {
   private final String pollerId;
   private final long lockTtlMs;
+  private final long heartbeatMs;
   private final int maxAttempts;
+  private final long minIntervalMs;
+  private final long maxIntervalMs;
+  private final int maxBatchSize;
   private final ExecutorService executor;
   private final JobRepository jobRepository;
+  private final JobQueueRepository jobQueueRepository;
+  private final FairShareJobScheduler scheduler;
   private final JobAnalysisService jobAnalysisService;
+  private final WorkerLimits workerLimits;
+  private final JobMetrics jobMetrics;
+  private final boolean virtualWorkers;
+  private final ReentrantLock pollLock = new ReentrantLock();
+  private final Set<String> heldJobs = ConcurrentHashMap.newKeySet();
+
+  private long idleIntervalMs;
+  private long nextPollAtNanos = System.nanoTime();
+  private volatile boolean draining;
+  private volatile boolean wakeRequested;
 
   public PendingJobAnalysisPoller(
       @Value("${poller.id}") String pollerId,
-      @Value("${poller.lockTtlMs:300000}") long lockTtlMs,
+      @Value("${poller.lockTtlMs:15000}") long lockTtlMs,
+      @Value("${poller.heartbeatMs:3000}") long heartbeatMs,
       @Value("${poller.maxAttempts:3}") int maxAttempts,
+      @Value("${poller.minIntervalMs:1000}") long minIntervalMs,
+      @Value("${poller.intervalMs:30000}") long maxIntervalMs,
+      @Value("${poller.maxBatchSize:32}") int maxBatchSize,
       ExecutorService executor,
       JobRepository jobRepository,
-      JobAnalysisService jobAnalysisService) {
+      JobQueueRepository jobQueueRepository,
+      FairShareJobScheduler scheduler,
+      JobAnalysisService jobAnalysisService,
+      WorkerLimits workerLimits,
+      JobMetrics jobMetrics) {
+    if (minIntervalMs < 1 || maxIntervalMs < minIntervalMs) {
+      throw new IllegalArgumentException(
+          "poller.minIntervalMs must be positive and no larger than poller.intervalMs");
+    }
+    if (heartbeatMs < 1 || heartbeatMs >= lockTtlMs) {
+      throw new IllegalArgumentException(
+          "poller.heartbeatMs must be positive and shorter than poller.lockTtlMs");
+    }
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("poller.maxBatchSize must be at least 1");
+    }
     this.pollerId = pollerId;
     this.lockTtlMs = lockTtlMs;
+    this.heartbeatMs = heartbeatMs;
     this.maxAttempts = maxAttempts;
+    this.minIntervalMs = minIntervalMs;
+    this.maxIntervalMs = maxIntervalMs;
+    this.maxBatchSize = maxBatchSize;
     this.executor = executor;
     this.jobRepository = jobRepository;
+    this.jobQueueRepository = jobQueueRepository;
+    this.scheduler = scheduler;
     this.jobAnalysisService = jobAnalysisService;
+    this.workerLimits = workerLimits;
+    this.jobMetrics = jobMetrics;
+    this.virtualWorkers = !(executor instanceof ThreadPoolExecutor);
+    this.idleIntervalMs = minIntervalMs;
   }
 
-  @Scheduled(fixedRateString = "${poller.intervalMs:30000}")
+  @Scheduled(fixedDelayString = "${poller.minIntervalMs:1000}")
   private void getPendingJob() {
-    if (executor instanceof ThreadPoolExecutor threadPool) {
-      if (threadPool.getQueue().remainingCapacity() == 0) {
-        log.warn("Job analysis queue is full. Skipping poll cycle.");
+    poll(0);
+  }
+
+  /** Polls right away, skipping any back-off; called when a new job is known to be pending. */
+  public void dispatchNow() {
+    wakeRequested = true;
+    poll(0);
+  }
+
+  /**
+   * Claims jobs for the idle workers. {@code finishingWorkers} is 1 when called by a worker that is
+   * done with its job but still counted as active by the pool.
+   */
+  private void poll(int finishingWorkers) {
+    // A worker finishing a job may be polling already; one poll at a time is enough. A wake-up that
+    // arrives meanwhile is picked up by the poll holding the lock once it is done.
+    while (pollLock.tryLock()) {
+      try {
+        if (wakeRequested) {
+          wakeRequested = false;
+          idleIntervalMs = minIntervalMs;
+          nextPollAtNanos = System.nanoTime();
+        }
+        if (System.nanoTime() - nextPollAtNanos >= 0) {
+          drainPendingJobs(finishingWorkers);
+        }
+      } finally {
+        pollLock.unlock();
+      }
+      if (!wakeRequested) {
+        return;
+      }
+    }
+  }
+
+  private void drainPendingJobs(int finishingWorkers) {
+    while (true) {
+      int capacity = freeCapacity(finishingWorkers);
+      if (capacity == 0) {
+        return;
+      }
+      Instant now = Instant.now();
+      Instant lockExpiry = now.minusMillis(lockTtlMs);
+      List<JobQueueEntry> entries = List.of();
+      long claimStartNanos = System.nanoTime();
+      try {
+        entries = scheduler.acquire(pollerId, now, lockExpiry, maxAttempts, capacity);
+      } finally {
+        unreserve(capacity - entries.size());
+      }
+      jobMetrics.recordClaim(System.nanoTime() - claimStartNanos, entries.size());
+      if (entries.isEmpty()) {
+        backOff();
+        return;
+      }
+
+      draining = true;
+      idleIntervalMs = minIntervalMs;
+      List<String> rejected = new ArrayList<>();
+      for (JobQueueEntry entry : entries) {
+        heldJobs.add(entry.getId());
+        try {
+          executor.submit(() -> analyse(entry));
+        } catch (RejectedExecutionException e) {
+          heldJobs.remove(entry.getId());
+          unreserve(1);
+          rejected.add(entry.getId());
+        }
+      }
+      if (!rejected.isEmpty()) {
+        unclaim(rejected);
         return;
       }
+      log.debug("Claimed {} of {} requested jobs", entries.size(), capacity);
+      if (entries.size() < capacity) {
+        return;
+      }
+    }
+  }
+
+  private void analyse(JobQueueEntry entry) {
+    try {
+      Optional<Job> job =
+          jobRepository.startJob(entry.getId(), pollerId, entry.getAttempt(), Instant.now());
+      if (job.isPresent()) {
+        jobAnalysisService.analyseJob(job.get());
+      } else {
+        // The job finished before an earlier holder released its entry, or was deleted.
+        jobQueueRepository.removeHeld(pollerId, List.of(entry.getId()));
+      }
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to start job {}; it is claimed again once its lock expires", entry.getId(), e);
+    } finally {
+      heldJobs.remove(entry.getId());
+      unreserve(1);
+      if (draining) {
+        poll(1);
+      }
+    }
+  }
+
+  /**
+   * Hands jobs the executor rejected straight back to the queue. They never ran, so their claim
+   * must not use up an attempt or leave them waiting for the lock to expire.
+   */
+  private void unclaim(List<String> jobIds) {
+    log.warn("Executor rejected jobs {}; putting them back in the queue", jobIds);
+    try {
+      jobQueueRepository.unclaim(pollerId, jobIds);
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to put back jobs {}; they are claimed again once their locks expire", jobIds, e);
     }
+  }
+
+  /** Dead-letters jobs whose worker died during their last attempt, which nobody would reclaim. */
+  @Scheduled(fixedDelayString = "${poller.lockTtlMs:15000}")
+  private void deadLetterAbandonedJobs() {
     Instant now = Instant.now();
     Instant lockExpiry = now.minusMillis(lockTtlMs);
-    jobRepository
-        .acquirePendingJob(pollerId, now, lockExpiry, maxAttempts)
-        .ifPresentOrElse(
-            job -> executor.submit(() -> jobAnalysisService.analyseJob(job)),
-            () -> log.debug("No pending job found"));
+    List<String> abandoned = jobQueueRepository.findAbandonedJobIds(lockExpiry, maxAttempts);
+    if (abandoned.isEmpty()) {
+      return;
+    }
+    // Jobs are written before their entries go, so no job is left unfinished without an entry.
+    long deadLettered = jobRepository.deadLetterJobs(abandoned, now);
+    jobQueueRepository.removeAbandoned(abandoned, lockExpiry, maxAttempts);
+    if (deadLettered > 0) {
+      log.warn("Dead-lettered {} jobs whose lock expired on their last attempt", deadLettered);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${poller.heartbeatMs:3000}")
+  private void renewLeases() {
+    if (heldJobs.isEmpty()) {
+      return;
+    }
+    List<String> jobIds = List.copyOf(heldJobs);
+    long renewed = jobQueueRepository.renewLocks(pollerId, jobIds, Instant.now());
+    // Jobs finished since the copy no longer need a lease; any other shortfall is a lost lock.
+    long stillHeld = jobIds.stream().filter(heldJobs::contains).count();
+    if (renewed < stillHeld) {
+      log.warn(
+          "Renewed {} of {} job locks; the rest were reclaimed after missing {} ms heartbeats",
+          renewed,
+          stillHeld,
+          heartbeatMs);
+    }
+  }
+
+  private void backOff() {
+    draining = false;
+    nextPollAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(idleIntervalMs);
+    log.debug("No pending job found, next poll in {} ms", idleIntervalMs);
+    idleIntervalMs = Math.min(maxIntervalMs, idleIntervalMs * 2);
+  }
+
+  private int freeCapacity(int finishingWorkers) {
+    if (!(executor instanceof ThreadPoolExecutor threadPool)) {
+      return workerLimits.tryReserveJobs(maxBatchSize);
+    }
+    int remainingQueue = threadPool.getQueue().remainingCapacity();
+    if (remainingQueue == 0) {
+      log.warn("Job analysis queue is full. Skipping poll cycle.");
+      return 0;
+    }
+    int idleWorkers =
+        threadPool.getMaximumPoolSize()
+            - threadPool.getActiveCount()
+            + finishingWorkers
+            - threadPool.getQueue().size();
+    return Math.max(0, Math.min(idleWorkers, Math.min(remainingQueue, maxBatchSize)));
+  }
+
+  /** Returns job slots taken by {@link #freeCapacity}; only virtual workers reserve any. */
+  private void unreserve(int count) {
+    if (virtualWorkers) {
+      workerLimits.releaseJobs(count);
+    }
   }
 }
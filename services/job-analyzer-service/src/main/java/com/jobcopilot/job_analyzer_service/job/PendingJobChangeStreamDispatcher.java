@@ -0,0 +1,126 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dispatches jobs as soon as they are submitted by watching the job queue for inserted {@code
+ * PENDING} entries. Requires a replica set. The poller's own sweep keeps running as a safety net
+ * for missed events and expired locks, so its {@code poller.intervalMs} can be raised in this mode.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "poller.dispatch", havingValue = "change-stream")
+public class PendingJobChangeStreamDispatcher implements SmartLifecycle {
+  private static final List<Bson> PENDING_INSERTS =
+      List.of(
+          Aggregates.match(
+              Filters.and(
+                  Filters.eq("operationType", "insert"),
+                  Filters.eq("fullDocument.status", AnalysisStatus.PENDING.name()))));
+
+  private final ObjectProvider<MongoOperations> mongoOperationsProvider;
+  private final PendingJobAnalysisPoller poller;
+  private final long retryDelayMs;
+
+  private volatile boolean running;
+  private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+  private Thread watcher;
+
+  public PendingJobChangeStreamDispatcher(
+      ObjectProvider<MongoOperations> mongoOperationsProvider,
+      PendingJobAnalysisPoller poller,
+      @Value("${poller.changeStreamRetryMs:5000}") long retryDelayMs) {
+    this.mongoOperationsProvider = mongoOperationsProvider;
+    this.poller = poller;
+    this.retryDelayMs = retryDelayMs;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    watcher = Thread.ofPlatform().name("job-change-stream").daemon().start(this::watch);
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+    if (current != null) {
+      current.close();
+    }
+    if (watcher != null) {
+      watcher.interrupt();
+      watcher = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void watch() {
+    while (running) {
+      try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = open()) {
+        cursor = opened;
+        // Jobs inserted while the stream was down produced no event; one poll picks them up.
+        dispatch();
+        while (running && opened.hasNext()) {
+          opened.next();
+          dispatch();
+        }
+      } catch (RuntimeException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("Job change stream failed, reopening in {} ms", retryDelayMs, e);
+        try {
+          Thread.sleep(retryDelayMs);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      } finally {
+        cursor = null;
+      }
+    }
+  }
+
+  /**
+   * A failed claim must not end the watcher: the jobs stay pending and are picked up by the next
+   * event or the poller's own sweep.
+   */
+  private void dispatch() {
+    try {
+      poller.dispatchNow();
+    } catch (RuntimeException e) {
+      log.warn("Dispatching pending jobs failed", e);
+    }
+  }
+
+  private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+    MongoOperations mongoOperations = mongoOperationsProvider.getObject();
+    return mongoOperations
+        .getCollection(mongoOperations.getCollectionName(JobQueueEntry.class))
+        .watch(PENDING_INSERTS)
+        .cursor();
+  }
+}
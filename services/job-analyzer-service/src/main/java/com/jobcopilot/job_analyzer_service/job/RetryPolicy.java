@@ -0,0 +1,59 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.values.Error;
+import com.jobcopilot.job_analyzer_service.repository.JobCompletion;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides what becomes of a job whose analysis failed. A retryable error sends the job back to
+ * pending, due again after {@code poller.retryDelayMs} doubled for every attempt made so far and
+ * capped at {@code poller.maxRetryDelayMs}. Once {@code poller.maxAttempts} attempts have failed
+ * the job is dead-lettered. Other errors fail the job right away.
+ */
+@Component
+public class RetryPolicy {
+  private final int maxAttempts;
+  private final long retryDelayMs;
+  private final long maxRetryDelayMs;
+
+  public RetryPolicy(
+      @Value("${poller.maxAttempts:3}") int maxAttempts,
+      @Value("${poller.retryDelayMs:5000}") long retryDelayMs,
+      @Value("${poller.maxRetryDelayMs:300000}") long maxRetryDelayMs) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("poller.maxAttempts must be at least 1");
+    }
+    if (retryDelayMs < 1 || maxRetryDelayMs < retryDelayMs) {
+      throw new IllegalArgumentException(
+          "poller.retryDelayMs must be positive and no larger than poller.maxRetryDelayMs");
+    }
+    this.maxAttempts = maxAttempts;
+    this.retryDelayMs = retryDelayMs;
+    this.maxRetryDelayMs = maxRetryDelayMs;
+  }
+
+  public JobCompletion onError(Job job, Instant now, Error error) {
+    String lockedBy = job.getAnalysis().lockedBy();
+    if (!Boolean.TRUE.equals(error.retryable())) {
+      return JobCompletion.failed(job.getId(), lockedBy, now, error);
+    }
+    int attempt = job.getAnalysis().attempt();
+    if (attempt >= maxAttempts) {
+      return JobCompletion.deadLettered(job.getId(), lockedBy, now, error);
+    }
+    return JobCompletion.retry(
+        job.getId(), lockedBy, now, error, now.plusMillis(retryDelayMs(attempt)));
+  }
+
+  /** Delay before the attempt after {@code attempt}, the first attempt being 1. */
+  long retryDelayMs(int attempt) {
+    long delay = retryDelayMs;
+    for (int i = 1; i < attempt && delay < maxRetryDelayMs; i++) {
+      delay *= 2;
+    }
+    return Math.min(delay, maxRetryDelayMs);
+  }
+}
@@ -0,0 +1,69 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps how much job analysis work runs at once, in two parts. Pipeline runs are limited to {@code
+ * poller.cpuConcurrency}, by default one per processor, so their deadlines are not spent queued in
+ * the parser's pool. With virtual-thread workers the jobs in flight, which mostly wait on Mongo
+ * while loading and writing, are limited separately to {@code poller.ioConcurrency}.
+ */
+@Component
+public class WorkerLimits {
+  private final int ioConcurrency;
+  private final Semaphore jobs;
+  private final Semaphore cpu;
+
+  public WorkerLimits(
+      @Value("${poller.ioConcurrency:64}") int ioConcurrency,
+      @Value("${poller.cpuConcurrency:0}") int cpuConcurrency) {
+    if (ioConcurrency < 1) {
+      throw new IllegalArgumentException("poller.ioConcurrency must be at least 1");
+    }
+    if (cpuConcurrency < 0) {
+      throw new IllegalArgumentException("poller.cpuConcurrency must not be negative");
+    }
+    this.ioConcurrency = ioConcurrency;
+    this.jobs = new Semaphore(ioConcurrency);
+    this.cpu =
+        new Semaphore(
+            cpuConcurrency == 0 ? Runtime.getRuntime().availableProcessors() : cpuConcurrency);
+  }
+
+  /** Reserves room for up to {@code max} more jobs without waiting; returns how many. */
+  public int tryReserveJobs(int max) {
+    int available = jobs.drainPermits();
+    int reserved = Math.min(max, available);
+    jobs.release(available - reserved);
+    return reserved;
+  }
+
+  public void releaseJobs(int count) {
+    if (count > 0) {
+      jobs.release(count);
+    }
+  }
+
+  /** Jobs reserved or running; only meaningful with virtual-thread workers. */
+  public int jobsInFlight() {
+    return ioConcurrency - jobs.availablePermits();
+  }
+
+  /** Jobs waiting for a pipeline slot. */
+  public int pipelinesWaiting() {
+    return cpu.getQueueLength();
+  }
+
+  /** Runs {@code work} once a pipeline slot is free. */
+  public <T> T cpuBound(Callable<T> work) throws Exception {
+    cpu.acquire();
+    try {
+      return work.call();
+    } finally {
+      cpu.release();
+    }
+  }
+}
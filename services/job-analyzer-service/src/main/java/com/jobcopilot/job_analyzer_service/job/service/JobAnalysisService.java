@@ -1,65 +1,111 @@
 package com.jobcopilot.job_analyzer_service.job.service;
 
+import com.jobcopilot.job_analyzer_service.entity.AnalysisResult;
 import com.jobcopilot.job_analyzer_service.entity.Job;
 import com.jobcopilot.job_analyzer_service.entity.values.*;
 import com.jobcopilot.job_analyzer_service.entity.values.Error;
 import com.jobcopilot.job_analyzer_service.enums.ErrorCode;
-import com.jobcopilot.job_analyzer_service.parser.model.output.ExtractedMetadataOutput;
-import com.jobcopilot.job_analyzer_service.parser.model.request.JdAnalysisPipelineRequest;
-import com.jobcopilot.job_analyzer_service.repository.JobRepository;
-import com.jobcopilot.parser.model.request.PipelineRequest;
+import com.jobcopilot.job_analyzer_service.job.JobCompletionSink;
+import com.jobcopilot.job_analyzer_service.job.JobMetrics;
+import com.jobcopilot.job_analyzer_service.job.RetryPolicy;
+import com.jobcopilot.job_analyzer_service.job.WorkerLimits;
+import com.jobcopilot.job_analyzer_service.repository.JobCompletion;
+import com.jobcopilot.job_analyzer_service.service.AnalysisResultCache;
+import com.jobcopilot.job_analyzer_service.service.JobCompletionRegistry;
+import com.jobcopilot.job_analyzer_service.service.JobDescriptionAnalyzer;
+import com.jobcopilot.parser.exception.PipelineTimeoutException;
 import java.time.Instant;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 public class JobAnalysisService {
 
-  private final JobRepository jobRepository;
-  private final ObjectProvider<com.jobcopilot.parser.ParsingPipeline> jobAnalysisPipelineProvider;
+  private final JobDescriptionAnalyzer jobDescriptionAnalyzer;
+  private final AnalysisResultCache analysisResultCache;
+  private final JobCompletionSink jobCompletionSink;
+  private final JobCompletionRegistry jobCompletionRegistry;
+  private final RetryPolicy retryPolicy;
+  private final WorkerLimits workerLimits;
+  private final JobMetrics jobMetrics;
 
   public JobAnalysisService(
-      JobRepository jobRepository,
-      ObjectProvider<com.jobcopilot.parser.ParsingPipeline> jobAnalysisPipelineProvider) {
-    this.jobRepository = jobRepository;
-    this.jobAnalysisPipelineProvider = jobAnalysisPipelineProvider;
+      JobDescriptionAnalyzer jobDescriptionAnalyzer,
+      AnalysisResultCache analysisResultCache,
+      JobCompletionSink jobCompletionSink,
+      JobCompletionRegistry jobCompletionRegistry,
+      RetryPolicy retryPolicy,
+      WorkerLimits workerLimits,
+      JobMetrics jobMetrics) {
+    this.jobDescriptionAnalyzer = jobDescriptionAnalyzer;
+    this.analysisResultCache = analysisResultCache;
+    this.jobCompletionSink = jobCompletionSink;
+    this.jobCompletionRegistry = jobCompletionRegistry;
+    this.retryPolicy = retryPolicy;
+    this.workerLimits = workerLimits;
+    this.jobMetrics = jobMetrics;
   }
 
   public void analyseJob(Job job) {
     log.info("Starting job analysis for job {}", job.getId());
     Instant now = Instant.now();
+    jobMetrics.recordStart(job);
     try {
 
-      PipelineRequest request = new JdAnalysisPipelineRequest(job.getInput().rawText());
-      ExtractedMetadataOutput analysisResponse =
-          (ExtractedMetadataOutput) jobAnalysisPipelineProvider.getObject().execute(request);
+      String contentHash = job.getInput().contentHash();
+      String rawText = job.getInput().rawText();
+      AnalysisResult result =
+          contentHash == null
+              ? runPipeline(rawText)
+              : analysisResultCache.computeIfAbsent(contentHash, () -> runPipeline(rawText));
 
-      jobRepository.markCompletedWithExtracted(
-          job.getId(),
-          job.getAnalysis().lockedBy(),
-          now,
-          analysisResponse.normalizedText(),
-          Extracted.builder()
-              .preferredSkills(analysisResponse.preferredSkills())
-              .requiredSkills(analysisResponse.requiredSkills())
-              .seniority(analysisResponse.seniority())
-              .domain(analysisResponse.domain())
-              .techStack(analysisResponse.techStack())
-              .build());
+      finish(
+          job,
+          JobCompletion.completed(
+              job.getId(),
+              job.getAnalysis().lockedBy(),
+              now,
+              result.getNormalizedText(),
+              result.getExtracted()));
 
       log.info("Completed job analysis for job {}", job.getId());
+    } catch (PipelineTimeoutException ex) {
+      // A timeout may come from load on this node, so the job is tried again later.
+      Error error =
+          new Error(ErrorCode.TIMEOUT, sanitizeErrorMessage(ex), "Job analysis timed out", true);
+      finish(job, retryPolicy.onError(job, now, error));
+      log.error("Timed out analysing job {}", job.getId(), ex);
     } catch (Exception ex) {
       String sanitizedMessage = sanitizeErrorMessage(ex);
       Error error =
           new Error(
               ErrorCode.PARSER_FAILED, sanitizedMessage, "Job analysis processing failed", false);
-      jobRepository.markFailed(job.getId(), job.getAnalysis().lockedBy(), now, error);
+      finish(job, retryPolicy.onError(job, now, error));
       log.error("Failed job analysis for job {}", job.getId(), ex);
     }
   }
 
+  /**
+   * Waits for a pipeline slot first, so the pipeline's deadline is not spent queued behind others.
+   */
+  private AnalysisResult runPipeline(String rawText) throws Exception {
+    return workerLimits.cpuBound(() -> jobDescriptionAnalyzer.analyse(rawText));
+  }
+
+  /** Hands the result to the sink; clients waiting on the job hear of it once it is written. */
+  private void finish(Job job, JobCompletion completion) {
+    jobMetrics.recordOutcome(job, completion, Instant.now());
+    jobCompletionSink
+        .submit(completion)
+        .thenAccept(
+            written -> {
+              if (written && completion.status().isFinished()) {
+                jobCompletionRegistry.jobFinished(completion.jobId());
+              }
+            });
+  }
+
   private String sanitizeErrorMessage(Exception ex) {
     String message = ex.getMessage();
     if (message == null || message.isBlank()) {
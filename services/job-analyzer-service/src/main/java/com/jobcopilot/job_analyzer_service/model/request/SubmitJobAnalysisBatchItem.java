@@ -0,0 +1,10 @@
+package com.jobcopilot.job_analyzer_service.model.request;
+
+import com.jobcopilot.job_analyzer_service.enums.InputType;
+
+public record SubmitJobAnalysisBatchItem(
+    InputType type, String text, String url, String displayName, String sourceLabel) {
+  public SubmitJobAnalysisRequest toRequest(String profileId) {
+    return new SubmitJobAnalysisRequest(profileId, type, text, url, displayName, sourceLabel);
+  }
+}
@@ -0,0 +1,14 @@
+package com.jobcopilot.job_analyzer_service.model.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Several job descriptions for one profile. Items are validated one by one, so an invalid item is
+ * reported in the response without failing the others.
+ */
+public record SubmitJobAnalysisBatchRequest(
+    @NotNull String profileId,
+    @NotNull @Size(min = 1, max = 100, message = "A batch must contain 1 to 100 items.")
+        List<SubmitJobAnalysisBatchItem> items) {}
@@ -0,0 +1,10 @@
+package com.jobcopilot.job_analyzer_service.model.response;
+
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import java.time.Instant;
+import lombok.Builder;
+
+/** Outcome of one batch item: its job, or the reason it was rejected. */
+@Builder(toBuilder = true)
+public record JobAnalysisBatchItemResponse(
+    int index, String jobId, AnalysisStatus status, Instant submittedAt, String error) {}
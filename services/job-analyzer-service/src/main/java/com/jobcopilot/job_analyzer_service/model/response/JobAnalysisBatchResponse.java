@@ -0,0 +1,8 @@
+package com.jobcopilot.job_analyzer_service.model.response;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record JobAnalysisBatchResponse(
+    String profileId, List<JobAnalysisBatchItemResponse> items) {}
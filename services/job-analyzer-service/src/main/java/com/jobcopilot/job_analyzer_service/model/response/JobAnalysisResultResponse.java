@@ -0,0 +1,19 @@
+package com.jobcopilot.job_analyzer_service.model.response;
+
+import com.jobcopilot.job_analyzer_service.entity.values.Error;
+import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import java.time.Instant;
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record JobAnalysisResultResponse(
+    String jobId,
+    String profileId,
+    AnalysisStatus status,
+    Instant submittedAt,
+    Instant completedAt,
+    Instant failedAt,
+    Error error,
+    Extracted extracted,
+    Instant updatedAt) {}
@@ -1,5 +1,10 @@
 package com.jobcopilot.job_analyzer_service.parser.model;
 
 import com.jobcopilot.job_analyzer_service.parser.dictionary.BlockLabel;
+import com.jobcopilot.parser.model.document.TextSpan;
 
-public record LabeledLine(int lineIndex, String lineText, BlockLabel label) {}
+public record LabeledLine(int lineIndex, TextSpan lineText, BlockLabel label) {
+  public LabeledLine(int lineIndex, String lineText, BlockLabel label) {
+    this(lineIndex, TextSpan.of(lineText), label);
+  }
+}
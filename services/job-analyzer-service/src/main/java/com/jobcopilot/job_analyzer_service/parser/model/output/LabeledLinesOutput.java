@@ -1,12 +1,23 @@
 package com.jobcopilot.job_analyzer_service.parser.model.output;
 
 import com.jobcopilot.job_analyzer_service.parser.model.LabeledLine;
+import com.jobcopilot.parser.model.document.TextDocument;
 import com.jobcopilot.parser.model.output.StageOutput;
 import java.util.List;
 
 public record LabeledLinesOutput(
-    String rawText, String normalizedText, List<LabeledLine> labeledLines) implements StageOutput {
+    String rawText, TextDocument document, List<LabeledLine> labeledLines) implements StageOutput {
   public LabeledLinesOutput {
+    document = document == null ? TextDocument.of(null) : document;
     labeledLines = labeledLines == null ? List.of() : List.copyOf(labeledLines);
   }
+
+  public String normalizedText() {
+    return document.text();
+  }
+
+  @Override
+  public int approximateSize() {
+    return document.length();
+  }
 }
@@ -2,5 +2,9 @@ package com.jobcopilot.job_analyzer_service.parser.model.output;
 
 import com.jobcopilot.parser.model.output.StageOutput;
 
-public record NormalizedJdTextOutput(String rawText, String normalizedText)
-    implements StageOutput {}
+public record NormalizedJdTextOutput(String rawText, String normalizedText) implements StageOutput {
+  @Override
+  public int approximateSize() {
+    return normalizedText == null ? -1 : normalizedText.length();
+  }
+}
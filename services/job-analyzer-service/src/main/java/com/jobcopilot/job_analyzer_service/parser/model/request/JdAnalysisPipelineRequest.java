@@ -2,4 +2,9 @@ package com.jobcopilot.job_analyzer_service.parser.model.request;
 
 import com.jobcopilot.parser.model.request.PipelineRequest;
 
-public record JdAnalysisPipelineRequest(String rawText) implements PipelineRequest {}
+public record JdAnalysisPipelineRequest(String rawText) implements PipelineRequest {
+  @Override
+  public int approximateSize() {
+    return rawText == null ? -1 : rawText.length();
+  }
+}
@@ -4,12 +4,13 @@ import com.jobcopilot.job_analyzer_service.parser.dictionary.BlockLabel;
 import com.jobcopilot.job_analyzer_service.parser.model.LabeledLine;
 import com.jobcopilot.job_analyzer_service.parser.model.output.LabeledLinesOutput;
 import com.jobcopilot.job_analyzer_service.parser.model.output.NormalizedJdTextOutput;
+import com.jobcopilot.parser.model.document.TextDocument;
+import com.jobcopilot.parser.model.document.TextSpan;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 public class BlockLabeler implements PipelineStage {
 
@@ -18,20 +19,34 @@ public class BlockLabeler implements PipelineStage {
     if (!(input instanceof NormalizedJdTextOutput(String rawText, String normalizedText))) {
       throw new IllegalArgumentException("Expected NormalizedJdTextOutput");
     }
-    List<LabeledLine> labeled = labelLines(normalizedText);
-    return new LabeledLinesOutput(rawText, normalizedText, labeled);
+    TextDocument document = TextDocument.of(normalizedText);
+    return new LabeledLinesOutput(rawText, document, labelLines(document));
+  }
+
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(NormalizedJdTextOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return LabeledLinesOutput.class;
   }
 
   public List<LabeledLine> labelLines(String normalizedText) {
-    List<LabeledLine> labeled = new ArrayList<>();
-    if (normalizedText == null || normalizedText.isBlank()) {
+    return labelLines(TextDocument.of(normalizedText));
+  }
+
+  public List<LabeledLine> labelLines(TextDocument document) {
+    List<LabeledLine> labeled = new ArrayList<>(document.lineCount());
+    if (document.whole().isBlank()) {
       return labeled;
     }
 
     BlockLabel current = BlockLabel.OTHER;
-    String[] lines = normalizedText.split("\n", -1);
-    for (int i = 0; i < lines.length; i++) {
-      String line = lines[i];
+    List<TextSpan> lines = document.lines();
+    for (int i = 0; i < lines.size(); i++) {
+      TextSpan line = lines.get(i);
       BlockLabel header = detectHeader(line);
       if (header != null) {
         current = header;
@@ -43,11 +58,8 @@ public class BlockLabeler implements PipelineStage {
     return labeled;
   }
 
-  private BlockLabel detectHeader(String line) {
-    if (line == null) {
-      return null;
-    }
-    String cleaned = line.trim();
+  private BlockLabel detectHeader(TextSpan line) {
+    TextSpan cleaned = line.trim();
     if (cleaned.isEmpty()) {
       return null;
     }
@@ -55,12 +67,12 @@ public class BlockLabeler implements PipelineStage {
       return null;
     }
     if (cleaned.endsWith(":")) {
-      cleaned = cleaned.substring(0, cleaned.length() - 1).trim();
+      cleaned = cleaned.subSequence(0, cleaned.length() - 1).trim();
     }
     if (!isHeaderLike(cleaned)) {
       return null;
     }
-    String lower = cleaned.toLowerCase(Locale.ROOT);
+    TextSpan lower = cleaned.lowerCase();
 
     if (containsAny(
         lower, "requirements", "qualifications", "what you'll need", "what you will need")) {
@@ -82,15 +94,27 @@ public class BlockLabeler implements PipelineStage {
     return null;
   }
 
-  private boolean isHeaderLike(String cleaned) {
+  private boolean isHeaderLike(TextSpan cleaned) {
     if (cleaned.length() > 60) {
       return false;
     }
-    int words = cleaned.split("\\s+").length;
-    return words <= 6;
+    return wordCount(cleaned) <= 6;
+  }
+
+  private int wordCount(TextSpan cleaned) {
+    int words = 0;
+    boolean inWord = false;
+    for (int i = 0; i < cleaned.length(); i++) {
+      boolean whitespace = Character.isWhitespace(cleaned.charAt(i));
+      if (!whitespace && !inWord) {
+        words++;
+      }
+      inWord = !whitespace;
+    }
+    return Math.max(words, 1);
   }
 
-  private boolean containsAny(String value, String... candidates) {
+  private boolean containsAny(TextSpan value, String... candidates) {
     for (String candidate : candidates) {
       if (value.contains(candidate)) {
         return true;
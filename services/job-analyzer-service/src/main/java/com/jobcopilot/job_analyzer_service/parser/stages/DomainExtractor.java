@@ -3,91 +3,92 @@ package com.jobcopilot.job_analyzer_service.parser.stages;
 import com.jobcopilot.job_analyzer_service.parser.dictionary.Domain;
 import com.jobcopilot.job_analyzer_service.parser.model.DomainResult;
 import com.jobcopilot.job_analyzer_service.parser.model.output.DomainOutput;
-import com.jobcopilot.job_analyzer_service.parser.model.output.SeniorityOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.output.LabeledLinesOutput;
+import com.jobcopilot.parser.matcher.DictionaryMatcher;
+import com.jobcopilot.parser.model.document.TextDocument;
+import com.jobcopilot.parser.model.document.TextSpan;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 public class DomainExtractor implements PipelineStage {
-  private static final Map<Domain, List<Pattern>> KEYWORD_PATTERNS = buildKeywordPatterns();
+  private static final DictionaryMatcher<Domain> KEYWORD_MATCHER = buildKeywordMatcher();
   private static final int MIN_SCORE = 2;
 
-  private static Map<Domain, List<Pattern>> buildKeywordPatterns() {
-    Map<Domain, List<Pattern>> map = new LinkedHashMap<>();
+  private static DictionaryMatcher<Domain> buildKeywordMatcher() {
+    DictionaryMatcher.Builder<Domain> builder = DictionaryMatcher.builder();
     for (Domain domain : Domain.values()) {
-      List<Pattern> patterns = new ArrayList<>();
-      for (String keyword : domain.keywords()) {
-        patterns.add(Pattern.compile(buildKeywordRegex(keyword), Pattern.CASE_INSENSITIVE));
-      }
-      map.put(domain, patterns);
+      builder.addAll(domain.keywords(), domain);
     }
-    return map;
+    return builder.build();
   }
 
-  private static String buildKeywordRegex(String keyword) {
-    String trimmed = keyword.trim().toLowerCase(Locale.ROOT);
-    if (trimmed.contains(" ")) {
-      String[] parts = trimmed.split("\\s+");
-      StringBuilder builder = new StringBuilder();
-      builder.append("\\b");
-      for (int i = 0; i < parts.length; i++) {
-        if (i > 0) {
-          builder.append("\\s+");
-        }
-        builder.append(Pattern.quote(parts[i]));
-      }
-      builder.append("\\b");
-      return builder.toString();
+  @Override
+  public StageOutput process(StageInput input) {
+    if (!(input instanceof LabeledLinesOutput labeledLinesOutput)) {
+      throw new IllegalArgumentException("Expected LabeledLinesOutput");
     }
-    return "\\b" + Pattern.quote(trimmed) + "\\b";
+    DomainResult result = extract(labeledLinesOutput.document());
+    return new DomainOutput(result.domain(), result.reason());
   }
 
   @Override
-  public StageOutput process(StageInput input) {
-    if (!(input instanceof SeniorityOutput seniorityOutput)) {
-      throw new IllegalArgumentException("Expected SeniorityOutput");
-    }
-    DomainResult result = extract(seniorityOutput.normalizedText());
-    return new DomainOutput(
-        seniorityOutput.rawText(),
-        seniorityOutput.normalizedText(),
-        seniorityOutput.labeledLines(),
-        seniorityOutput,
-        result.domain(),
-        result.reason());
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(LabeledLinesOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return DomainOutput.class;
   }
 
   public DomainResult extract(String normalizedText) {
-    if (normalizedText == null || normalizedText.isBlank()) {
+    return extract(TextDocument.of(normalizedText));
+  }
+
+  public DomainResult extract(TextDocument document) {
+    if (document.whole().isBlank()) {
       return new DomainResult(Domain.UNKNOWN, "empty text");
     }
 
-    String text = normalizedText.toLowerCase(Locale.ROOT);
-    String title = firstNonEmptyLine(normalizedText).toLowerCase(Locale.ROOT);
+    TextSpan title = firstNonEmptyLine(document);
+    Map<Domain, Set<String>> textHits = new EnumMap<>(Domain.class);
+    Map<Domain, Set<String>> titleHits = new EnumMap<>(Domain.class);
+    KEYWORD_MATCHER.scan(
+        document.text(),
+        match -> {
+          textHits.computeIfAbsent(match.value(), _ -> new HashSet<>()).add(match.phrase());
+          if (match.start() >= title.start() && match.end() <= title.end()) {
+            titleHits.computeIfAbsent(match.value(), _ -> new HashSet<>()).add(match.phrase());
+          }
+        });
+
     Map<Domain, Integer> scores = new LinkedHashMap<>();
     Map<Domain, List<String>> matches = new LinkedHashMap<>();
-
-    for (Map.Entry<Domain, List<Pattern>> entry : KEYWORD_PATTERNS.entrySet()) {
+    for (Domain domain : Domain.values()) {
+      Set<String> inText = textHits.getOrDefault(domain, Set.of());
+      Set<String> inTitle = titleHits.getOrDefault(domain, Set.of());
       int score = 0;
       List<String> matched = new ArrayList<>();
-      for (Pattern keyword : entry.getValue()) {
-        if (keyword.matcher(text).find()) {
+      for (String keyword : domain.keywords()) {
+        if (inText.contains(keyword)) {
           score++;
-          matched.add(keyword.pattern());
+          matched.add(keyword);
         }
-        if (!title.isEmpty() && keyword.matcher(title).find()) {
+        if (inTitle.contains(keyword)) {
           score += 2;
-          matched.add("title:" + keyword.pattern());
+          matched.add("title:" + keyword);
         }
       }
-      scores.put(entry.getKey(), score);
-      matches.put(entry.getKey(), matched);
+      scores.put(domain, score);
+      matches.put(domain, matched);
     }
 
     Domain best = Domain.UNKNOWN;
@@ -115,7 +116,8 @@ public class DomainExtractor implements PipelineStage {
       }
     }
 
-    if (title.contains("full stack") || title.contains("fullstack")) {
+    TextSpan lowerTitle = title.lowerCase();
+    if (lowerTitle.contains("full stack") || lowerTitle.contains("fullstack")) {
       return new DomainResult(Domain.FULLSTACK, "title:fullstack");
     }
 
@@ -130,13 +132,13 @@ public class DomainExtractor implements PipelineStage {
     return new DomainResult(best, "matched: " + matches.get(best));
   }
 
-  private String firstNonEmptyLine(String text) {
-    for (String line : text.split("\n", -1)) {
-      String trimmed = line.trim();
+  private TextSpan firstNonEmptyLine(TextDocument document) {
+    for (TextSpan line : document.lines()) {
+      TextSpan trimmed = line.trim();
       if (!trimmed.isEmpty()) {
         return trimmed;
       }
     }
-    return "";
+    return document.span(0, 0);
   }
 }
@@ -1,27 +1,51 @@
 package com.jobcopilot.job_analyzer_service.parser.stages;
 
+import com.jobcopilot.job_analyzer_service.parser.model.output.DomainOutput;
 import com.jobcopilot.job_analyzer_service.parser.model.output.ExtractedMetadataOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.output.LabeledLinesOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.output.SeniorityOutput;
 import com.jobcopilot.job_analyzer_service.parser.model.output.SkillExtractedOutput;
 import com.jobcopilot.parser.model.input.StageInput;
+import com.jobcopilot.parser.model.output.DependencyOutputs;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
+import java.util.List;
 
 public class ExtractedMetadataMerger implements PipelineStage {
   @Override
   public StageOutput process(StageInput input) {
-    if (!(input instanceof SkillExtractedOutput output)) {
-      throw new IllegalArgumentException("Expected SkillExtractedOutput");
+    if (!(input instanceof DependencyOutputs outputs)) {
+      throw new IllegalArgumentException("Expected DependencyOutputs");
     }
 
+    LabeledLinesOutput labeledLines = outputs.get(LabeledLinesOutput.class);
+    SeniorityOutput seniority = outputs.get(SeniorityOutput.class);
+    DomainOutput domain = outputs.get(DomainOutput.class);
+    SkillExtractedOutput skills = outputs.get(SkillExtractedOutput.class);
+
     return new ExtractedMetadataOutput(
-        output.rawText(),
-        output.normalizedText(),
-        output.seniority(),
-        output.seniorityReason(),
-        output.domain(),
-        output.domainReason(),
-        output.requiredSkills(),
-        output.preferredSkills(),
-        output.techStack());
+        labeledLines.rawText(),
+        labeledLines.normalizedText(),
+        seniority.seniority(),
+        seniority.reason(),
+        domain.domain(),
+        domain.reason(),
+        skills.requiredSkills(),
+        skills.preferredSkills(),
+        skills.techStack());
+  }
+
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(
+        LabeledLinesOutput.class,
+        SeniorityOutput.class,
+        DomainOutput.class,
+        SkillExtractedOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return ExtractedMetadataOutput.class;
   }
 }
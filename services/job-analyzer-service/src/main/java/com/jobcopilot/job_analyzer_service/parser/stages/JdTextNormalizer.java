@@ -4,16 +4,12 @@ import com.jobcopilot.job_analyzer_service.parser.model.output.NormalizedJdTextO
 import com.jobcopilot.job_analyzer_service.parser.model.request.JdAnalysisPipelineRequest;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
+import com.jobcopilot.parser.normalizer.FusedTextNormalizer;
 import com.jobcopilot.parser.stages.PipelineStage;
-import java.text.Normalizer;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 public class JdTextNormalizer implements PipelineStage {
-  private static final Pattern MULTI_SPACE = Pattern.compile(" {2,}");
-  private static final Pattern BULLETS = Pattern.compile("[•▪●–—*·>]+", Pattern.UNICODE_CASE);
-  private static final Pattern DASHES = Pattern.compile("[−—–]+", Pattern.UNICODE_CASE);
+  private static final FusedTextNormalizer NORMALIZER = FusedTextNormalizer.builder().build();
 
   @Override
   public StageOutput process(StageInput input) {
@@ -24,19 +20,24 @@ public class JdTextNormalizer implements PipelineStage {
       return new NormalizedJdTextOutput(null, "");
     }
 
-    String normalized = rawText.replace("\r\n", "\n").replace("\r", "\n");
-    normalized = Normalizer.normalize(normalized, Normalizer.Form.NFKC);
+    return new NormalizedJdTextOutput(rawText, normalize(rawText));
+  }
 
-    List<String> normalizedLines = new ArrayList<>();
-    for (String line : normalized.split("\n", -1)) {
-      String current = line.replace("\t", " ");
-      current = BULLETS.matcher(current).replaceAll("-");
-      current = DASHES.matcher(current).replaceAll("-");
-      current = MULTI_SPACE.matcher(current).replaceAll(" ");
-      current = current.trim();
-      normalizedLines.add(current);
-    }
+  /**
+   * {@code rawText} as this stage normalizes it. Everything the pipeline extracts depends only on
+   * this text, so results cached under its hash stay valid as long as it is the same.
+   */
+  public static String normalize(String rawText) {
+    return NORMALIZER.normalize(rawText);
+  }
 
-    return new NormalizedJdTextOutput(rawText, String.join("\n", normalizedLines));
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(JdAnalysisPipelineRequest.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return NormalizedJdTextOutput.class;
   }
 }
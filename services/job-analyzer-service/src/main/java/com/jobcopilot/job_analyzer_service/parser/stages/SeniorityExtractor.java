@@ -4,62 +4,64 @@ import com.jobcopilot.job_analyzer_service.parser.dictionary.Seniority;
 import com.jobcopilot.job_analyzer_service.parser.model.SeniorityResult;
 import com.jobcopilot.job_analyzer_service.parser.model.output.LabeledLinesOutput;
 import com.jobcopilot.job_analyzer_service.parser.model.output.SeniorityOutput;
+import com.jobcopilot.parser.matcher.DictionaryMatcher;
+import com.jobcopilot.parser.model.document.TextDocument;
+import com.jobcopilot.parser.model.document.TextSpan;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Pattern;
 
 public class SeniorityExtractor implements PipelineStage {
-  private static final Map<Seniority, List<Pattern>> PATTERNS = buildPatterns();
+  private static final DictionaryMatcher<Seniority> ALIAS_MATCHER = buildAliasMatcher();
 
-  private static Map<Seniority, List<Pattern>> buildPatterns() {
-    Map<Seniority, List<Pattern>> map = new LinkedHashMap<>();
-    for (Seniority seniority : Seniority.orderedByPrecedence()) {
-      List<Pattern> patterns = new ArrayList<>();
-      for (String alias : seniority.aliases()) {
-        patterns.add(wordPattern(alias));
-      }
-      map.put(seniority, patterns);
+  private static DictionaryMatcher<Seniority> buildAliasMatcher() {
+    DictionaryMatcher.Builder<Seniority> builder = DictionaryMatcher.builder();
+    for (Seniority seniority : Seniority.values()) {
+      builder.addAll(seniority.aliases(), seniority);
     }
-    return map;
-  }
-
-  private static Pattern wordPattern(String token) {
-    return Pattern.compile("\\b" + Pattern.quote(token) + "\\b", Pattern.CASE_INSENSITIVE);
+    return builder.build();
   }
 
   @Override
   public StageOutput process(StageInput input) {
-    if (!(input
-        instanceof
-        LabeledLinesOutput(
-            String rawText,
-            String normalizedText,
-            List<com.jobcopilot.job_analyzer_service.parser.model.LabeledLine> labeledLines))) {
+    if (!(input instanceof LabeledLinesOutput labeledLinesOutput)) {
       throw new IllegalArgumentException("Expected LabeledLinesOutput");
     }
 
-    SeniorityResult result = extract(normalizedText);
-    return new SeniorityOutput(
-        rawText, normalizedText, labeledLines, result.seniority(), result.reason());
+    SeniorityResult result = extract(labeledLinesOutput.document());
+    return new SeniorityOutput(result.seniority(), result.reason());
+  }
+
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(LabeledLinesOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return SeniorityOutput.class;
   }
 
   public SeniorityResult extract(String normalizedText) {
-    if (normalizedText == null || normalizedText.isBlank()) {
+    return extract(TextDocument.of(normalizedText));
+  }
+
+  public SeniorityResult extract(TextDocument document) {
+    if (document.whole().isBlank()) {
       return new SeniorityResult(Seniority.UNKNOWN, "empty text");
     }
 
-    List<String> lines = collectTitleLines(normalizedText);
-    SeniorityResult fromTitle = matchLines(lines, "title");
+    // One scan of the whole text; title matches are the ones inside the leading block of lines.
+    List<DictionaryMatcher.Match<Seniority>> matches = ALIAS_MATCHER.findAll(document.text());
+    int titleEnd = titleBlockEnd(document);
+    SeniorityResult fromTitle =
+        bestMatch(matches.stream().filter(match -> match.end() <= titleEnd).toList(), "title");
     if (fromTitle.seniority() != Seniority.UNKNOWN) {
       return fromTitle;
     }
 
-    SeniorityResult fromBody = matchLines(List.of(normalizedText), "body");
+    SeniorityResult fromBody = bestMatch(matches, "body");
     if (fromBody.seniority() != Seniority.UNKNOWN) {
       return fromBody;
     }
@@ -67,36 +69,36 @@ public class SeniorityExtractor implements PipelineStage {
     return new SeniorityResult(Seniority.UNKNOWN, "no seniority match");
   }
 
-  private SeniorityResult matchLines(List<String> lines, String source) {
-    for (Map.Entry<Seniority, List<Pattern>> entry : PATTERNS.entrySet()) {
-      for (String line : lines) {
-        for (Pattern pattern : entry.getValue()) {
-          if (pattern.matcher(line).find()) {
-            return new SeniorityResult(
-                entry.getKey(), "matched '" + pattern.pattern() + "' in " + source);
-          }
-        }
+  private SeniorityResult bestMatch(
+      List<DictionaryMatcher.Match<Seniority>> matches, String source) {
+    DictionaryMatcher.Match<Seniority> best = null;
+    for (DictionaryMatcher.Match<Seniority> match : matches) {
+      if (best == null || match.value().precedence() < best.value().precedence()) {
+        best = match;
       }
     }
-    return new SeniorityResult(Seniority.UNKNOWN, "no match in " + source);
+    if (best == null) {
+      return new SeniorityResult(Seniority.UNKNOWN, "no match in " + source);
+    }
+    return new SeniorityResult(best.value(), "matched '" + best.phrase() + "' in " + source);
   }
 
-  private List<String> collectTitleLines(String normalizedText) {
-    List<String> lines = new ArrayList<>();
-    String[] all = normalizedText.split("\n", -1);
-    for (String line : all) {
-      String trimmed = line.trim();
-      if (trimmed.isEmpty()) {
-        if (!lines.isEmpty()) {
+  /** End offset of the first three non-empty lines before the first blank line. */
+  private int titleBlockEnd(TextDocument document) {
+    int titleLines = 0;
+    int titleEnd = 0;
+    for (TextSpan line : document.lines()) {
+      if (line.isBlank()) {
+        if (titleLines > 0) {
           break;
         }
         continue;
       }
-      lines.add(trimmed);
-      if (lines.size() >= 3) {
+      titleEnd = line.end();
+      if (++titleLines >= 3) {
         break;
       }
     }
-    return lines.isEmpty() ? List.of(normalizedText) : lines;
+    return titleEnd;
   }
 }
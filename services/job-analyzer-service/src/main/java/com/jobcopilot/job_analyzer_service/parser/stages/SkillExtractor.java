@@ -1,25 +1,19 @@
 package com.jobcopilot.job_analyzer_service.parser.stages;
 
 import com.jobcopilot.job_analyzer_service.parser.dictionary.BlockLabel;
-import com.jobcopilot.job_analyzer_service.parser.dictionary.Domain;
 import com.jobcopilot.job_analyzer_service.parser.dictionary.Skill;
 import com.jobcopilot.job_analyzer_service.parser.model.LabeledLine;
 import com.jobcopilot.job_analyzer_service.parser.model.SkillExtractionResult;
-import com.jobcopilot.job_analyzer_service.parser.model.output.DomainOutput;
-import com.jobcopilot.job_analyzer_service.parser.model.output.SeniorityOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.output.LabeledLinesOutput;
 import com.jobcopilot.job_analyzer_service.parser.model.output.SkillExtractedOutput;
+import com.jobcopilot.parser.matcher.DictionaryMatcher;
+import com.jobcopilot.parser.model.document.TextSpan;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.regex.Pattern;
 
 public class SkillExtractor implements PipelineStage {
   private static final List<String> REQUIRED_CUES =
@@ -33,72 +27,35 @@ public class SkillExtractor implements PipelineStage {
   private static final List<String> PREFERRED_CUES =
       List.of("nice to have", "preferred", "bonus", "plus", "good to have", "would be a plus");
 
-  private static final Map<String, String> ALIAS_TO_CANONICAL = buildAliasToCanonical();
-  private static final Map<String, Pattern> ALIAS_PATTERNS = buildAliasPatterns();
+  private static final DictionaryMatcher<Skill> SKILL_MATCHER = buildSkillMatcher();
 
-  private static Map<String, Pattern> buildAliasPatterns() {
-    Map<String, Pattern> patterns = new LinkedHashMap<>();
-    List<String> aliases = new ArrayList<>(ALIAS_TO_CANONICAL.keySet());
-    aliases.sort(Comparator.comparingInt(String::length).reversed());
-    for (String alias : aliases) {
-      patterns.put(alias, Pattern.compile(buildAliasRegex(alias), Pattern.CASE_INSENSITIVE));
-    }
-    return patterns;
-  }
-
-  private static Map<String, String> buildAliasToCanonical() {
-    Map<String, String> map = new LinkedHashMap<>();
+  private static DictionaryMatcher<Skill> buildSkillMatcher() {
+    DictionaryMatcher.Builder<Skill> builder = DictionaryMatcher.builder();
     for (Skill skill : Skill.values()) {
-      for (String alias : skill.aliases()) {
-        map.put(alias, skill.name());
-      }
-    }
-    return map;
-  }
-
-  private static String buildAliasRegex(String alias) {
-    String[] parts = alias.split("\\s+");
-    if (parts.length == 1) {
-      return "\\b" + Pattern.quote(alias) + "\\b";
-    }
-    StringBuilder builder = new StringBuilder();
-    builder.append("\\b");
-    for (int i = 0; i < parts.length; i++) {
-      if (i > 0) {
-        builder.append("\\s+");
-      }
-      builder.append(Pattern.quote(parts[i]));
+      builder.addAll(skill.aliases(), skill);
     }
-    builder.append("\\b");
-    return builder.toString();
+    return builder.build();
   }
 
   @Override
   public StageOutput process(StageInput input) {
-    if (!(input
-        instanceof
-        DomainOutput(
-            String rawText,
-            String normalizedText,
-            List<LabeledLine> labeledLines,
-            SeniorityOutput seniorityOutput,
-            Domain domain,
-            String reason))) {
-      throw new IllegalArgumentException("Expected DomainOutput");
+    if (!(input instanceof LabeledLinesOutput labeledLinesOutput)) {
+      throw new IllegalArgumentException("Expected LabeledLinesOutput");
     }
 
-    SkillExtractionResult skills = extract(labeledLines);
+    SkillExtractionResult skills = extract(labeledLinesOutput.labeledLines());
     return new SkillExtractedOutput(
-        rawText,
-        normalizedText,
-        labeledLines,
-        seniorityOutput.seniority(),
-        seniorityOutput.reason(),
-        domain,
-        reason,
-        skills.requiredSkills(),
-        skills.preferredSkills(),
-        skills.techStack());
+        skills.requiredSkills(), skills.preferredSkills(), skills.techStack());
+  }
+
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(LabeledLinesOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return SkillExtractedOutput.class;
   }
 
   public SkillExtractionResult extract(List<LabeledLine> labeledLines) {
@@ -107,7 +64,7 @@ public class SkillExtractor implements PipelineStage {
     Set<String> techStack = new TreeSet<>();
 
     for (LabeledLine labeledLine : labeledLines) {
-      String line = labeledLine.lineText();
+      TextSpan line = labeledLine.lineText();
       if (line == null || line.isBlank()) {
         continue;
       }
@@ -132,7 +89,7 @@ public class SkillExtractor implements PipelineStage {
   }
 
   private Bucket classifyLine(LabeledLine labeledLine) {
-    String line = labeledLine.lineText().toLowerCase(Locale.ROOT);
+    TextSpan line = labeledLine.lineText().lowerCase();
     if (containsCue(line, REQUIRED_CUES)) {
       return Bucket.REQUIRED;
     }
@@ -151,7 +108,7 @@ public class SkillExtractor implements PipelineStage {
     return Bucket.TECH_STACK;
   }
 
-  private boolean containsCue(String line, List<String> cues) {
+  private boolean containsCue(TextSpan line, List<String> cues) {
     for (String cue : cues) {
       if (line.contains(cue)) {
         return true;
@@ -160,13 +117,9 @@ public class SkillExtractor implements PipelineStage {
     return false;
   }
 
-  private Set<String> findSkills(String line) {
+  private Set<String> findSkills(TextSpan line) {
     Set<String> matches = new TreeSet<>();
-    for (Map.Entry<String, Pattern> entry : ALIAS_PATTERNS.entrySet()) {
-      if (entry.getValue().matcher(line).find()) {
-        matches.add(ALIAS_TO_CANONICAL.get(entry.getKey()));
-      }
-    }
+    SKILL_MATCHER.scan(line, match -> matches.add(match.value().name()));
     if (matches.contains("SPRING_BOOT")) {
       matches.remove("SPRING");
     }
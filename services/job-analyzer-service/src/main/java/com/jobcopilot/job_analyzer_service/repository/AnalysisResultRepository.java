@@ -0,0 +1,6 @@
+package com.jobcopilot.job_analyzer_service.repository;
+
+import com.jobcopilot.job_analyzer_service.entity.AnalysisResult;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface AnalysisResultRepository extends MongoRepository<AnalysisResult, String> {}
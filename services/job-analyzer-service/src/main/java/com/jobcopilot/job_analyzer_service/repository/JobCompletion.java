@@ -0,0 +1,43 @@
+package com.jobcopilot.job_analyzer_service.repository;
+
+import com.jobcopilot.job_analyzer_service.entity.values.Error;
+import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import java.time.Instant;
+
+/**
+ * The outcome of one analysis, to be written if {@code lockedBy} still holds the job. A {@code
+ * PENDING} outcome is a retry, due again at {@code nextRunAt}.
+ */
+public record JobCompletion(
+    String jobId,
+    String lockedBy,
+    AnalysisStatus status,
+    Instant now,
+    String normalizedText,
+    Extracted extracted,
+    Error error,
+    Instant nextRunAt) {
+
+  public static JobCompletion completed(
+      String jobId, String lockedBy, Instant now, String normalizedText, Extracted extracted) {
+    return new JobCompletion(
+        jobId, lockedBy, AnalysisStatus.COMPLETED, now, normalizedText, extracted, null, null);
+  }
+
+  public static JobCompletion failed(String jobId, String lockedBy, Instant now, Error error) {
+    return new JobCompletion(jobId, lockedBy, AnalysisStatus.FAILED, now, null, null, error, null);
+  }
+
+  public static JobCompletion retry(
+      String jobId, String lockedBy, Instant now, Error error, Instant nextRunAt) {
+    return new JobCompletion(
+        jobId, lockedBy, AnalysisStatus.PENDING, now, null, null, error, nextRunAt);
+  }
+
+  public static JobCompletion deadLettered(
+      String jobId, String lockedBy, Instant now, Error error) {
+    return new JobCompletion(
+        jobId, lockedBy, AnalysisStatus.DEAD_LETTER, now, null, null, error, null);
+  }
+}
@@ -0,0 +1,7 @@
+package com.jobcopilot.job_analyzer_service.repository;
+
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface JobQueueRepository
+    extends MongoRepository<JobQueueEntry, String>, JobQueueRepositoryCustom {}
@@ -0,0 +1,59 @@
+package com.jobcopilot.job_analyzer_service.repository;
+
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface JobQueueRepositoryCustom {
+  Optional<JobQueueEntry> acquirePendingJob(
+      String pollerId, Instant now, Instant lockExpiry, int maxAttempts);
+
+  /** Claims up to {@code limit} pending jobs for {@code pollerId}, most urgent first. */
+  List<JobQueueEntry> acquirePendingJobs(
+      String pollerId, Instant now, Instant lockExpiry, int maxAttempts, int limit);
+
+  /**
+   * Up to {@code maxUsers} users with pending jobs due by {@code now}, those waiting longest first,
+   * each with the ids of up to {@code jobsPerUser} of their next jobs, in one query.
+   */
+  List<PendingUser> findPendingUsers(Instant now, int jobsPerUser, int maxUsers);
+
+  /** Ids of the oldest jobs whose lock expired before {@code lockExpiry}. */
+  List<String> findExpiredLockJobIds(Instant lockExpiry, int maxAttempts, int limit);
+
+  /** Claims those of {@code jobIds} that are still claimable and returns them. */
+  List<JobQueueEntry> claimJobs(
+      String pollerId, Collection<String> jobIds, Instant now, Instant lockExpiry, int maxAttempts);
+
+  /** Extends the locks {@code lockedBy} still holds on {@code jobIds}; returns how many it held. */
+  long renewLocks(String lockedBy, Collection<String> jobIds, Instant now);
+
+  /** Ids of the jobs whose lock expired during their last allowed attempt. */
+  List<String> findAbandonedJobIds(Instant lockExpiry, int maxAttempts);
+
+  /** Removes those of {@code jobIds} that are still abandoned; returns how many. */
+  long removeAbandoned(Collection<String> jobIds, Instant lockExpiry, int maxAttempts);
+
+  /**
+   * Removes the entries of finished jobs and puts retried ones back in the queue, each only if its
+   * worker still holds it, in one unordered batch.
+   */
+  void release(List<JobCompletion> completions);
+
+  /**
+   * Puts the entries {@code lockedBy} still holds on {@code jobIds} back in the queue as they were
+   * before their claim, taking back the attempt it counted; returns how many.
+   */
+  long unclaim(String lockedBy, Collection<String> jobIds);
+
+  /** Removes the entries {@code lockedBy} still holds on {@code jobIds}; returns how many. */
+  long removeHeld(String lockedBy, Collection<String> jobIds);
+
+  /** Inserts those of {@code entries} whose job has none yet; returns how many. */
+  long insertMissing(Collection<JobQueueEntry> entries);
+
+  /** Size of the queue per status, in one pass over the entries. */
+  List<QueueBacklog> findBacklog();
+}
@@ -0,0 +1,369 @@
+package com.jobcopilot.job_analyzer_service.repository;
+
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class JobQueueRepositoryImpl implements JobQueueRepositoryCustom {
+  /** Order of the pending indexes: higher priority first, then the longest due. */
+  private static final Sort READY_ORDER =
+      Sort.by(Sort.Direction.DESC, "priority").and(Sort.by(Sort.Direction.ASC, "nextRunAt"));
+
+  private final ObjectProvider<MongoOperations> mongoOperationsProvider;
+
+  public JobQueueRepositoryImpl(ObjectProvider<MongoOperations> mongoOperationsProvider) {
+    this.mongoOperationsProvider = mongoOperationsProvider;
+  }
+
+  @Override
+  public Optional<JobQueueEntry> acquirePendingJob(
+      String pollerId, Instant now, Instant lockExpiry, int maxAttempts) {
+    MongoOperations mongoOperations = mongoOperationsProvider.getObject();
+    // Two queries rather than one $or, so each is a range scan of its own index in index order.
+    // Jobs whose lock expired were claimed before and go first.
+    for (Query query :
+        List.of(
+            new Query(expiredLock(lockExpiry, maxAttempts))
+                .with(Sort.by(Sort.Direction.ASC, "lockedAt")),
+            new Query(ready(now)).with(READY_ORDER))) {
+      JobQueueEntry entry =
+          mongoOperations.findAndModify(
+              query,
+              claim(pollerId, now),
+              FindAndModifyOptions.options().returnNew(true),
+              JobQueueEntry.class);
+      if (entry != null) {
+        return Optional.of(entry);
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public List<JobQueueEntry> acquirePendingJobs(
+      String pollerId, Instant now, Instant lockExpiry, int maxAttempts, int limit) {
+    if (limit < 1) {
+      return List.of();
+    }
+    List<String> candidates =
+        new ArrayList<>(findExpiredLockJobIds(lockExpiry, maxAttempts, limit));
+    if (candidates.size() < limit) {
+      candidates.addAll(
+          findIds(new Query(ready(now)).with(READY_ORDER).limit(limit - candidates.size())));
+    }
+    return claimJobs(pollerId, candidates, now, lockExpiry, maxAttempts);
+  }
+
+  @Override
+  public List<PendingUser> findPendingUsers(Instant now, int jobsPerUser, int maxUsers) {
+    if (jobsPerUser < 1 || maxUsers < 1) {
+      return List.of();
+    }
+    MongoOperations mongoOperations = mongoOperationsProvider.getObject();
+    // Sorted like the pending userId index and grouped with $first only, so the server finds the
+    // users with a distinct scan: one index seek per user, however deep their backlog. Each user's
+    // next jobs are then a bounded range scan of the same index.
+    Aggregation aggregation =
+        Aggregation.newAggregation(
+            Aggregation.match(ready(now)),
+            Aggregation.sort(Sort.by(Sort.Direction.ASC, "userId").and(READY_ORDER)),
+            Aggregation.group("userId").first("nextRunAt").as("oldestReadyAt"),
+            Aggregation.sort(Sort.Direction.ASC, "oldestReadyAt"),
+            Aggregation.limit(maxUsers),
+            nextJobsOfUser(
+                mongoOperations.getCollectionName(JobQueueEntry.class), now, jobsPerUser));
+    List<PendingUser> users = new ArrayList<>();
+    for (Document result :
+        mongoOperations
+            .aggregate(aggregation, JobQueueEntry.class, Document.class)
+            .getMappedResults()) {
+      Date oldest = result.getDate("oldestReadyAt");
+      List<String> jobIds =
+          result.getList("jobs", Document.class).stream().map(job -> job.getString("_id")).toList();
+      users.add(
+          new PendingUser(
+              result.getString("_id"), oldest == null ? null : oldest.toInstant(), jobIds));
+    }
+    return users;
+  }
+
+  @Override
+  public List<String> findExpiredLockJobIds(Instant lockExpiry, int maxAttempts, int limit) {
+    if (limit < 1) {
+      return List.of();
+    }
+    Query query =
+        new Query(expiredLock(lockExpiry, maxAttempts))
+            .with(Sort.by(Sort.Direction.ASC, "lockedAt"))
+            .limit(limit);
+    return findIds(query);
+  }
+
+  @Override
+  public List<JobQueueEntry> claimJobs(
+      String pollerId,
+      Collection<String> jobIds,
+      Instant now,
+      Instant lockExpiry,
+      int maxAttempts) {
+    if (jobIds.isEmpty()) {
+      return List.of();
+    }
+    MongoOperations mongoOperations = mongoOperationsProvider.getObject();
+    // The claim re-checks the criteria, so jobs another poller took since the find are skipped.
+    // Mongo keeps milliseconds, so the claim time is truncated to read the batch back by it.
+    Instant claimedAt = now.truncatedTo(ChronoUnit.MILLIS);
+    mongoOperations.updateMulti(
+        new Query(
+            new Criteria()
+                .andOperator(
+                    Criteria.where("_id").in(jobIds), claimable(now, lockExpiry, maxAttempts))),
+        claim(pollerId, claimedAt),
+        JobQueueEntry.class);
+    Query claimed =
+        new Query(
+                Criteria.where("_id")
+                    .in(jobIds)
+                    .and("status")
+                    .is(AnalysisStatus.PROCESSING)
+                    .and("lockedBy")
+                    .is(pollerId)
+                    .and("lockedAt")
+                    .is(claimedAt))
+            .with(READY_ORDER);
+    return mongoOperations.find(claimed, JobQueueEntry.class);
+  }
+
+  @Override
+  public long renewLocks(String lockedBy, Collection<String> jobIds, Instant now) {
+    if (jobIds.isEmpty()) {
+      return 0;
+    }
+    MongoOperations mongoOperations = mongoOperationsProvider.getObject();
+    Query query = new Query(held(lockedBy).and("_id").in(jobIds));
+    Update update = new Update().set("lockedAt", now);
+    return mongoOperations.updateMulti(query, update, JobQueueEntry.class).getMatchedCount();
+  }
+
+  @Override
+  public List<String> findAbandonedJobIds(Instant lockExpiry, int maxAttempts) {
+    return findIds(new Query(abandoned(lockExpiry, maxAttempts)));
+  }
+
+  @Override
+  public long removeAbandoned(Collection<String> jobIds, Instant lockExpiry, int maxAttempts) {
+    if (jobIds.isEmpty()) {
+      return 0;
+    }
+    return mongoOperationsProvider
+        .getObject()
+        .remove(
+            new Query(abandoned(lockExpiry, maxAttempts).and("_id").in(jobIds)),
+            JobQueueEntry.class)
+        .getDeletedCount();
+  }
+
+  @Override
+  public void release(List<JobCompletion> completions) {
+    if (completions.isEmpty()) {
+      return;
+    }
+    MongoOperations mongoOperations = mongoOperationsProvider.getObject();
+    if (completions.size() == 1) {
+      JobCompletion completion = completions.getFirst();
+      Query query = new Query(held(completion.lockedBy()).and("_id").is(completion.jobId()));
+      if (completion.status() == AnalysisStatus.PENDING) {
+        mongoOperations.updateFirst(query, requeue(completion), JobQueueEntry.class);
+      } else {
+        mongoOperations.remove(query, JobQueueEntry.class);
+      }
+      return;
+    }
+    BulkOperations bulk =
+        mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, JobQueueEntry.class);
+    for (JobCompletion completion : completions) {
+      Query query = new Query(held(completion.lockedBy()).and("_id").is(completion.jobId()));
+      if (completion.status() == AnalysisStatus.PENDING) {
+        bulk.updateOne(query, requeue(completion));
+      } else {
+        bulk.remove(query);
+      }
+    }
+    bulk.execute();
+  }
+
+  @Override
+  public long unclaim(String lockedBy, Collection<String> jobIds) {
+    if (jobIds.isEmpty()) {
+      return 0;
+    }
+    Update update =
+        new Update()
+            .set("status", AnalysisStatus.PENDING)
+            .set("lockedBy", null)
+            .set("lockedAt", null)
+            .inc("attempt", -1);
+    return mongoOperationsProvider
+        .getObject()
+        .updateMulti(new Query(held(lockedBy).and("_id").in(jobIds)), update, JobQueueEntry.class)
+        .getModifiedCount();
+  }
+
+  @Override
+  public long removeHeld(String lockedBy, Collection<String> jobIds) {
+    if (jobIds.isEmpty()) {
+      return 0;
+    }
+    return mongoOperationsProvider
+        .getObject()
+        .remove(new Query(held(lockedBy).and("_id").in(jobIds)), JobQueueEntry.class)
+        .getDeletedCount();
+  }
+
+  @Override
+  public long insertMissing(Collection<JobQueueEntry> entries) {
+    if (entries.isEmpty()) {
+      return 0;
+    }
+    BulkOperations bulk =
+        mongoOperationsProvider
+            .getObject()
+            .bulkOps(BulkOperations.BulkMode.UNORDERED, JobQueueEntry.class);
+    for (JobQueueEntry entry : entries) {
+      // Only set on insert, so an entry that exists, however it has moved on, is left alone.
+      bulk.upsert(
+          new Query(Criteria.where("_id").is(entry.getId())),
+          new Update()
+              .setOnInsert("userId", entry.getUserId())
+              .setOnInsert("status", entry.getStatus())
+              .setOnInsert("priority", entry.getPriority())
+              .setOnInsert("attempt", entry.getAttempt())
+              .setOnInsert("nextRunAt", entry.getNextRunAt())
+              .setOnInsert("lockedBy", entry.getLockedBy())
+              .setOnInsert("lockedAt", entry.getLockedAt()));
+    }
+    return bulk.execute().getUpserts().size();
+  }
+
+  @Override
+  public List<QueueBacklog> findBacklog() {
+    Aggregation aggregation =
+        Aggregation.newAggregation(
+            Aggregation.group("status")
+                .count()
+                .as("count")
+                .min("nextRunAt")
+                .as("earliestNextRunAt"));
+    List<QueueBacklog> backlog = new ArrayList<>();
+    for (Document result :
+        mongoOperationsProvider
+            .getObject()
+            .aggregate(aggregation, JobQueueEntry.class, Document.class)
+            .getMappedResults()) {
+      Date earliest = result.getDate("earliestNextRunAt");
+      backlog.add(
+          new QueueBacklog(
+              AnalysisStatus.valueOf(result.getString("_id")),
+              result.get("count", Number.class).longValue(),
+              earliest == null ? null : earliest.toInstant()));
+    }
+    return backlog;
+  }
+
+  /** Looks up the ids of the next {@code limit} ready jobs of each grouped user as {@code jobs}. */
+  private static AggregationOperation nextJobsOfUser(String collection, Instant now, int limit) {
+    List<Document> pipeline =
+        List.of(
+            new Document(
+                "$match",
+                new Document("status", AnalysisStatus.PENDING.name())
+                    .append("nextRunAt", new Document("$lte", Date.from(now)))),
+            new Document("$sort", new Document("priority", -1).append("nextRunAt", 1)),
+            new Document("$limit", limit),
+            new Document("$project", new Document("_id", 1)));
+    return context ->
+        new Document(
+            "$lookup",
+            new Document("from", collection)
+                .append("localField", "_id")
+                .append("foreignField", "userId")
+                .append("pipeline", pipeline)
+                .append("as", "jobs"));
+  }
+
+  private List<String> findIds(Query query) {
+    query.fields().include("_id");
+    return mongoOperationsProvider.getObject().find(query, JobQueueEntry.class).stream()
+        .map(JobQueueEntry::getId)
+        .toList();
+  }
+
+  private static Criteria claimable(Instant now, Instant lockExpiry, int maxAttempts) {
+    return new Criteria().orOperator(ready(now), expiredLock(lockExpiry, maxAttempts));
+  }
+
+  /**
+   * Pending jobs due by {@code now}. Retried jobs are pending with their run time pushed out, and
+   * jobs out of attempts are dead-lettered instead, so the attempt count needs no check.
+   */
+  private static Criteria ready(Instant now) {
+    return Criteria.where("status").is(AnalysisStatus.PENDING).and("nextRunAt").lte(now);
+  }
+
+  private static Criteria expiredLock(Instant lockExpiry, int maxAttempts) {
+    return Criteria.where("status")
+        .is(AnalysisStatus.PROCESSING)
+        .and("lockedAt")
+        .lte(lockExpiry)
+        .and("attempt")
+        .lt(maxAttempts);
+  }
+
+  private static Criteria abandoned(Instant lockExpiry, int maxAttempts) {
+    return Criteria.where("status")
+        .is(AnalysisStatus.PROCESSING)
+        .and("lockedAt")
+        .lte(lockExpiry)
+        .and("attempt")
+        .gte(maxAttempts);
+  }
+
+  private static Criteria held(String lockedBy) {
+    return Criteria.where("status").is(AnalysisStatus.PROCESSING).and("lockedBy").is(lockedBy);
+  }
+
+  private static Update claim(String pollerId, Instant now) {
+    return new Update()
+        .set("status", AnalysisStatus.PROCESSING)
+        .set("lockedBy", pollerId)
+        .set("lockedAt", now)
+        .inc("attempt", 1);
+  }
+
+  private static Update requeue(JobCompletion completion) {
+    return new Update()
+        .set("status", AnalysisStatus.PENDING)
+        .set("nextRunAt", completion.nextRunAt())
+        .set("lockedBy", null)
+        .set("lockedAt", null);
+  }
+}
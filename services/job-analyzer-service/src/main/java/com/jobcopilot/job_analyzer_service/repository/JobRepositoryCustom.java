@@ -3,15 +3,49 @@ package com.jobcopilot.job_analyzer_service.repository;
 import com.jobcopilot.job_analyzer_service.entity.Job;
 import com.jobcopilot.job_analyzer_service.entity.values.Error;
 import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface JobRepositoryCustom {
-  Optional<Job> acquirePendingJob(
-      String pollerId, Instant now, Instant lockExpiry, int maxAttempts);
+  /**
+   * Starts the attempt {@code lockedBy} claimed: marks the job processing under that lock and
+   * returns it. Empty if the job is gone or already finished.
+   */
+  Optional<Job> startJob(String jobId, String lockedBy, int attempt, Instant now);
 
-  void markCompletedWithExtracted(
+  /** Dead-letters those of {@code jobIds} that are not finished yet; returns how many. */
+  long deadLetterJobs(Collection<String> jobIds, Instant now);
+
+  /** Returns whether {@code lockedBy} still held the job, that is whether it was completed. */
+  boolean markCompletedWithExtracted(
       String jobId, String lockedBy, Instant now, String normalizedText, Extracted extracted);
 
-  void markFailed(String jobId, String lockedBy, Instant now, Error error);
+  /** Returns whether {@code lockedBy} still held the job, that is whether it was failed. */
+  boolean markFailed(String jobId, String lockedBy, Instant now, Error error);
+
+  /**
+   * Writes {@code completions} in one unordered batch, each only if its worker still holds the job.
+   * Returns, in the same order, whether each was written.
+   */
+  List<Boolean> markFinished(List<JobCompletion> completions);
+
+  /** The job of {@code userId} with its analysis and result, without the job description. */
+  Optional<Job> findAnalysisResult(String jobId, String userId);
+
+  /** Those of {@code jobIds} that are finished, see {@link AnalysisStatus#isFinished()}. */
+  List<String> findFinishedJobIds(Collection<String> jobIds);
+
+  /**
+   * Up to {@code limit} pending or processing jobs, in id order after {@code afterId} if given,
+   * with only their dispatch state.
+   */
+  List<Job> findUnfinishedJobs(String afterId, int limit);
+
+  Set<String> findIndexNames();
+
+  void dropIndex(String name);
 }
@@ -4,12 +4,24 @@ import com.jobcopilot.job_analyzer_service.entity.Job;
 import com.jobcopilot.job_analyzer_service.entity.values.Error;
 import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
 import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.enums.ErrorCode;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.IndexInfo;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
@@ -24,86 +36,221 @@ public class JobRepositoryImpl implements JobRepositoryCustom {
   }
 
   @Override
-  public Optional<Job> acquirePendingJob(
-      String pollerId, Instant now, Instant lockExpiry, int maxAttempts) {
-    MongoOperations mongoOperations = mongoOperationsProvider.getObject();
-    Criteria attemptOk =
-        new Criteria()
-            .orOperator(
-                Criteria.where("analysis.attempt").lt(maxAttempts),
-                Criteria.where("analysis.attempt").exists(false));
-    Criteria pending =
-        new Criteria()
-            .andOperator(Criteria.where("analysis.status").is(AnalysisStatus.PENDING), attemptOk);
-    Criteria expiredLock =
-        new Criteria()
-            .andOperator(
-                Criteria.where("analysis.status").is(AnalysisStatus.PROCESSING),
-                Criteria.where("analysis.lockedAt").lte(lockExpiry),
-                attemptOk);
+  public Optional<Job> startJob(String jobId, String lockedBy, int attempt, Instant now) {
+    // An expired lock hands the job to the new claimer; the former holder can no longer finish it.
     Query query =
-        new Query(new Criteria().orOperator(pending, expiredLock))
-            .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+        new Query(
+            Criteria.where("_id")
+                .is(jobId)
+                .and("analysis.status")
+                .in(AnalysisStatus.PENDING, AnalysisStatus.PROCESSING));
     Update update =
         new Update()
             .set("analysis.status", AnalysisStatus.PROCESSING)
-            .set("analysis.lockedBy", pollerId)
+            .set("analysis.attempt", attempt)
+            .set("analysis.lockedBy", lockedBy)
             .set("analysis.lockedAt", now)
             .set("analysis.startedAt", now)
-            .inc("analysis.attempt", 1)
             .set("updatedAt", now);
-    Job job =
-        mongoOperations.findAndModify(
-            query, update, FindAndModifyOptions.options().returnNew(true), Job.class);
-    return Optional.ofNullable(job);
+    return Optional.ofNullable(
+        mongoOperationsProvider
+            .getObject()
+            .findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), Job.class));
   }
 
   @Override
-  public void markCompletedWithExtracted(
-      String jobId, String lockedBy, Instant now, String normalizedText, Extracted extracted) {
-    MongoOperations mongoOperations = mongoOperationsProvider.getObject();
+  public long deadLetterJobs(Collection<String> jobIds, Instant now) {
+    if (jobIds.isEmpty()) {
+      return 0;
+    }
     Query query =
         new Query(
             Criteria.where("_id")
-                .is(jobId)
+                .in(jobIds)
                 .and("analysis.status")
-                .is(AnalysisStatus.PROCESSING)
-                .and("analysis.lockedBy")
-                .is(lockedBy));
-    Update update =
-        new Update()
-            .set("input.normalizedText", normalizedText)
-            .set("extracted", extracted)
-            .set("analysis.status", AnalysisStatus.COMPLETED)
-            .set("analysis.completedAt", now)
-            .set("analysis.failedAt", null)
-            .set("analysis.error", null)
-            .set("analysis.lockedBy", null)
-            .set("analysis.lockedAt", null)
-            .set("updatedAt", now);
-    mongoOperations.updateFirst(query, update, Job.class);
+                .in(AnalysisStatus.PENDING, AnalysisStatus.PROCESSING));
+    Error error =
+        new Error(
+            ErrorCode.UNKNOWN,
+            "Lock expired during the last allowed attempt",
+            "Job analysis did not finish",
+            false);
+    return mongoOperationsProvider
+        .getObject()
+        .updateMulti(query, failed(AnalysisStatus.DEAD_LETTER, now, error), Job.class)
+        .getModifiedCount();
+  }
+
+  private List<String> findIds(Query query) {
+    query.fields().include("_id");
+    return mongoOperationsProvider.getObject().find(query, Job.class).stream()
+        .map(Job::getId)
+        .toList();
   }
 
   @Override
-  public void markFailed(String jobId, String lockedBy, Instant now, Error error) {
+  public boolean markCompletedWithExtracted(
+      String jobId, String lockedBy, Instant now, String normalizedText, Extracted extracted) {
+    return mongoOperationsProvider
+            .getObject()
+            .updateFirst(
+                lockHeld(jobId, lockedBy), completed(now, normalizedText, extracted), Job.class)
+            .getModifiedCount()
+        > 0;
+  }
+
+  @Override
+  public boolean markFailed(String jobId, String lockedBy, Instant now, Error error) {
+    return mongoOperationsProvider
+            .getObject()
+            .updateFirst(
+                lockHeld(jobId, lockedBy), failed(AnalysisStatus.FAILED, now, error), Job.class)
+            .getModifiedCount()
+        > 0;
+  }
+
+  @Override
+  public List<Boolean> markFinished(List<JobCompletion> completions) {
+    if (completions.isEmpty()) {
+      return List.of();
+    }
+    if (completions.size() == 1) {
+      JobCompletion completion = completions.getFirst();
+      return List.of(
+          mongoOperationsProvider
+                  .getObject()
+                  .updateFirst(
+                      lockHeld(completion.jobId(), completion.lockedBy()),
+                      finish(completion, completion.now()),
+                      Job.class)
+                  .getModifiedCount()
+              > 0);
+    }
     MongoOperations mongoOperations = mongoOperationsProvider.getObject();
-    Query query =
+    BulkOperations bulk = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+    List<Criteria> writes = new ArrayList<>();
+    for (JobCompletion completion : completions) {
+      // Mongo keeps milliseconds, so the time is truncated to read the update back by it.
+      Instant finishedAt = completion.now().truncatedTo(ChronoUnit.MILLIS);
+      bulk.updateOne(
+          lockHeld(completion.jobId(), completion.lockedBy()), finish(completion, finishedAt));
+      writes.add(
+          Criteria.where("_id")
+              .is(completion.jobId())
+              .and("analysis.status")
+              .is(completion.status())
+              .and("updatedAt")
+              .is(finishedAt));
+    }
+    int matched;
+    try {
+      matched = bulk.execute().getMatchedCount();
+    } catch (BulkOperationException e) {
+      // The batch is unordered, so the updates that did not fail were still applied.
+      matched = e.getResult().getMatchedCount();
+    }
+    if (matched == completions.size()) {
+      return Collections.nCopies(completions.size(), true);
+    }
+    // Some jobs were no longer held; the ones written are those now carrying their update's time.
+    Set<String> written = Set.copyOf(findIds(new Query(new Criteria().orOperator(writes))));
+    return completions.stream().map(completion -> written.contains(completion.jobId())).toList();
+  }
+
+  private static Query lockHeld(String jobId, String lockedBy) {
+    return new Query(
+        Criteria.where("_id")
+            .is(jobId)
+            .and("analysis.status")
+            .is(AnalysisStatus.PROCESSING)
+            .and("analysis.lockedBy")
+            .is(lockedBy));
+  }
+
+  private static Update finish(JobCompletion completion, Instant now) {
+    return switch (completion.status()) {
+      case COMPLETED -> completed(now, completion.normalizedText(), completion.extracted());
+      case PENDING -> retry(now, completion.error(), completion.nextRunAt());
+      default -> failed(completion.status(), now, completion.error());
+    };
+  }
+
+  private static Update completed(Instant now, String normalizedText, Extracted extracted) {
+    return new Update()
+        .set("input.normalizedText", normalizedText)
+        .set("extracted", extracted)
+        .set("analysis.status", AnalysisStatus.COMPLETED)
+        .set("analysis.completedAt", now)
+        .set("analysis.failedAt", null)
+        .set("analysis.error", null)
+        .set("analysis.lockedBy", null)
+        .set("analysis.lockedAt", null)
+        .set("updatedAt", now);
+  }
+
+  private static Update failed(AnalysisStatus status, Instant now, Error error) {
+    return new Update()
+        .set("analysis.status", status)
+        .set("analysis.failedAt", now)
+        .set("analysis.completedAt", null)
+        .set("analysis.error", error)
+        .set("analysis.lockedBy", null)
+        .set("analysis.lockedAt", null)
+        .set("updatedAt", now);
+  }
+
+  private static Update retry(Instant now, Error error, Instant nextRunAt) {
+    return new Update()
+        .set("analysis.status", AnalysisStatus.PENDING)
+        .set("analysis.nextRunAt", nextRunAt)
+        .set("analysis.error", error)
+        .set("analysis.lockedBy", null)
+        .set("analysis.lockedAt", null)
+        .set("updatedAt", now);
+  }
+
+  @Override
+  public Optional<Job> findAnalysisResult(String jobId, String userId) {
+    Query query = new Query(Criteria.where("_id").is(jobId).and("userId").is(userId));
+    query.fields().include("profileId", "input.submittedAt", "analysis", "extracted", "updatedAt");
+    return Optional.ofNullable(mongoOperationsProvider.getObject().findOne(query, Job.class));
+  }
+
+  @Override
+  public List<String> findFinishedJobIds(Collection<String> jobIds) {
+    return findIds(
         new Query(
             Criteria.where("_id")
-                .is(jobId)
+                .in(jobIds)
                 .and("analysis.status")
-                .is(AnalysisStatus.PROCESSING)
-                .and("analysis.lockedBy")
-                .is(lockedBy));
-    Update update =
-        new Update()
-            .set("analysis.status", AnalysisStatus.FAILED)
-            .set("analysis.failedAt", now)
-            .set("analysis.completedAt", null)
-            .set("analysis.error", error)
-            .set("analysis.lockedBy", null)
-            .set("analysis.lockedAt", null)
-            .set("updatedAt", now);
-    mongoOperations.updateFirst(query, update, Job.class);
+                .in(
+                    Arrays.stream(AnalysisStatus.values())
+                        .filter(AnalysisStatus::isFinished)
+                        .toList())));
+  }
+
+  @Override
+  public List<Job> findUnfinishedJobs(String afterId, int limit) {
+    Criteria criteria =
+        Criteria.where("analysis.status").in(AnalysisStatus.PENDING, AnalysisStatus.PROCESSING);
+    if (afterId != null) {
+      criteria = criteria.and("_id").gt(afterId);
+    }
+    Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(limit);
+    query.fields().include("userId", "analysis", "createdAt");
+    return mongoOperationsProvider.getObject().find(query, Job.class);
+  }
+
+  @Override
+  public Set<String> findIndexNames() {
+    return mongoOperationsProvider.getObject().indexOps(Job.class).getIndexInfo().stream()
+        .map(IndexInfo::getName)
+        .collect(Collectors.toSet());
+  }
+
+  @Override
+  public void dropIndex(String name) {
+    mongoOperationsProvider.getObject().indexOps(Job.class).dropIndex(name);
   }
 }
@@ -0,0 +1,7 @@
+package com.jobcopilot.job_analyzer_service.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/** A user with pending jobs due, the time their next one fell due, and their next jobs in order. */
+public record PendingUser(String userId, Instant oldestReadyAt, List<String> jobIds) {}
@@ -0,0 +1,7 @@
+package com.jobcopilot.job_analyzer_service.repository;
+
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import java.time.Instant;
+
+/** Number of queue entries in {@code status}, and the earliest time one of them fell due. */
+public record QueueBacklog(AnalysisStatus status, long count, Instant earliestNextRunAt) {}
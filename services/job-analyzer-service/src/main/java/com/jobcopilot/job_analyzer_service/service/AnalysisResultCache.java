@@ -0,0 +1,238 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import com.jobcopilot.job_analyzer_service.entity.AnalysisResult;
+import com.jobcopilot.job_analyzer_service.parser.stages.JdTextNormalizer;
+import com.jobcopilot.job_analyzer_service.repository.AnalysisResultRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Analysis results keyed by a hash of the normalized job description, so a description many users
+ * paste is analysed once per extractor version. Results live in the {@code analysis_results}
+ * collection, with the most recently used ones also kept in memory.
+ *
+ * <p>Results seen by this node are also indexed by {@link SimHashIndex}, so a repost that differs
+ * only in a location or a date line can reuse the result of the original. Set {@code
+ * analysisCache.nearDuplicateDistance} to -1 to reuse exact duplicates only.
+ */
+@Slf4j
+@Service
+public class AnalysisResultCache {
+  private final AnalysisResultRepository analysisResultRepository;
+  private final String extractorVersion;
+  private final Map<String, AnalysisResult> recent;
+  private final SimHashIndex similarResults;
+  private final Map<String, CompletableFuture<AnalysisResult>> inFlight = new ConcurrentHashMap<>();
+
+  public AnalysisResultCache(
+      AnalysisResultRepository analysisResultRepository,
+      @Value("${analysisCache.extractorVersion:1}") String extractorVersion,
+      @Value("${analysisCache.maxEntries:1000}") int maxEntries,
+      @Value("${analysisCache.nearDuplicateDistance:3}") int nearDuplicateDistance,
+      @Value("${analysisCache.nearDuplicateEntries:10000}") int nearDuplicateEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("analysisCache.maxEntries must be at least 1");
+    }
+    this.similarResults =
+        nearDuplicateDistance < 0
+            ? null
+            : new SimHashIndex(nearDuplicateDistance, nearDuplicateEntries);
+    this.analysisResultRepository = analysisResultRepository;
+    this.extractorVersion = extractorVersion;
+    this.recent =
+        Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, AnalysisResult> eldest) {
+                return size() > maxEntries;
+              }
+            });
+  }
+
+  /** {@code rawText} as the pipeline normalizes it, and its SHA-256; null without text. */
+  public Fingerprint fingerprint(String rawText) {
+    if (rawText == null) {
+      return null;
+    }
+    String normalized = JdTextNormalizer.normalize(rawText);
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return new Fingerprint(
+          HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8))),
+          normalized);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  public String contentHash(String rawText) {
+    Fingerprint fingerprint = fingerprint(rawText);
+    return fingerprint == null ? null : fingerprint.contentHash();
+  }
+
+  public Optional<AnalysisResult> find(String contentHash) {
+    return findByKey(key(contentHash));
+  }
+
+  /** The result for the exact text if there is one, else that of a near duplicate of it. */
+  public Optional<AnalysisResult> findSimilar(Fingerprint fingerprint) {
+    Optional<AnalysisResult> exact = find(fingerprint.contentHash());
+    if (exact.isPresent() || similarResults == null) {
+      return exact;
+    }
+    return similarResults.findSimilar(fingerprint.normalizedText()).flatMap(this::findByKey);
+  }
+
+  /**
+   * {@link #findSimilar} for several texts, keyed by content hash, with the exact matches missing
+   * from memory read in one query.
+   */
+  public Map<String, AnalysisResult> findAllSimilar(Collection<Fingerprint> fingerprints) {
+    Map<String, AnalysisResult> found = new HashMap<>();
+    Map<String, String> missing = new LinkedHashMap<>();
+    for (Fingerprint fingerprint : fingerprints) {
+      String key = key(fingerprint.contentHash());
+      AnalysisResult cached = recent.get(key);
+      if (cached != null) {
+        found.put(fingerprint.contentHash(), cached);
+      } else {
+        missing.put(key, fingerprint.contentHash());
+      }
+    }
+    if (!missing.isEmpty()) {
+      for (AnalysisResult stored :
+          analysisResultRepository.findAllById(List.copyOf(missing.keySet()))) {
+        remember(stored);
+        found.put(missing.get(stored.getId()), stored);
+      }
+    }
+    if (similarResults != null) {
+      for (Fingerprint fingerprint : fingerprints) {
+        if (!found.containsKey(fingerprint.contentHash())) {
+          similarResults
+              .findSimilar(fingerprint.normalizedText())
+              .flatMap(this::findByKey)
+              .ifPresent(result -> found.put(fingerprint.contentHash(), result));
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Returns the cached result for {@code contentHash}, running {@code analysis} only when there is
+   * none. Callers asking for a hash that is being analysed already wait for that run, and get its
+   * result or its exception.
+   */
+  public AnalysisResult computeIfAbsent(String contentHash, Callable<AnalysisResult> analysis)
+      throws Exception {
+    return compute(contentHash, analysis, true).orElseThrow();
+  }
+
+  /**
+   * Like {@link #computeIfAbsent}, but empty rather than waiting when {@code contentHash} is being
+   * analysed already, for callers that can leave the job to the queue instead.
+   */
+  public Optional<AnalysisResult> computeIfNotRunning(
+      String contentHash, Callable<AnalysisResult> analysis) throws Exception {
+    return compute(contentHash, analysis, false);
+  }
+
+  private Optional<AnalysisResult> compute(
+      String contentHash, Callable<AnalysisResult> analysis, boolean waitForRunning)
+      throws Exception {
+    Optional<AnalysisResult> found = find(contentHash);
+    if (found.isPresent()) {
+      return found;
+    }
+    CompletableFuture<AnalysisResult> run = new CompletableFuture<>();
+    CompletableFuture<AnalysisResult> running = inFlight.putIfAbsent(contentHash, run);
+    if (running != null) {
+      return waitForRunning ? Optional.of(await(running)) : Optional.empty();
+    }
+    try {
+      String key = key(contentHash);
+      // A run that finished between the lookup and taking over the hash left its result here.
+      AnalysisResult result = recent.get(key);
+      if (result == null) {
+        result =
+            analysis.call().toBuilder()
+                .id(key)
+                .contentHash(contentHash)
+                .extractorVersion(extractorVersion)
+                .createdAt(Instant.now())
+                .build();
+        store(result);
+      }
+      run.complete(result);
+      return Optional.of(result);
+    } catch (Exception e) {
+      run.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(contentHash, run);
+    }
+  }
+
+  private Optional<AnalysisResult> findByKey(String key) {
+    AnalysisResult cached = recent.get(key);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<AnalysisResult> stored = analysisResultRepository.findById(key);
+    stored.ifPresent(this::remember);
+    return stored;
+  }
+
+  private void remember(AnalysisResult result) {
+    recent.put(result.getId(), result);
+    if (similarResults != null && result.getNormalizedText() != null) {
+      similarResults.add(result.getId(), result.getNormalizedText());
+    }
+  }
+
+  private void store(AnalysisResult result) {
+    remember(result);
+    try {
+      analysisResultRepository.save(result);
+    } catch (DataAccessException e) {
+      // The result is still good for this job; other nodes will analyse the text themselves.
+      log.warn("Failed to store analysis result {}", result.getId(), e);
+    }
+  }
+
+  private static AnalysisResult await(CompletableFuture<AnalysisResult> running) throws Exception {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private String key(String contentHash) {
+    return extractorVersion + ":" + contentHash;
+  }
+
+  public record Fingerprint(String contentHash, String normalizedText) {}
+}
@@ -0,0 +1,56 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import com.jobcopilot.job_analyzer_service.entity.AnalysisResult;
+import com.jobcopilot.job_analyzer_service.service.AnalysisResultCache.Fingerprint;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Analyses short job descriptions on the submitting thread, so they complete in the submit call
+ * instead of waiting for a poller cycle. At most {@code inlineAnalysis.maxConcurrent} run at once;
+ * longer texts, submits beyond that, texts already being analysed elsewhere, and failed runs leave
+ * the job to the queue as before.
+ */
+@Slf4j
+@Component
+public class InlineJobAnalyzer {
+  private final JobDescriptionAnalyzer jobDescriptionAnalyzer;
+  private final AnalysisResultCache analysisResultCache;
+  private final int maxChars;
+  private final Semaphore permits;
+
+  public InlineJobAnalyzer(
+      JobDescriptionAnalyzer jobDescriptionAnalyzer,
+      AnalysisResultCache analysisResultCache,
+      @Value("${inlineAnalysis.maxChars:4000}") int maxChars,
+      @Value("${inlineAnalysis.maxConcurrent:4}") int maxConcurrent) {
+    if (maxChars < 0 || maxConcurrent < 0) {
+      throw new IllegalArgumentException(
+          "inlineAnalysis.maxChars and inlineAnalysis.maxConcurrent must not be negative");
+    }
+    this.jobDescriptionAnalyzer = jobDescriptionAnalyzer;
+    this.analysisResultCache = analysisResultCache;
+    this.maxChars = maxChars;
+    this.permits = new Semaphore(maxConcurrent);
+  }
+
+  /** The analysis of {@code rawText}, or empty when it should be queued instead. */
+  public Optional<AnalysisResult> tryAnalyse(Fingerprint fingerprint, String rawText) {
+    if (rawText.length() > maxChars || !permits.tryAcquire()) {
+      return Optional.empty();
+    }
+    try {
+      // Waiting on a run of the same text elsewhere could take up to the pipeline timeout.
+      return analysisResultCache.computeIfNotRunning(
+          fingerprint.contentHash(), () -> jobDescriptionAnalyzer.analyse(rawText));
+    } catch (Exception e) {
+      log.warn("Inline job analysis failed, queueing the job instead", e);
+      return Optional.empty();
+    } finally {
+      permits.release();
+    }
+  }
+}
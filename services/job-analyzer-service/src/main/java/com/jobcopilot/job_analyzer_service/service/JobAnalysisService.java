@@ -1,42 +1,204 @@
 package com.jobcopilot.job_analyzer_service.service;
 
+import com.jobcopilot.job_analyzer_service.entity.AnalysisResult;
 import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
 import com.jobcopilot.job_analyzer_service.entity.values.Analysis;
 import com.jobcopilot.job_analyzer_service.entity.values.Input;
 import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.exception.JobNotFoundException;
 import com.jobcopilot.job_analyzer_service.exception.ProfileOwnershipException;
+import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisBatchItem;
+import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisBatchRequest;
 import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisRequest;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisBatchItemResponse;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisBatchResponse;
 import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisResponse;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisResultResponse;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
 import com.jobcopilot.job_analyzer_service.repository.JobRepository;
+import com.jobcopilot.job_analyzer_service.service.AnalysisResultCache.Fingerprint;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 
 @Service
 public class JobAnalysisService {
   private final JobRepository jobRepository;
+  private final JobQueueRepository jobQueueRepository;
   private final ProfileOwnershipService profileOwnershipService;
+  private final AnalysisResultCache analysisResultCache;
+  private final InlineJobAnalyzer inlineJobAnalyzer;
+  private final Validator validator;
 
   public JobAnalysisService(
-      JobRepository jobRepository, ProfileOwnershipService profileOwnershipService) {
+      JobRepository jobRepository,
+      JobQueueRepository jobQueueRepository,
+      ProfileOwnershipService profileOwnershipService,
+      AnalysisResultCache analysisResultCache,
+      InlineJobAnalyzer inlineJobAnalyzer,
+      Validator validator) {
     this.jobRepository = jobRepository;
+    this.jobQueueRepository = jobQueueRepository;
     this.profileOwnershipService = profileOwnershipService;
+    this.analysisResultCache = analysisResultCache;
+    this.inlineJobAnalyzer = inlineJobAnalyzer;
+    this.validator = validator;
   }
 
   public JobAnalysisResponse submitJobAnalysis(SubmitJobAnalysisRequest request, String userId) {
     if (!profileOwnershipService.isOwnedByUser(request.profileId(), userId)) {
       throw new ProfileOwnershipException(request.profileId());
     }
-    final Job job = jobRepository.save(toJobEntity(request, userId));
+    Instant now = Instant.now();
+    Fingerprint fingerprint = analysisResultCache.fingerprint(request.text());
+    // A job description analysed before, a near duplicate of one, or a short one analysed inline
+    // completes right away instead of being queued.
+    Optional<AnalysisResult> analysed =
+        fingerprint == null
+            ? Optional.empty()
+            : analysisResultCache
+                .findSimilar(fingerprint)
+                .or(() -> inlineJobAnalyzer.tryAnalyse(fingerprint, request.text()));
+    final Job job =
+        jobRepository.save(toJobEntity(request, userId, fingerprint, analysed.orElse(null), now));
+    enqueue(List.of(job), JobQueueEntry.DEFAULT_PRIORITY);
 
     return JobAnalysisResponse.builder()
         .jobId(job.getId())
         .status(job.getAnalysis().status())
         .submittedAt(job.getInput().submittedAt())
         .profileId(request.profileId())
+        .extracted(job.getExtracted())
         .build();
   }
 
-  private Job toJobEntity(SubmitJobAnalysisRequest request, String userId) {
+  /**
+   * Submits every valid item of {@code request} with one ownership check and one insert. Items that
+   * fail validation are reported with their error and not saved.
+   */
+  public JobAnalysisBatchResponse submitJobAnalysisBatch(
+      SubmitJobAnalysisBatchRequest request, String userId) {
+    if (!profileOwnershipService.isOwnedByUser(request.profileId(), userId)) {
+      throw new ProfileOwnershipException(request.profileId());
+    }
+    Instant now = Instant.now();
+    List<JobAnalysisBatchItemResponse> items = new ArrayList<>();
+    List<SubmitJobAnalysisRequest> accepted = new ArrayList<>();
+    List<Fingerprint> fingerprints = new ArrayList<>();
+    for (int index = 0; index < request.items().size(); index++) {
+      SubmitJobAnalysisBatchItem item = request.items().get(index);
+      SubmitJobAnalysisRequest itemRequest =
+          item == null ? null : item.toRequest(request.profileId());
+      String error = validate(itemRequest);
+      items.add(JobAnalysisBatchItemResponse.builder().index(index).error(error).build());
+      if (error == null) {
+        accepted.add(itemRequest);
+        fingerprints.add(analysisResultCache.fingerprint(itemRequest.text()));
+      }
+    }
+    if (accepted.isEmpty()) {
+      return JobAnalysisBatchResponse.builder().profileId(request.profileId()).items(items).build();
+    }
+
+    Map<String, AnalysisResult> cached =
+        analysisResultCache.findAllSimilar(fingerprints.stream().filter(Objects::nonNull).toList());
+    List<Job> jobs = new ArrayList<>();
+    for (int i = 0; i < accepted.size(); i++) {
+      Fingerprint fingerprint = fingerprints.get(i);
+      AnalysisResult result = fingerprint == null ? null : cached.get(fingerprint.contentHash());
+      jobs.add(toJobEntity(accepted.get(i), userId, fingerprint, result, now));
+    }
+    List<Job> inserted = jobRepository.insert(jobs);
+    enqueue(inserted, JobQueueEntry.BATCH_PRIORITY);
+    Iterator<Job> saved = inserted.iterator();
+    for (int index = 0; index < items.size(); index++) {
+      if (items.get(index).error() == null) {
+        Job job = saved.next();
+        items.set(
+            index,
+            items.get(index).toBuilder()
+                .jobId(job.getId())
+                .status(job.getAnalysis().status())
+                .submittedAt(job.getInput().submittedAt())
+                .build());
+      }
+    }
+    return JobAnalysisBatchResponse.builder().profileId(request.profileId()).items(items).build();
+  }
+
+  /** The analysis of a job of {@code userId}; jobs of other users are reported as not found. */
+  public JobAnalysisResultResponse getJobAnalysis(String jobId, String userId) {
+    Job job =
+        jobRepository
+            .findAnalysisResult(jobId, userId)
+            .orElseThrow(() -> new JobNotFoundException(jobId));
+    Analysis analysis = job.getAnalysis();
+    return JobAnalysisResultResponse.builder()
+        .jobId(job.getId())
+        .profileId(job.getProfileId())
+        .status(analysis.status())
+        .submittedAt(job.getInput() == null ? null : job.getInput().submittedAt())
+        .completedAt(analysis.completedAt())
+        .failedAt(analysis.failedAt())
+        .error(analysis.error())
+        .extracted(job.getExtracted())
+        .updatedAt(job.getUpdatedAt())
+        .build();
+  }
+
+  /**
+   * Queues the pending ones of {@code jobs} for analysis. Jobs are saved before their entries, so a
+   * claimed entry always finds its job; if queueing fails all of {@code jobs} are deleted again,
+   * completed ones included, so a client retrying the submit does not duplicate them. Entries the
+   * {@link com.jobcopilot.job_analyzer_service.job.JobQueueBackfill} sweep inserted first are kept.
+   */
+  private void enqueue(List<Job> jobs, int priority) {
+    List<JobQueueEntry> entries =
+        jobs.stream()
+            .filter(job -> job.getAnalysis().status() == AnalysisStatus.PENDING)
+            .map(job -> JobQueueEntry.pending(job, priority))
+            .toList();
+    if (entries.isEmpty()) {
+      return;
+    }
+    try {
+      jobQueueRepository.insertMissing(entries);
+    } catch (RuntimeException e) {
+      jobRepository.deleteAllById(jobs.stream().map(Job::getId).toList());
+      throw e;
+    }
+  }
+
+  private String validate(SubmitJobAnalysisRequest request) {
+    if (request == null) {
+      return "Item must not be null.";
+    }
+    Set<ConstraintViolation<SubmitJobAnalysisRequest>> violations = validator.validate(request);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .collect(Collectors.joining(" "));
+  }
+
+  private Job toJobEntity(
+      SubmitJobAnalysisRequest request,
+      String userId,
+      Fingerprint fingerprint,
+      AnalysisResult cached,
+      Instant now) {
     return Job.builder()
         .profileId(request.profileId())
         .userId(userId)
@@ -45,9 +207,15 @@ public class JobAnalysisService {
                 .inputType(request.type())
                 .url(request.url())
                 .rawText(request.text())
-                .submittedAt(Instant.now())
+                .normalizedText(cached == null ? null : fingerprint.normalizedText())
+                .contentHash(fingerprint == null ? null : fingerprint.contentHash())
+                .submittedAt(now)
                 .build())
-        .analysis(Analysis.builder().status(AnalysisStatus.PENDING).build())
+        .analysis(
+            cached == null
+                ? Analysis.builder().status(AnalysisStatus.PENDING).nextRunAt(now).build()
+                : Analysis.builder().status(AnalysisStatus.COMPLETED).completedAt(now).build())
+        .extracted(cached == null ? null : cached.getExtracted())
         .build();
   }
 }
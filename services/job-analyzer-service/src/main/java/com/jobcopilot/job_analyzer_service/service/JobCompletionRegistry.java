@@ -0,0 +1,67 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import com.jobcopilot.job_analyzer_service.repository.JobRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the clients waiting on a job when it is completed or failed. Workers on this node report
+ * their jobs through {@link #jobFinished}. Jobs finished on another node are found by a sweep that
+ * every {@code jobEvents.sweepMs} looks the watched jobs up in one query, and only runs while some
+ * job is watched.
+ */
+@Slf4j
+@Component
+public class JobCompletionRegistry {
+  private final JobRepository jobRepository;
+  private final Map<String, Set<Runnable>> listeners = new ConcurrentHashMap<>();
+
+  public JobCompletionRegistry(JobRepository jobRepository) {
+    this.jobRepository = jobRepository;
+  }
+
+  /** Runs {@code listener} once {@code jobId} finishes; the returned handle cancels it. */
+  public Runnable subscribe(String jobId, Runnable listener) {
+    listeners.compute(
+        jobId,
+        (id, waiting) -> {
+          Set<Runnable> updated = waiting == null ? ConcurrentHashMap.newKeySet() : waiting;
+          updated.add(listener);
+          return updated;
+        });
+    return () ->
+        listeners.computeIfPresent(
+            jobId,
+            (id, waiting) -> {
+              waiting.remove(listener);
+              return waiting.isEmpty() ? null : waiting;
+            });
+  }
+
+  public void jobFinished(String jobId) {
+    Set<Runnable> waiting = listeners.remove(jobId);
+    if (waiting == null) {
+      return;
+    }
+    for (Runnable listener : waiting) {
+      try {
+        listener.run();
+      } catch (RuntimeException e) {
+        log.warn("Completion listener for job {} failed", jobId, e);
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${jobEvents.sweepMs:2000}")
+  void sweep() {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    jobRepository.findFinishedJobIds(List.copyOf(listeners.keySet())).forEach(this::jobFinished);
+  }
+}
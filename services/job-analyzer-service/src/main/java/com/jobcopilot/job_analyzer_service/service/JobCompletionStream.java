@@ -0,0 +1,77 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisResultResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams the completion of a job as one server-sent event, so clients wait on a single request
+ * instead of polling the job. The event is named {@code completed}, or {@code failed} for failed
+ * and dead-lettered jobs, carries the body of {@code GET /job/analysis/{jobId}}, and closes the
+ * stream. A stream still open after {@code jobEvents.timeoutMs} is closed without an event and the
+ * client reconnects.
+ */
+@Service
+public class JobCompletionStream {
+  private final JobAnalysisService jobAnalysisService;
+  private final JobCompletionRegistry registry;
+  private final long timeoutMs;
+
+  public JobCompletionStream(
+      JobAnalysisService jobAnalysisService,
+      JobCompletionRegistry registry,
+      @Value("${jobEvents.timeoutMs:60000}") long timeoutMs) {
+    if (timeoutMs < 1) {
+      throw new IllegalArgumentException("jobEvents.timeoutMs must be positive");
+    }
+    this.jobAnalysisService = jobAnalysisService;
+    this.registry = registry;
+    this.timeoutMs = timeoutMs;
+  }
+
+  public SseEmitter open(String jobId, String userId) {
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    AtomicBoolean sent = new AtomicBoolean();
+    // Subscribing before reading the job means a job finishing in between is not missed.
+    Runnable unsubscribe =
+        registry.subscribe(
+            jobId, () -> send(emitter, sent, jobAnalysisService.getJobAnalysis(jobId, userId)));
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(error -> unsubscribe.run());
+
+    JobAnalysisResultResponse current;
+    try {
+      current = jobAnalysisService.getJobAnalysis(jobId, userId);
+    } catch (RuntimeException e) {
+      unsubscribe.run();
+      throw e;
+    }
+    if (current.status().isFinished()) {
+      unsubscribe.run();
+      send(emitter, sent, current);
+    }
+    return emitter;
+  }
+
+  private static void send(
+      SseEmitter emitter, AtomicBoolean sent, JobAnalysisResultResponse result) {
+    if (!sent.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      emitter.send(
+          SseEmitter.event()
+              .name(result.status() == AnalysisStatus.COMPLETED ? "completed" : "failed")
+              .data(result));
+      emitter.complete();
+    } catch (IOException | IllegalStateException e) {
+      // The client went away or the stream timed out meanwhile.
+      emitter.completeWithError(e);
+    }
+  }
+}
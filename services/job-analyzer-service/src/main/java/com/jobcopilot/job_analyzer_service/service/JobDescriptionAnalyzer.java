@@ -0,0 +1,37 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import com.jobcopilot.job_analyzer_service.entity.AnalysisResult;
+import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
+import com.jobcopilot.job_analyzer_service.parser.model.output.ExtractedMetadataOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.request.JdAnalysisPipelineRequest;
+import com.jobcopilot.parser.ParsingPipeline;
+import com.jobcopilot.parser.model.request.PipelineRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/** Runs {@code jobAnalysisPipeline} over a job description, for workers and inline submits. */
+@Component
+public class JobDescriptionAnalyzer {
+  private final ObjectProvider<ParsingPipeline> jobAnalysisPipelineProvider;
+
+  public JobDescriptionAnalyzer(ObjectProvider<ParsingPipeline> jobAnalysisPipelineProvider) {
+    this.jobAnalysisPipelineProvider = jobAnalysisPipelineProvider;
+  }
+
+  public AnalysisResult analyse(String rawText) throws Exception {
+    PipelineRequest request = new JdAnalysisPipelineRequest(rawText);
+    ExtractedMetadataOutput analysisResponse =
+        (ExtractedMetadataOutput) jobAnalysisPipelineProvider.getObject().execute(request);
+    return AnalysisResult.builder()
+        .normalizedText(analysisResponse.normalizedText())
+        .extracted(
+            Extracted.builder()
+                .preferredSkills(analysisResponse.preferredSkills())
+                .requiredSkills(analysisResponse.requiredSkills())
+                .seniority(analysisResponse.seniority())
+                .domain(analysisResponse.domain())
+                .techStack(analysisResponse.techStack())
+                .build())
+        .build();
+  }
+}
@@ -3,18 +3,114 @@ package com.jobcopilot.job_analyzer_service.service;
 import com.jobcopilot.job_analyzer_service.exception.ProfileServiceException;
 import com.jobcopilot.profile_service.client.ProfileServiceClient;
 import feign.FeignException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+/**
+ * Checks profile ownership against profile-service, caching the answer per profile and user. An
+ * owned profile is cached for {@code profile-service.ownership-cache.owned-ttl-ms} and a missing
+ * one for the shorter {@code not-owned-ttl-ms}, so a profile created right after a failed check is
+ * usable soon. Concurrent checks of the same pair share one request. Failed requests are not
+ * cached.
+ */
 @Service
 public class ProfileOwnershipService {
   private final ProfileServiceClient profileServiceClient;
+  private final long ownedTtlNanos;
+  private final long notOwnedTtlNanos;
+  private final LongSupplier nanoTime;
+  private final Map<Key, Entry> answers;
+  private final Map<Key, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
 
-  public ProfileOwnershipService(ProfileServiceClient profileServiceClient) {
+  @Autowired
+  public ProfileOwnershipService(
+      ProfileServiceClient profileServiceClient,
+      @Value("${profile-service.ownership-cache.owned-ttl-ms:300000}") long ownedTtlMs,
+      @Value("${profile-service.ownership-cache.not-owned-ttl-ms:5000}") long notOwnedTtlMs,
+      @Value("${profile-service.ownership-cache.max-entries:10000}") int maxEntries) {
+    this(profileServiceClient, ownedTtlMs, notOwnedTtlMs, maxEntries, System::nanoTime);
+  }
+
+  ProfileOwnershipService(
+      ProfileServiceClient profileServiceClient,
+      long ownedTtlMs,
+      long notOwnedTtlMs,
+      int maxEntries,
+      LongSupplier nanoTime) {
+    if (ownedTtlMs < 0 || notOwnedTtlMs < 0) {
+      throw new IllegalArgumentException("Ownership cache TTLs must not be negative");
+    }
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException(
+          "profile-service.ownership-cache.max-entries must be at least 1");
+    }
     this.profileServiceClient = profileServiceClient;
+    this.ownedTtlNanos = TimeUnit.MILLISECONDS.toNanos(ownedTtlMs);
+    this.notOwnedTtlNanos = TimeUnit.MILLISECONDS.toNanos(notOwnedTtlMs);
+    this.nanoTime = nanoTime;
+    this.answers =
+        Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+              }
+            });
   }
 
   public boolean isOwnedByUser(String profileId, String userId) {
+    Key key = new Key(profileId, userId);
+    Entry cached = answers.get(key);
+    if (cached != null && nanoTime.getAsLong() - cached.expiresAtNanos() < 0) {
+      return cached.owned();
+    }
+    CompletableFuture<Boolean> check = new CompletableFuture<>();
+    CompletableFuture<Boolean> running = inFlight.putIfAbsent(key, check);
+    if (running != null) {
+      return await(running);
+    }
+    try {
+      boolean owned = fetchOwnership(profileId, userId);
+      long ttl = owned ? ownedTtlNanos : notOwnedTtlNanos;
+      synchronized (answers) {
+        // A check invalidated while it ran no longer counts as in flight; its answer may be stale.
+        if (inFlight.remove(key, check)) {
+          answers.put(key, new Entry(owned, nanoTime.getAsLong() + ttl));
+        }
+      }
+      check.complete(owned);
+      return owned;
+    } catch (RuntimeException e) {
+      check.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, check);
+    }
+  }
+
+  /**
+   * Forgets the cached answers for {@code profileId}, e.g. once the profile has been deleted.
+   * Checks still running return their answer to their callers but do not cache it, and later checks
+   * ask profile-service again.
+   */
+  public void invalidate(String profileId) {
+    synchronized (answers) {
+      answers.keySet().removeIf(key -> key.profileId().equals(profileId));
+      inFlight.keySet().removeIf(key -> key.profileId().equals(profileId));
+    }
+  }
+
+  private boolean fetchOwnership(String profileId, String userId) {
     try {
       profileServiceClient.getProfile(profileId, userId);
       return true;
@@ -25,4 +121,19 @@ public class ProfileOwnershipService {
       throw new ProfileServiceException("Failed to verify profile ownership", ex);
     }
   }
+
+  private static boolean await(CompletableFuture<Boolean> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private record Key(String profileId, String userId) {}
+
+  private record Entry(boolean owned, long expiresAtNanos) {}
 }
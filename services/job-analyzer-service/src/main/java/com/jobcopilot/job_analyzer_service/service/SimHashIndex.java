@@ -0,0 +1,173 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * In-memory index of 64-bit SimHashes over the word pairs of a text, for finding texts that differ
+ * only in a few lines such as a location or a date. The hash is split into {@code maxDistance + 1}
+ * bands, and two hashes at most {@code maxDistance} bits apart agree on at least one whole band, so
+ * a lookup only compares against entries sharing a band. Holds at most {@code maxEntries} entries,
+ * dropping the least recently used.
+ */
+public class SimHashIndex {
+  /** Texts with fewer word pairs than this hash too coarsely to compare. */
+  static final int MIN_FEATURES = 8;
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final int maxDistance;
+  private final int maxEntries;
+  private final List<Map<Long, Set<String>>> bands = new ArrayList<>();
+  private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  public SimHashIndex(int maxDistance, int maxEntries) {
+    if (maxDistance < 0 || maxDistance > 16) {
+      throw new IllegalArgumentException("maxDistance must be between 0 and 16");
+    }
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be at least 1");
+    }
+    this.maxDistance = maxDistance;
+    this.maxEntries = maxEntries;
+    for (int band = 0; band <= maxDistance; band++) {
+      bands.add(new HashMap<>());
+    }
+  }
+
+  /** Indexes {@code text} under {@code key}, replacing what the key was indexed with before. */
+  public synchronized void add(String key, String text) {
+    OptionalLong hash = simHash(text);
+    if (hash.isEmpty()) {
+      return;
+    }
+    Long previous = entries.put(key, hash.getAsLong());
+    if (previous != null) {
+      if (previous == hash.getAsLong()) {
+        return;
+      }
+      removeBands(key, previous);
+    }
+    for (int band = 0; band < bands.size(); band++) {
+      long value = bandValue(hash.getAsLong(), band);
+      bands.get(band).computeIfAbsent(value, v -> new HashSet<>()).add(key);
+    }
+    if (entries.size() > maxEntries) {
+      Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+      Map.Entry<String, Long> evicted = eldest.next();
+      eldest.remove();
+      removeBands(evicted.getKey(), evicted.getValue());
+    }
+  }
+
+  /** Key of the indexed text closest to {@code text}, if one is within {@code maxDistance} bits. */
+  public synchronized Optional<String> findSimilar(String text) {
+    OptionalLong hash = simHash(text);
+    if (hash.isEmpty()) {
+      return Optional.empty();
+    }
+    String closest = null;
+    int closestDistance = maxDistance + 1;
+    for (int band = 0; band < bands.size(); band++) {
+      Set<String> candidates = bands.get(band).get(bandValue(hash.getAsLong(), band));
+      if (candidates == null) {
+        continue;
+      }
+      for (String candidate : candidates) {
+        int distance = Long.bitCount(entries.get(candidate) ^ hash.getAsLong());
+        if (distance < closestDistance) {
+          closest = candidate;
+          closestDistance = distance;
+        }
+      }
+    }
+    if (closest != null) {
+      entries.get(closest);
+    }
+    return Optional.ofNullable(closest);
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * SimHash of the lower-cased word pairs of {@code text}, or empty when the text has fewer than
+   * {@link #MIN_FEATURES} pairs.
+   */
+  static OptionalLong simHash(String text) {
+    int[] weights = new int[Long.SIZE];
+    int features = 0;
+    long previous = 0;
+    long word = FNV_OFFSET;
+    boolean inWord = false;
+    boolean hasPrevious = false;
+    for (int i = 0; i <= text.length(); i++) {
+      char c = i < text.length() ? text.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        word = (word ^ Character.toLowerCase(c)) * FNV_PRIME;
+        inWord = true;
+        continue;
+      }
+      if (!inWord) {
+        continue;
+      }
+      long current = mix(word);
+      if (hasPrevious) {
+        long feature = mix(previous * 0x9E3779B97F4A7C15L + current);
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+          weights[bit] += ((feature >>> bit) & 1) == 1 ? 1 : -1;
+        }
+        features++;
+      }
+      previous = current;
+      hasPrevious = true;
+      word = FNV_OFFSET;
+      inWord = false;
+    }
+    if (features < MIN_FEATURES) {
+      return OptionalLong.empty();
+    }
+    long hash = 0;
+    for (int bit = 0; bit < Long.SIZE; bit++) {
+      if (weights[bit] > 0) {
+        hash |= 1L << bit;
+      }
+    }
+    return OptionalLong.of(hash);
+  }
+
+  /** SplitMix64 finalizer, so similar words get unrelated hashes. */
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+    return value ^ (value >>> 31);
+  }
+
+  private void removeBands(String key, long hash) {
+    for (int band = 0; band < bands.size(); band++) {
+      Long value = bandValue(hash, band);
+      Set<String> keys = bands.get(band).get(value);
+      keys.remove(key);
+      if (keys.isEmpty()) {
+        bands.get(band).remove(value);
+      }
+    }
+  }
+
+  private long bandValue(long hash, int band) {
+    int from = band * Long.SIZE / bands.size();
+    int to = (band + 1) * Long.SIZE / bands.size();
+    int width = to - from;
+    return width == Long.SIZE ? hash : (hash >>> from) & ((1L << width) - 1);
+  }
+}
@@ -1,16 +1,29 @@
 package com.jobcopilot.job_analyzer_service.controller;
 
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
 import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
 import com.jobcopilot.job_analyzer_service.enums.InputType;
+import com.jobcopilot.job_analyzer_service.exception.JobNotFoundException;
 import com.jobcopilot.job_analyzer_service.exception.ProfileOwnershipException;
+import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisBatchItem;
+import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisBatchRequest;
 import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisRequest;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisBatchItemResponse;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisBatchResponse;
 import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisResponse;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisResultResponse;
 import com.jobcopilot.job_analyzer_service.service.JobAnalysisService;
+import com.jobcopilot.job_analyzer_service.service.JobCompletionStream;
+import java.time.Instant;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
@@ -21,11 +34,13 @@ import tools.jackson.databind.ObjectMapper;
 
 @WebMvcTest(JobAnalysisController.class)
 class JobAnalysisControllerTest {
+  private static final Instant UPDATED_AT = Instant.parse("2026-01-18T10:15:30Z");
 
   @Autowired private MockMvc mockMvc;
   @Autowired private ObjectMapper objectMapper;
 
   @MockitoBean private JobAnalysisService jobAnalysisService;
+  @MockitoBean private JobCompletionStream jobCompletionStream;
 
   @Test
   void submitJobAnalysis_missingUserIdHeader_returns401() throws Exception {
@@ -102,4 +117,128 @@ class JobAnalysisControllerTest {
         .andExpect(jsonPath("$.profileId").value("profile-1"))
         .andExpect(jsonPath("$.status").value("PENDING"));
   }
+
+  @Test
+  void submitJobAnalysis_analysedInline_returns200() throws Exception {
+    SubmitJobAnalysisRequest request =
+        new SubmitJobAnalysisRequest("profile-1", InputType.PASTED, "text", null, null, null);
+    JobAnalysisResponse response =
+        JobAnalysisResponse.builder()
+            .jobId("job-1")
+            .profileId("profile-1")
+            .status(AnalysisStatus.COMPLETED)
+            .submittedAt(java.time.Instant.now())
+            .extracted(Extracted.builder().requiredSkills(List.of("java")).build())
+            .build();
+
+    when(jobAnalysisService.submitJobAnalysis(request, "user-1")).thenReturn(response);
+
+    mockMvc
+        .perform(
+            post("/job/analysis/submit")
+                .header("X-User-Id", "user-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(jsonPath("$.extracted.requiredSkills[0]").value("java"));
+  }
+
+  @Test
+  void submitJobAnalysisBatch_success_returns202() throws Exception {
+    SubmitJobAnalysisBatchRequest request =
+        new SubmitJobAnalysisBatchRequest(
+            "profile-1",
+            List.of(
+                new SubmitJobAnalysisBatchItem(InputType.PASTED, "text", null, null, null),
+                new SubmitJobAnalysisBatchItem(InputType.PASTED, null, null, null, null)));
+    JobAnalysisBatchResponse response =
+        JobAnalysisBatchResponse.builder()
+            .profileId("profile-1")
+            .items(
+                List.of(
+                    JobAnalysisBatchItemResponse.builder()
+                        .index(0)
+                        .jobId("job-1")
+                        .status(AnalysisStatus.PENDING)
+                        .build(),
+                    JobAnalysisBatchItemResponse.builder()
+                        .index(1)
+                        .error("Invalid input for request type.")
+                        .build()))
+            .build();
+
+    when(jobAnalysisService.submitJobAnalysisBatch(request, "user-1")).thenReturn(response);
+
+    mockMvc
+        .perform(
+            post("/job/analysis/submit/batch")
+                .header("X-User-Id", "user-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.items[0].jobId").value("job-1"))
+        .andExpect(jsonPath("$.items[1].error").value("Invalid input for request type."));
+  }
+
+  @Test
+  void submitJobAnalysisBatch_emptyBatch_returns400() throws Exception {
+    SubmitJobAnalysisBatchRequest request =
+        new SubmitJobAnalysisBatchRequest("profile-1", List.of());
+
+    mockMvc
+        .perform(
+            post("/job/analysis/submit/batch")
+                .header("X-User-Id", "user-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("A batch must contain 1 to 100 items."));
+  }
+
+  @Test
+  void getJobAnalysis_returnsResultWithETag() throws Exception {
+    when(jobAnalysisService.getJobAnalysis("job-1", "user-1")).thenReturn(completedResult());
+
+    mockMvc
+        .perform(get("/job/analysis/job-1").header("X-User-Id", "user-1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + UPDATED_AT.toEpochMilli() + "\""))
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(jsonPath("$.extracted.requiredSkills[0]").value("java"));
+  }
+
+  @Test
+  void getJobAnalysis_unchangedSinceETag_returns304() throws Exception {
+    when(jobAnalysisService.getJobAnalysis("job-1", "user-1")).thenReturn(completedResult());
+
+    mockMvc
+        .perform(
+            get("/job/analysis/job-1")
+                .header("X-User-Id", "user-1")
+                .header("If-None-Match", "\"" + UPDATED_AT.toEpochMilli() + "\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  void getJobAnalysis_jobOfAnotherUser_returns404() throws Exception {
+    when(jobAnalysisService.getJobAnalysis("job-1", "user-2"))
+        .thenThrow(new JobNotFoundException("job-1"));
+
+    mockMvc
+        .perform(get("/job/analysis/job-1").header("X-User-Id", "user-2"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error").value("Job job-1 not found"));
+  }
+
+  private static JobAnalysisResultResponse completedResult() {
+    return JobAnalysisResultResponse.builder()
+        .jobId("job-1")
+        .profileId("profile-1")
+        .status(AnalysisStatus.COMPLETED)
+        .extracted(Extracted.builder().requiredSkills(List.of("java")).build())
+        .updatedAt(UPDATED_AT)
+        .build();
+  }
 }
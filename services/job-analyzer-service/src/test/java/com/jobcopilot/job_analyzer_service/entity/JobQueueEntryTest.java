@@ -0,0 +1,76 @@
+package com.jobcopilot.job_analyzer_service.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jobcopilot.job_analyzer_service.entity.values.Analysis;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JobQueueEntryTest {
+  private static final Instant CREATED_AT = Instant.parse("2026-01-18T10:15:30Z");
+
+  @Test
+  void pendingEntryIsDueAtTheJobsRunTime() {
+    Instant nextRunAt = CREATED_AT.plusSeconds(30);
+
+    JobQueueEntry entry = JobQueueEntry.pending(job(nextRunAt), JobQueueEntry.DEFAULT_PRIORITY);
+
+    assertThat(entry.getStatus()).isEqualTo(AnalysisStatus.PENDING);
+    assertThat(entry.getNextRunAt()).isEqualTo(nextRunAt);
+  }
+
+  @Test
+  void jobWithoutRunTimeIsDueSinceItWasCreated() {
+    JobQueueEntry entry = JobQueueEntry.pending(job(null), JobQueueEntry.DEFAULT_PRIORITY);
+
+    assertThat(entry.getNextRunAt()).isEqualTo(CREATED_AT);
+  }
+
+  @Test
+  void backfilledEntryKeepsTheLockOfAProcessingJob() {
+    Instant lockedAt = CREATED_AT.plusSeconds(60);
+    Job job =
+        job(CREATED_AT).toBuilder()
+            .analysis(
+                Analysis.builder()
+                    .status(AnalysisStatus.PROCESSING)
+                    .attempt(2)
+                    .nextRunAt(CREATED_AT)
+                    .lockedBy("poller-1")
+                    .lockedAt(lockedAt)
+                    .build())
+            .build();
+
+    JobQueueEntry entry = JobQueueEntry.backfilled(job);
+
+    assertThat(entry.getStatus()).isEqualTo(AnalysisStatus.PROCESSING);
+    assertThat(entry.getAttempt()).isEqualTo(2);
+    assertThat(entry.getLockedBy()).isEqualTo("poller-1");
+    assertThat(entry.getLockedAt()).isEqualTo(lockedAt);
+    assertThat(entry.getPriority()).isEqualTo(JobQueueEntry.DEFAULT_PRIORITY);
+  }
+
+  @Test
+  void backfilledEntryOfProcessingJobWithoutLockTimeIsReclaimable() {
+    Job job =
+        job(CREATED_AT).toBuilder()
+            .analysis(Analysis.builder().status(AnalysisStatus.PROCESSING).attempt(1).build())
+            .build();
+
+    assertThat(JobQueueEntry.backfilled(job).getLockedAt()).isEqualTo(Instant.EPOCH);
+  }
+
+  private static Job job(Instant nextRunAt) {
+    Job job =
+        Job.builder()
+            .id("job-1")
+            .userId("user-1")
+            .analysis(
+                Analysis.builder().status(AnalysisStatus.PENDING).nextRunAt(nextRunAt).build())
+            .build();
+    ReflectionTestUtils.setField(job, "createdAt", CREATED_AT);
+    return job;
+  }
+}
@@ -0,0 +1,182 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
+import com.jobcopilot.job_analyzer_service.repository.PendingUser;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class FairShareJobSchedulerTest {
+  private static final Instant NOW = Instant.parse("2026-01-18T10:15:30Z");
+
+  private final Map<String, List<String>> pendingByUser = new HashMap<>();
+  private final Map<String, Instant> oldestByUser = new HashMap<>();
+  private final Map<String, Integer> submitted = new HashMap<>();
+  private final Set<String> takenElsewhere = new HashSet<>();
+  private JobQueueRepository jobQueueRepository;
+  private FairShareJobScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    jobQueueRepository = Mockito.mock(JobQueueRepository.class);
+    when(jobQueueRepository.findExpiredLockJobIds(any(), anyInt(), anyInt())).thenReturn(List.of());
+    when(jobQueueRepository.findPendingUsers(any(), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              int jobsPerUser = invocation.getArgument(1);
+              return pendingByUser.entrySet().stream()
+                  .filter(pending -> !pending.getValue().isEmpty())
+                  .map(
+                      pending ->
+                          new PendingUser(
+                              pending.getKey(),
+                              oldestByUser.get(pending.getKey()),
+                              List.copyOf(
+                                  pending
+                                      .getValue()
+                                      .subList(
+                                          0, Math.min(jobsPerUser, pending.getValue().size())))))
+                  .toList();
+            });
+    when(jobQueueRepository.claimJobs(anyString(), anyCollection(), any(), any(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              Collection<String> jobIds = invocation.getArgument(1);
+              pendingByUser.values().forEach(jobs -> jobs.removeAll(jobIds));
+              return jobIds.stream()
+                  .filter(id -> !takenElsewhere.contains(id))
+                  .map(id -> JobQueueEntry.builder().id(id).build())
+                  .toList();
+            });
+    scheduler = new FairShareJobScheduler(jobQueueRepository, 1000);
+  }
+
+  @Test
+  void heavyUserDoesNotStarveOthers() {
+    submit("heavy", 0, 500);
+    submit("alice", 10, 1);
+    submit("bob", 20, 2);
+
+    assertThat(claim(4)).containsExactlyInAnyOrder("heavy-0", "heavy-1", "alice-0", "bob-0");
+    assertThat(claim(4)).containsExactlyInAnyOrder("heavy-2", "heavy-3", "heavy-4", "bob-1");
+    // One query for every user's candidates per claim.
+    verify(jobQueueRepository, times(2)).findPendingUsers(any(), anyInt(), anyInt());
+  }
+
+  @Test
+  void jobsTakenByAnotherPollerAreNotCharged() {
+    submit("alice", 0, 500);
+    submit("heavy", 10, 500);
+    takenElsewhere.add("heavy-0");
+
+    assertThat(claim(2)).containsExactly("alice-0");
+
+    // Heavy was not charged for the job it lost, so its turn comes before alice's next one.
+    assertThat(claim(1)).containsExactly("heavy-1");
+  }
+
+  @Test
+  void asksForNoMoreUsersThanConfigured() {
+    scheduler = new FairShareJobScheduler(jobQueueRepository, 2);
+    submit("heavy", 0, 5);
+
+    claim(3);
+
+    verify(jobQueueRepository).findPendingUsers(NOW, 3, 2);
+  }
+
+  @Test
+  void deepBacklogsShareEveryClaimEvenly() {
+    submit("heavy", 0, 500);
+    submit("other", 10, 500);
+
+    Map<String, Integer> total = new HashMap<>();
+    for (int round = 0; round < 10; round++) {
+      List<String> claimed = claim(4);
+      assertThat(claimed).filteredOn(id -> id.startsWith("heavy")).hasSize(2);
+      assertThat(claimed).filteredOn(id -> id.startsWith("other")).hasSize(2);
+      claimed.forEach(id -> total.merge(id.substring(0, id.indexOf('-')), 1, Integer::sum));
+    }
+
+    assertThat(total).containsEntry("heavy", 20).containsEntry("other", 20);
+  }
+
+  @Test
+  void newUserGoesAheadOfBacklog() {
+    submit("heavy", 0, 500);
+    claim(8);
+    submit("carol", 30, 1);
+
+    assertThat(claim(2)).containsExactlyInAnyOrder("carol-0", "heavy-8");
+  }
+
+  @Test
+  void idleUserDoesNotSaveUpCredit() {
+    submit("heavy", 0, 500);
+    submit("dave", 10, 1);
+    claim(10);
+    submit("dave", 40, 5);
+
+    // Dave re-enters at the current virtual time, level with the backlog, not ten turns ahead.
+    List<String> claimed = claim(4);
+    assertThat(claimed).filteredOn(id -> id.startsWith("dave")).hasSize(2);
+    assertThat(claimed).filteredOn(id -> id.startsWith("heavy")).hasSize(2);
+  }
+
+  @Test
+  void reclaimsExpiredLocksFirst() {
+    submit("heavy", 0, 5);
+    when(jobQueueRepository.findExpiredLockJobIds(any(), anyInt(), anyInt()))
+        .thenReturn(List.of("stale-1"));
+
+    assertThat(claim(2)).containsExactly("stale-1", "heavy-0");
+
+    ArgumentCaptor<Collection<String>> ids = ArgumentCaptor.forClass(Collection.class);
+    verify(jobQueueRepository).claimJobs(eq("poller-1"), ids.capture(), any(), any(), eq(3));
+    assertThat(ids.getValue()).containsExactly("stale-1", "heavy-0");
+  }
+
+  @Test
+  void claimsNothingWithoutPendingJobs() {
+    assertThat(claim(4)).isEmpty();
+    verify(jobQueueRepository, Mockito.never())
+        .claimJobs(anyString(), anyCollection(), any(), any(), anyInt());
+  }
+
+  private void submit(String userId, int oldestSecond, int jobs) {
+    List<String> pending = pendingByUser.computeIfAbsent(userId, id -> new ArrayList<>());
+    if (pending.isEmpty()) {
+      oldestByUser.put(userId, NOW.plusSeconds(oldestSecond));
+    }
+    int first = submitted.getOrDefault(userId, 0);
+    IntStream.range(first, first + jobs).forEach(i -> pending.add(userId + "-" + i));
+    submitted.put(userId, first + jobs);
+  }
+
+  private List<String> claim(int limit) {
+    return scheduler.acquire("poller-1", NOW, NOW.minusSeconds(15), 3, limit).stream()
+        .map(JobQueueEntry::getId)
+        .toList();
+  }
+}
@@ -0,0 +1,133 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
+import com.jobcopilot.job_analyzer_service.repository.JobCompletion;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
+import com.jobcopilot.job_analyzer_service.repository.JobRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class JobCompletionSinkTest {
+  private static final Instant NOW = Instant.parse("2026-01-18T10:15:30Z");
+
+  private JobRepository jobRepository;
+  private JobQueueRepository jobQueueRepository;
+
+  @BeforeEach
+  void setUp() {
+    jobRepository = Mockito.mock(JobRepository.class);
+    jobQueueRepository = Mockito.mock(JobQueueRepository.class);
+    // Jobs whose id ends in "lost" were reclaimed by another poller in the meantime.
+    when(jobRepository.markFinished(anyList()))
+        .thenAnswer(
+            invocation ->
+                invocation.<List<JobCompletion>>getArgument(0).stream()
+                    .map(completion -> !completion.jobId().endsWith("lost"))
+                    .toList());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void writesResultsWaitingTogetherInOneBatch() {
+    JobCompletionSink sink = new JobCompletionSink(jobRepository, jobQueueRepository, 200, 100);
+    sink.start();
+
+    CompletableFuture<Boolean> first = sink.submit(completed("job-1"));
+    CompletableFuture<Boolean> lost = sink.submit(completed("job-2-lost"));
+
+    assertThat(first.join()).isTrue();
+    assertThat(lost.join()).isFalse();
+    ArgumentCaptor<List<JobCompletion>> batch = ArgumentCaptor.forClass(List.class);
+    verify(jobRepository).markFinished(batch.capture());
+    assertThat(batch.getValue())
+        .extracting(JobCompletion::jobId)
+        .containsExactly("job-1", "job-2-lost");
+    // Only the queue entry of the job written is released; the other belongs to its new holder.
+    ArgumentCaptor<List<JobCompletion>> released = ArgumentCaptor.forClass(List.class);
+    verify(jobQueueRepository).release(released.capture());
+    assertThat(released.getValue()).extracting(JobCompletion::jobId).containsExactly("job-1");
+  }
+
+  @Test
+  void failedReleaseStillReportsTheResultsWritten() {
+    Mockito.doThrow(new IllegalStateException("down")).when(jobQueueRepository).release(anyList());
+    JobCompletionSink sink = new JobCompletionSink(jobRepository, jobQueueRepository, 0, 100);
+
+    assertThat(sink.submit(completed("job-1"))).isCompletedWithValue(true);
+  }
+
+  @Test
+  void writesAFullBatchWithoutWaiting() {
+    JobCompletionSink sink = new JobCompletionSink(jobRepository, jobQueueRepository, 60000, 2);
+    sink.start();
+
+    CompletableFuture<Boolean> first = sink.submit(completed("job-1"));
+    CompletableFuture<Boolean> second = sink.submit(completed("job-2"));
+
+    assertThat(first).isCompletedWithValue(true);
+    assertThat(second).isCompletedWithValue(true);
+  }
+
+  @Test
+  void writesStraightThroughWhenNotRunning() {
+    JobCompletionSink sink = new JobCompletionSink(jobRepository, jobQueueRepository, 60000, 100);
+
+    assertThat(sink.submit(completed("job-1"))).isCompletedWithValue(true);
+  }
+
+  @Test
+  void stopWritesWhatIsStillBuffered() {
+    JobCompletionSink sink = new JobCompletionSink(jobRepository, jobQueueRepository, 60000, 100);
+    sink.start();
+    CompletableFuture<Boolean> buffered = sink.submit(completed("job-1"));
+    assertThat(buffered).isNotDone();
+
+    sink.stop();
+
+    assertThat(buffered).isCompletedWithValue(true);
+  }
+
+  @Test
+  void failedWriteFailsEveryResultOfTheBatch() {
+    when(jobRepository.markFinished(anyList())).thenThrow(new IllegalStateException("down"));
+    JobCompletionSink sink = new JobCompletionSink(jobRepository, jobQueueRepository, 200, 100);
+    sink.start();
+
+    CompletableFuture<Boolean> first = sink.submit(completed("job-1"));
+    CompletableFuture<Boolean> second = sink.submit(completed("job-2"));
+
+    assertThat(first)
+        .failsWithin(Duration.ofSeconds(5))
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(IllegalStateException.class);
+    assertThat(second).failsWithin(Duration.ofSeconds(5));
+    verify(jobQueueRepository, never()).release(anyList());
+  }
+
+  @Test
+  void rejectsInvalidSettings() {
+    assertThatThrownBy(() -> new JobCompletionSink(jobRepository, jobQueueRepository, -1, 100))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new JobCompletionSink(jobRepository, jobQueueRepository, 5, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(jobRepository, never()).markFinished(anyList());
+  }
+
+  private static JobCompletion completed(String jobId) {
+    return JobCompletion.completed(jobId, "poller-1", NOW, "text", Extracted.builder().build());
+  }
+}
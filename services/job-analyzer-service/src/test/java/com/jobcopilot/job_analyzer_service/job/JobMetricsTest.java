@@ -0,0 +1,87 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.values.Analysis;
+import com.jobcopilot.job_analyzer_service.entity.values.Error;
+import com.jobcopilot.job_analyzer_service.entity.values.Input;
+import com.jobcopilot.job_analyzer_service.enums.ErrorCode;
+import com.jobcopilot.job_analyzer_service.repository.JobCompletion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class JobMetricsTest {
+  private static final Instant SUBMITTED_AT = Instant.parse("2026-01-18T10:15:00Z");
+  private static final Instant STARTED_AT = Instant.parse("2026-01-18T10:15:30Z");
+  private static final Error TIMEOUT =
+      new Error(ErrorCode.TIMEOUT, "timed out", "Job analysis timed out", true);
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final JobMetrics jobMetrics = new JobMetrics(registry);
+
+  @Test
+  void recordsQueueWaitOfFirstAttemptOnly() {
+    jobMetrics.recordStart(job(1));
+    jobMetrics.recordStart(job(2));
+
+    assertThat(registry.get(JobMetrics.QUEUE_WAIT).timer().count()).isEqualTo(1);
+    assertThat(registry.get(JobMetrics.QUEUE_WAIT).timer().totalTime(TimeUnit.SECONDS))
+        .isEqualTo(30);
+  }
+
+  @Test
+  void recordsAnalysisDurationByOutcome() {
+    Instant now = STARTED_AT.plusSeconds(2);
+
+    jobMetrics.recordOutcome(
+        job(1), JobCompletion.retry("job-1", "poller-1", now, TIMEOUT, now), now);
+    jobMetrics.recordOutcome(
+        job(2), JobCompletion.completed("job-1", "poller-1", now, "normalized", null), now);
+
+    assertThat(registry.get(JobMetrics.ANALYSIS_DURATION).tag("status", "pending").timer().count())
+        .isEqualTo(1);
+    assertThat(
+            registry
+                .get(JobMetrics.ANALYSIS_DURATION)
+                .tag("status", "completed")
+                .timer()
+                .totalTime(TimeUnit.SECONDS))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void recordsRetriesOnceTheJobIsFinished() {
+    Instant now = STARTED_AT.plusSeconds(2);
+
+    jobMetrics.recordOutcome(
+        job(1), JobCompletion.retry("job-1", "poller-1", now, TIMEOUT, now), now);
+    jobMetrics.recordOutcome(
+        job(3), JobCompletion.deadLettered("job-1", "poller-1", now, TIMEOUT), now);
+
+    assertThat(registry.get(JobMetrics.RETRIES).summary().count()).isEqualTo(1);
+    assertThat(registry.get(JobMetrics.RETRIES).summary().totalAmount()).isEqualTo(2);
+  }
+
+  @Test
+  void tagsClaimsThatFoundNothing() {
+    jobMetrics.recordClaim(1_000_000, 0);
+    jobMetrics.recordClaim(1_000_000, 4);
+    jobMetrics.recordClaim(1_000_000, 0);
+
+    assertThat(registry.get(JobMetrics.CLAIM).tag("outcome", "empty").timer().count()).isEqualTo(2);
+    assertThat(registry.get(JobMetrics.CLAIM).tag("outcome", "claimed").timer().count())
+        .isEqualTo(1);
+  }
+
+  private static Job job(int attempt) {
+    return Job.builder()
+        .id("job-1")
+        .input(Input.builder().submittedAt(SUBMITTED_AT).build())
+        .analysis(
+            Analysis.builder().lockedBy("poller-1").attempt(attempt).startedAt(STARTED_AT).build())
+        .build();
+  }
+}
@@ -0,0 +1,88 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import com.jobcopilot.job_analyzer_service.entity.values.Analysis;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
+import com.jobcopilot.job_analyzer_service.repository.JobRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+class JobQueueBackfillTest {
+  private final JobRepository jobRepository = Mockito.mock(JobRepository.class);
+  private final JobQueueRepository jobQueueRepository = Mockito.mock(JobQueueRepository.class);
+  private final JobQueueBackfill backfill = new JobQueueBackfill(jobRepository, jobQueueRepository);
+
+  @Test
+  void queuesUnfinishedJobsThenDropsTheLegacyIndexes() {
+    when(jobRepository.findIndexNames())
+        .thenReturn(Set.of("_id_", "analysis_status_lockedAt_idx", "pending_nextRunAt_idx"));
+    List<Job> firstPage = IntStream.range(0, 500).mapToObj(i -> job("job-" + i)).toList();
+    when(jobRepository.findUnfinishedJobs(isNull(), eq(500))).thenReturn(firstPage);
+    when(jobRepository.findUnfinishedJobs(eq("job-499"), eq(500)))
+        .thenReturn(List.of(job("job-500")));
+    when(jobQueueRepository.insertMissing(any())).thenReturn(1L);
+
+    backfill.sweep();
+
+    ArgumentCaptor<Collection<JobQueueEntry>> entries = ArgumentCaptor.forClass(Collection.class);
+    InOrder order = inOrder(jobQueueRepository, jobRepository);
+    order.verify(jobQueueRepository, times(2)).insertMissing(entries.capture());
+    order.verify(jobRepository).dropIndex("analysis_status_lockedAt_idx");
+    order.verify(jobRepository).dropIndex("pending_nextRunAt_idx");
+    verify(jobRepository, never()).dropIndex("pending_userId_nextRunAt_idx");
+    assertThat(entries.getAllValues().getLast())
+        .extracting(JobQueueEntry::getId)
+        .containsExactly("job-500");
+  }
+
+  @Test
+  void keepsSweepingOnceTheLegacyIndexesAreGone() {
+    when(jobRepository.findIndexNames()).thenReturn(Set.of("_id_", "userId_profileId_idx"));
+    when(jobRepository.findUnfinishedJobs(isNull(), eq(500)))
+        .thenReturn(List.of(), List.of(job("job-submitted-later")));
+
+    backfill.sweep();
+    backfill.sweep();
+
+    ArgumentCaptor<Collection<JobQueueEntry>> entries = ArgumentCaptor.forClass(Collection.class);
+    verify(jobQueueRepository).insertMissing(entries.capture());
+    assertThat(entries.getValue())
+        .extracting(JobQueueEntry::getId)
+        .containsExactly("job-submitted-later");
+    verify(jobRepository, times(2)).findUnfinishedJobs(any(), anyInt());
+    verify(jobRepository, never()).dropIndex(anyString());
+  }
+
+  private static Job job(String id) {
+    return Job.builder()
+        .id(id)
+        .userId("user-1")
+        .analysis(
+            Analysis.builder()
+                .status(AnalysisStatus.PENDING)
+                .nextRunAt(Instant.parse("2026-01-18T10:15:30Z"))
+                .build())
+        .build();
+  }
+}
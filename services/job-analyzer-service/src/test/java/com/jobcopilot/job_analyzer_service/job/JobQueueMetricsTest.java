@@ -0,0 +1,80 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
+import com.jobcopilot.job_analyzer_service.repository.QueueBacklog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JobQueueMetricsTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final JobQueueRepository jobQueueRepository = Mockito.mock(JobQueueRepository.class);
+
+  @Test
+  void reportsTheBacklogAsOfTheLastRefresh() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    JobQueueMetrics metrics =
+        new JobQueueMetrics(registry, jobQueueRepository, executor, new WorkerLimits(64, 2));
+    when(jobQueueRepository.findBacklog())
+        .thenReturn(
+            List.of(
+                new QueueBacklog(AnalysisStatus.PENDING, 12, Instant.now().minusSeconds(90)),
+                new QueueBacklog(AnalysisStatus.PROCESSING, 3, null)));
+
+    assertThat(queueSize("pending")).isZero();
+    ReflectionTestUtils.invokeMethod(metrics, "refresh");
+
+    assertThat(queueSize("pending")).isEqualTo(12);
+    assertThat(queueSize("processing")).isEqualTo(3);
+    assertThat(registry.get(JobQueueMetrics.OLDEST_AGE).timeGauge().value(TimeUnit.SECONDS))
+        .isBetween(90.0, 100.0);
+    executor.shutdown();
+  }
+
+  @Test
+  void oldestAgeIgnoresRetriesNotYetDue() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    JobQueueMetrics metrics =
+        new JobQueueMetrics(registry, jobQueueRepository, executor, new WorkerLimits(64, 2));
+    when(jobQueueRepository.findBacklog())
+        .thenReturn(
+            List.of(new QueueBacklog(AnalysisStatus.PENDING, 1, Instant.now().plusSeconds(60))));
+
+    ReflectionTestUtils.invokeMethod(metrics, "refresh");
+
+    assertThat(queueSize("processing")).isZero();
+    assertThat(registry.get(JobQueueMetrics.OLDEST_AGE).timeGauge().value()).isZero();
+    executor.shutdown();
+  }
+
+  @Test
+  void reportsJobsInFlightOfVirtualWorkers() {
+    WorkerLimits workerLimits = new WorkerLimits(64, 2);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      new JobQueueMetrics(registry, jobQueueRepository, executor, workerLimits);
+
+      workerLimits.tryReserveJobs(5);
+
+      assertThat(registry.get(JobQueueMetrics.WORKERS_ACTIVE).gauge().value()).isEqualTo(5);
+      assertThat(registry.get(JobQueueMetrics.WORKERS_QUEUED).gauge().value()).isZero();
+    }
+  }
+
+  private double queueSize(String status) {
+    return registry.get(JobQueueMetrics.QUEUE_SIZE).tag("status", status).gauge().value();
+  }
+}
@@ -4,17 +4,27 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
 import com.jobcopilot.job_analyzer_service.job.service.JobAnalysisService;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
 import com.jobcopilot.job_analyzer_service.repository.JobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
@@ -23,7 +33,11 @@ import org.mockito.Mockito;
 import org.springframework.test.util.ReflectionTestUtils;
 
 class PendingJobAnalysisPollerTest {
-  private ThreadPoolExecutor executor;
+  private final FairShareJobScheduler scheduler = Mockito.mock(FairShareJobScheduler.class);
+  private final JobQueueRepository jobQueueRepository = Mockito.mock(JobQueueRepository.class);
+  private ExecutorService executor;
+  private WorkerLimits workerLimits = new WorkerLimits(64, 2);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
   @AfterEach
   void tearDown() {
@@ -34,7 +48,9 @@ class PendingJobAnalysisPollerTest {
 
   @Test
   void doesNotClaimWhenQueueFull() {
-    executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    ThreadPoolExecutor threadPool =
+        new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    executor = threadPool;
     CountDownLatch block = new CountDownLatch(1);
     executor.submit(
         () -> {
@@ -45,17 +61,15 @@ class PendingJobAnalysisPollerTest {
           }
         });
     executor.submit(() -> {});
-    assertThat(executor.getQueue().remainingCapacity()).isZero();
+    assertThat(threadPool.getQueue().remainingCapacity()).isZero();
 
     JobRepository jobRepository = Mockito.mock(JobRepository.class);
     JobAnalysisService jobAnalysisService = Mockito.mock(JobAnalysisService.class);
-    PendingJobAnalysisPoller poller =
-        new PendingJobAnalysisPoller(
-            "poller-1", 300000L, 3, executor, jobRepository, jobAnalysisService);
+    PendingJobAnalysisPoller poller = newPoller(jobRepository, jobAnalysisService);
 
     ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
 
-    verify(jobRepository, never()).acquirePendingJob(anyString(), any(), any(), anyInt());
+    verify(scheduler, never()).acquire(anyString(), any(), any(), anyInt(), anyInt());
     block.countDown();
   }
 
@@ -64,9 +78,9 @@ class PendingJobAnalysisPollerTest {
     executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
     JobRepository jobRepository = Mockito.mock(JobRepository.class);
     JobAnalysisService jobAnalysisService = Mockito.mock(JobAnalysisService.class);
-    Job job = Job.builder().id("job-1").build();
-    when(jobRepository.acquirePendingJob(anyString(), any(), any(), anyInt()))
-        .thenReturn(Optional.of(job));
+    Job job = started(jobRepository, "job-1");
+    when(scheduler.acquire(anyString(), any(), any(), anyInt(), anyInt()))
+        .thenReturn(List.of(entry("job-1")), List.of());
 
     CountDownLatch latch = new CountDownLatch(1);
     doAnswer(
@@ -77,12 +91,222 @@ class PendingJobAnalysisPollerTest {
         .when(jobAnalysisService)
         .analyseJob(job);
 
-    PendingJobAnalysisPoller poller =
-        new PendingJobAnalysisPoller(
-            "poller-1", 300000L, 3, executor, jobRepository, jobAnalysisService);
+    PendingJobAnalysisPoller poller = newPoller(jobRepository, jobAnalysisService);
+
+    ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
+
+    assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void claimsOneJobPerIdleWorker() throws Exception {
+    executor = new ThreadPoolExecutor(3, 3, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(5));
+    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    JobAnalysisService jobAnalysisService = Mockito.mock(JobAnalysisService.class);
+    started(jobRepository, "job-1");
+    started(jobRepository, "job-2");
+    when(scheduler.acquire(anyString(), any(), any(), anyInt(), anyInt()))
+        .thenReturn(List.of(entry("job-1"), entry("job-2")), List.of());
+
+    CountDownLatch latch = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              latch.countDown();
+              return null;
+            })
+        .when(jobAnalysisService)
+        .analyseJob(any());
+
+    PendingJobAnalysisPoller poller = newPoller(jobRepository, jobAnalysisService);
 
     ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
 
     assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+    verify(scheduler, atLeastOnce()).acquire(eq("poller-1"), any(), any(), eq(3), eq(3));
+  }
+
+  @Test
+  void backsOffWhileQueueIsEmpty() {
+    executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    when(scheduler.acquire(anyString(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+    PendingJobAnalysisPoller poller =
+        newPoller(jobRepository, Mockito.mock(JobAnalysisService.class));
+
+    ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
+    ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
+
+    verify(scheduler, times(1)).acquire(anyString(), any(), any(), anyInt(), anyInt());
+    assertThat(meterRegistry.get(JobMetrics.CLAIM).tag("outcome", "empty").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void dispatchNowSkipsBackOff() {
+    executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    when(scheduler.acquire(anyString(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+    PendingJobAnalysisPoller poller =
+        newPoller(jobRepository, Mockito.mock(JobAnalysisService.class));
+
+    ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
+    poller.dispatchNow();
+
+    verify(scheduler, times(2)).acquire(anyString(), any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  void renewsLocksOfHeldJobsUntilTheyFinish() throws Exception {
+    executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    JobAnalysisService jobAnalysisService = Mockito.mock(JobAnalysisService.class);
+    Job job = started(jobRepository, "job-1");
+    when(scheduler.acquire(anyString(), any(), any(), anyInt(), anyInt()))
+        .thenReturn(List.of(entry("job-1")), List.of());
+    when(jobQueueRepository.renewLocks(anyString(), any(), any())).thenReturn(1L);
+
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              running.countDown();
+              release.await(2, TimeUnit.SECONDS);
+              return null;
+            })
+        .when(jobAnalysisService)
+        .analyseJob(job);
+    PendingJobAnalysisPoller poller = newPoller(jobRepository, jobAnalysisService);
+
+    ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
+    assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+    ReflectionTestUtils.invokeMethod(poller, "renewLeases");
+    verify(jobQueueRepository).renewLocks(eq("poller-1"), eq(List.of("job-1")), any());
+
+    release.countDown();
+    executor.submit(finished::countDown);
+    assertThat(finished.await(2, TimeUnit.SECONDS)).isTrue();
+    ReflectionTestUtils.invokeMethod(poller, "renewLeases");
+    verify(jobQueueRepository, times(1)).renewLocks(anyString(), any(), any());
+  }
+
+  @Test
+  void dropsEntryOfJobFinishedMeanwhile() throws Exception {
+    executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    JobAnalysisService jobAnalysisService = Mockito.mock(JobAnalysisService.class);
+    when(jobRepository.startJob(anyString(), anyString(), anyInt(), any()))
+        .thenReturn(Optional.empty());
+    when(scheduler.acquire(anyString(), any(), any(), anyInt(), anyInt()))
+        .thenReturn(List.of(entry("job-1")), List.of());
+    PendingJobAnalysisPoller poller = newPoller(jobRepository, jobAnalysisService);
+
+    ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
+
+    verify(jobQueueRepository, timeout(2000)).removeHeld("poller-1", List.of("job-1"));
+    verify(jobAnalysisService, never()).analyseJob(any());
+  }
+
+  @Test
+  void virtualWorkersClaimOnlyWhatTheLimitHasRoomFor() throws Exception {
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    workerLimits = new WorkerLimits(2, 1);
+    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    JobAnalysisService jobAnalysisService = Mockito.mock(JobAnalysisService.class);
+    started(jobRepository, "job-1");
+    when(scheduler.acquire(anyString(), any(), any(), anyInt(), anyInt()))
+        .thenReturn(List.of(entry("job-1")), List.of());
+
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              running.countDown();
+              release.await(2, TimeUnit.SECONDS);
+              return null;
+            })
+        .when(jobAnalysisService)
+        .analyseJob(any());
+    PendingJobAnalysisPoller poller = newPoller(jobRepository, jobAnalysisService);
+
+    ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
+    assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+
+    verify(scheduler).acquire(eq("poller-1"), any(), any(), eq(3), eq(2));
+    // The slot left unclaimed went back; the running job still holds its own.
+    assertThat(workerLimits.tryReserveJobs(2)).isEqualTo(1);
+    workerLimits.releaseJobs(1);
+
+    release.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(workerLimits.tryReserveJobs(2)).isEqualTo(2);
+  }
+
+  @Test
+  void putsRejectedJobBackInTheQueue() {
+    executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    executor.shutdown();
+    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    JobAnalysisService jobAnalysisService = Mockito.mock(JobAnalysisService.class);
+    when(scheduler.acquire(anyString(), any(), any(), anyInt(), anyInt()))
+        .thenReturn(List.of(entry("job-1")), List.of());
+    PendingJobAnalysisPoller poller = newPoller(jobRepository, jobAnalysisService);
+
+    ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
+    ReflectionTestUtils.invokeMethod(poller, "renewLeases");
+
+    verify(jobRepository, never()).startJob(anyString(), anyString(), anyInt(), any());
+    verify(jobQueueRepository).unclaim("poller-1", List.of("job-1"));
+    verify(jobQueueRepository, never()).renewLocks(anyString(), any(), any());
+  }
+
+  @Test
+  void returnsSlotOfJobRejectedByVirtualWorkers() {
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    executor.shutdown();
+    workerLimits = new WorkerLimits(2, 1);
+    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    when(scheduler.acquire(anyString(), any(), any(), anyInt(), anyInt()))
+        .thenReturn(List.of(entry("job-1")), List.of());
+    PendingJobAnalysisPoller poller =
+        newPoller(jobRepository, Mockito.mock(JobAnalysisService.class));
+
+    ReflectionTestUtils.invokeMethod(poller, "getPendingJob");
+
+    verify(jobRepository, never()).startJob(anyString(), anyString(), anyInt(), any());
+    verify(jobQueueRepository).unclaim("poller-1", List.of("job-1"));
+    assertThat(workerLimits.tryReserveJobs(2)).isEqualTo(2);
+  }
+
+  private static JobQueueEntry entry(String jobId) {
+    return JobQueueEntry.builder().id(jobId).attempt(1).build();
+  }
+
+  /** Stubs the job loaded once its claimed entry is picked up. */
+  private static Job started(JobRepository jobRepository, String jobId) {
+    Job job = Job.builder().id(jobId).build();
+    when(jobRepository.startJob(eq(jobId), eq("poller-1"), eq(1), any()))
+        .thenReturn(Optional.of(job));
+    return job;
+  }
+
+  private PendingJobAnalysisPoller newPoller(
+      JobRepository jobRepository, JobAnalysisService jobAnalysisService) {
+    return new PendingJobAnalysisPoller(
+        "poller-1",
+        300000L,
+        3000L,
+        3,
+        60000L,
+        60000L,
+        32,
+        executor,
+        jobRepository,
+        jobQueueRepository,
+        scheduler,
+        jobAnalysisService,
+        workerLimits,
+        new JobMetrics(meterRegistry));
   }
 }
@@ -0,0 +1,350 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import com.jobcopilot.job_analyzer_service.entity.values.Analysis;
+import com.jobcopilot.job_analyzer_service.entity.values.Error;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.enums.ErrorCode;
+import com.jobcopilot.job_analyzer_service.repository.JobCompletion;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepositoryImpl;
+import com.jobcopilot.job_analyzer_service.repository.JobRepositoryImpl;
+import com.jobcopilot.job_analyzer_service.repository.PendingUser;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import de.flapdoodle.embed.mongo.commands.MongodArguments;
+import de.flapdoodle.embed.mongo.config.Storage;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import de.flapdoodle.reverse.transitions.Start;
+import java.time.Instant;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+/** Runs against an embedded single-node replica set, since change streams need an oplog. */
+class PendingJobChangeStreamDispatcherIT {
+  private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+  private static MongoClient client;
+  private static MongoTemplate mongoTemplate;
+
+  private ObjectProvider<MongoOperations> provider;
+  private PendingJobChangeStreamDispatcher dispatcher;
+
+  @BeforeAll
+  static void startReplicaSet() throws InterruptedException {
+    mongod =
+        Mongod.instance()
+            .withMongodArguments(
+                Start.to(MongodArguments.class)
+                    .initializedWith(
+                        MongodArguments.defaults().withReplication(Storage.of("rs0", 10))))
+            .start(Version.Main.V7_0);
+    String address = mongod.current().getServerAddress().toString();
+    client = MongoClients.create("mongodb://" + address + "/?directConnection=true");
+
+    MongoDatabase admin = client.getDatabase("admin");
+    admin.runCommand(
+        new Document(
+            "replSetInitiate",
+            new Document("_id", "rs0")
+                .append("members", List.of(new Document("_id", 0).append("host", address)))));
+    long deadline = System.currentTimeMillis() + 30000;
+    while (!admin.runCommand(new Document("hello", 1)).getBoolean("isWritablePrimary", false)) {
+      assertThat(System.currentTimeMillis()).isLessThan(deadline);
+      Thread.sleep(100);
+    }
+    mongoTemplate = new MongoTemplate(client, "job_analyzer_service");
+  }
+
+  @AfterAll
+  static void stopReplicaSet() {
+    if (client != null) {
+      client.close();
+    }
+    if (mongod != null) {
+      mongod.close();
+    }
+  }
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    mongoTemplate.dropCollection(Job.class);
+    mongoTemplate.createCollection(Job.class);
+    mongoTemplate.dropCollection(JobQueueEntry.class);
+    mongoTemplate.createCollection(JobQueueEntry.class);
+    provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoTemplate);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (dispatcher != null) {
+      dispatcher.stop();
+    }
+  }
+
+  @Test
+  void dispatchesWhenPendingEntryIsInserted() {
+    PendingJobAnalysisPoller poller = Mockito.mock(PendingJobAnalysisPoller.class);
+    dispatcher = new PendingJobChangeStreamDispatcher(provider, poller, 100L);
+
+    dispatcher.start();
+    // One catch-up poll when the stream opens.
+    verify(poller, timeout(5000)).dispatchNow();
+
+    mongoTemplate.insert(entry("job-running", AnalysisStatus.PROCESSING, Instant.now()));
+    mongoTemplate.insert(entry("job-new", AnalysisStatus.PENDING, null));
+
+    verify(poller, timeout(5000).times(2)).dispatchNow();
+    verify(poller, after(300).times(2)).dispatchNow();
+  }
+
+  @Test
+  void keepsWatchingAfterAFailedDispatch() {
+    PendingJobAnalysisPoller poller = Mockito.mock(PendingJobAnalysisPoller.class);
+    doThrow(new QueryTimeoutException("claim timed out")).doNothing().when(poller).dispatchNow();
+    dispatcher = new PendingJobChangeStreamDispatcher(provider, poller, 100L);
+
+    dispatcher.start();
+    verify(poller, timeout(5000)).dispatchNow();
+
+    mongoTemplate.insert(entry("job-new", AnalysisStatus.PENDING, null));
+
+    verify(poller, timeout(5000).times(2)).dispatchNow();
+    verify(poller, after(300).times(2)).dispatchNow();
+    assertThat(dispatcher.isRunning()).isTrue();
+  }
+
+  @Test
+  void claimsPendingJobsInOneBatch() {
+    Instant now = Instant.now();
+    mongoTemplate.insert(entry("job-1", AnalysisStatus.PENDING, null));
+    mongoTemplate.insert(entry("job-2", AnalysisStatus.PENDING, null));
+    mongoTemplate.insert(entry("job-locked", AnalysisStatus.PROCESSING, now));
+    mongoTemplate.insert(entry("job-expired", AnalysisStatus.PROCESSING, now.minusSeconds(600)));
+    JobQueueRepositoryImpl queue = new JobQueueRepositoryImpl(provider);
+
+    List<JobQueueEntry> claimed =
+        queue.acquirePendingJobs("poller-1", now, now.minusSeconds(300), 3, 10);
+
+    assertThat(claimed)
+        .extracting(JobQueueEntry::getId)
+        .containsExactlyInAnyOrder("job-1", "job-2", "job-expired");
+    assertThat(claimed)
+        .allSatisfy(
+            entry -> {
+              assertThat(entry.getStatus()).isEqualTo(AnalysisStatus.PROCESSING);
+              assertThat(entry.getLockedBy()).isEqualTo("poller-1");
+            });
+    assertThat(queue.acquirePendingJobs("poller-2", now, now.minusSeconds(300), 3, 10)).isEmpty();
+  }
+
+  @Test
+  void claimsHigherPriorityFirst() {
+    Instant now = Instant.now();
+    mongoTemplate.insert(
+        entry("job-batch", AnalysisStatus.PENDING, null).toBuilder()
+            .priority(JobQueueEntry.BATCH_PRIORITY)
+            .nextRunAt(now.minusSeconds(120))
+            .build());
+    mongoTemplate.insert(entry("job-single", AnalysisStatus.PENDING, null));
+    JobQueueRepositoryImpl queue = new JobQueueRepositoryImpl(provider);
+
+    assertThat(queue.acquirePendingJobs("poller-1", now, now.minusSeconds(15), 3, 1))
+        .extracting(JobQueueEntry::getId)
+        .containsExactly("job-single");
+  }
+
+  @Test
+  void renewedLocksAreNotReclaimed() {
+    Instant claimedAt = Instant.now().minusSeconds(20);
+    mongoTemplate.insert(entry("job-1", AnalysisStatus.PENDING, null));
+    mongoTemplate.insert(entry("job-2", AnalysisStatus.PENDING, null));
+    JobQueueRepositoryImpl queue = new JobQueueRepositoryImpl(provider);
+    queue.acquirePendingJobs("poller-1", claimedAt, claimedAt.minusSeconds(15), 3, 10);
+
+    Instant now = Instant.now();
+    assertThat(queue.renewLocks("poller-1", List.of("job-1", "job-missing"), now)).isEqualTo(1);
+
+    List<JobQueueEntry> reclaimed =
+        queue.acquirePendingJobs("poller-2", now, now.minusSeconds(15), 3, 10);
+    assertThat(reclaimed).extracting(JobQueueEntry::getId).containsExactly("job-2");
+  }
+
+  @Test
+  void unclaimedJobKeepsItsAttemptCount() {
+    Instant now = Instant.now();
+    mongoTemplate.insert(entry("job-1", AnalysisStatus.PENDING, null));
+    JobQueueRepositoryImpl queue = new JobQueueRepositoryImpl(provider);
+    queue.acquirePendingJobs("poller-1", now, now.minusSeconds(15), 3, 1);
+
+    assertThat(queue.unclaim("other-poller", List.of("job-1"))).isZero();
+    assertThat(queue.unclaim("poller-1", List.of("job-1"))).isEqualTo(1);
+
+    JobQueueEntry unclaimed = mongoTemplate.findById("job-1", JobQueueEntry.class);
+    assertThat(unclaimed.getStatus()).isEqualTo(AnalysisStatus.PENDING);
+    assertThat(unclaimed.getAttempt()).isZero();
+    assertThat(unclaimed.getLockedBy()).isNull();
+    assertThat(queue.acquirePendingJobs("poller-2", now, now.minusSeconds(15), 3, 1))
+        .extracting(JobQueueEntry::getAttempt)
+        .containsExactly(1);
+  }
+
+  @Test
+  void findsEachUsersPendingJobs() {
+    mongoTemplate.insert(
+        entry("job-1", AnalysisStatus.PENDING, null).toBuilder().userId("u1").build());
+    mongoTemplate.insert(
+        entry("job-2", AnalysisStatus.PENDING, null).toBuilder().userId("u1").build());
+    mongoTemplate.insert(
+        entry("job-3", AnalysisStatus.PENDING, null).toBuilder().userId("u2").build());
+    mongoTemplate.insert(
+        entry("job-4", AnalysisStatus.PROCESSING, Instant.now()).toBuilder().userId("u3").build());
+    JobQueueRepositoryImpl queue = new JobQueueRepositoryImpl(provider);
+
+    Instant now = Instant.now();
+    assertThat(queue.findPendingUsers(now, 10, 10))
+        .extracting(PendingUser::userId, user -> user.jobIds().size())
+        .containsExactlyInAnyOrder(tuple("u1", 2), tuple("u2", 1));
+    assertThat(queue.findPendingUsers(now, 1, 10))
+        .extracting(user -> user.jobIds().size())
+        .containsExactly(1, 1);
+    assertThat(queue.findPendingUsers(now, 10, 1)).hasSize(1);
+  }
+
+  @Test
+  void startingAJobTakesItOverFromAnExpiredHolder() {
+    Instant now = Instant.now();
+    mongoTemplate.insert(job("job-1", AnalysisStatus.PROCESSING, now.minusSeconds(600)));
+    mongoTemplate.insert(job("job-done", AnalysisStatus.COMPLETED, null));
+    JobRepositoryImpl jobs = new JobRepositoryImpl(provider);
+
+    assertThat(jobs.startJob("job-1", "poller-2", 2, now))
+        .hasValueSatisfying(
+            job -> {
+              assertThat(job.getAnalysis().lockedBy()).isEqualTo("poller-2");
+              assertThat(job.getAnalysis().attempt()).isEqualTo(2);
+            });
+    assertThat(jobs.startJob("job-done", "poller-2", 1, now)).isEmpty();
+    assertThat(
+            jobs.markFinished(
+                List.of(JobCompletion.completed("job-1", "other-poller", now, "text", null))))
+        .containsExactly(false);
+  }
+
+  @Test
+  void retriedJobIsClaimedOnceDue() {
+    Instant now = Instant.now();
+    mongoTemplate.insert(job("job-1", AnalysisStatus.PENDING, null));
+    mongoTemplate.insert(entry("job-1", AnalysisStatus.PENDING, null));
+    JobRepositoryImpl jobs = new JobRepositoryImpl(provider);
+    JobQueueRepositoryImpl queue = new JobQueueRepositoryImpl(provider);
+    JobQueueEntry claimed =
+        queue.acquirePendingJobs("poller-1", now, now.minusSeconds(15), 3, 1).getFirst();
+    assertThat(jobs.startJob(claimed.getId(), "poller-1", claimed.getAttempt(), now)).isPresent();
+
+    Instant nextRunAt = now.plusSeconds(30);
+    List<JobCompletion> retry =
+        List.of(
+            JobCompletion.retry(
+                claimed.getId(),
+                "poller-1",
+                now,
+                new Error(ErrorCode.TIMEOUT, "timed out", "Job analysis timed out", true),
+                nextRunAt));
+    assertThat(jobs.markFinished(retry)).containsExactly(true);
+    queue.release(retry);
+
+    assertThat(queue.acquirePendingJobs("poller-2", now, now.minusSeconds(15), 3, 1)).isEmpty();
+    assertThat(queue.acquirePendingJobs("poller-2", nextRunAt, nextRunAt.minusSeconds(15), 3, 1))
+        .extracting(JobQueueEntry::getAttempt)
+        .containsExactly(2);
+  }
+
+  @Test
+  void releasesTheEntriesOfFinishedJobs() {
+    Instant now = Instant.now();
+    mongoTemplate.insert(entry("job-1", AnalysisStatus.PENDING, null));
+    JobQueueRepositoryImpl queue = new JobQueueRepositoryImpl(provider);
+    queue.acquirePendingJobs("poller-1", now, now.minusSeconds(15), 3, 1);
+
+    queue.release(List.of(JobCompletion.completed("job-1", "other-poller", now, "text", null)));
+    assertThat(mongoTemplate.count(new Query(), JobQueueEntry.class)).isEqualTo(1);
+    queue.release(List.of(JobCompletion.completed("job-1", "poller-1", now, "text", null)));
+    assertThat(mongoTemplate.count(new Query(), JobQueueEntry.class)).isZero();
+  }
+
+  @Test
+  void deadLettersJobsAbandonedOnTheirLastAttempt() {
+    Instant now = Instant.now();
+    Instant lockExpiry = now.minusSeconds(15);
+    mongoTemplate.insert(job("job-last", AnalysisStatus.PROCESSING, now.minusSeconds(600)));
+    mongoTemplate.insert(job("job-retry", AnalysisStatus.PROCESSING, now.minusSeconds(600)));
+    mongoTemplate.insert(
+        entry("job-last", AnalysisStatus.PROCESSING, now.minusSeconds(600)).toBuilder()
+            .attempt(3)
+            .build());
+    mongoTemplate.insert(entry("job-retry", AnalysisStatus.PROCESSING, now.minusSeconds(600)));
+    JobRepositoryImpl jobs = new JobRepositoryImpl(provider);
+    JobQueueRepositoryImpl queue = new JobQueueRepositoryImpl(provider);
+
+    List<String> abandoned = queue.findAbandonedJobIds(lockExpiry, 3);
+    assertThat(abandoned).containsExactly("job-last");
+    assertThat(jobs.deadLetterJobs(abandoned, now)).isEqualTo(1);
+    assertThat(queue.removeAbandoned(abandoned, lockExpiry, 3)).isEqualTo(1);
+
+    assertThat(jobs.findFinishedJobIds(List.of("job-last", "job-retry")))
+        .containsExactly("job-last");
+    assertThat(mongoTemplate.findAll(JobQueueEntry.class))
+        .extracting(JobQueueEntry::getId)
+        .containsExactly("job-retry");
+  }
+
+  private static Job job(String id, AnalysisStatus status, Instant lockedAt) {
+    return Job.builder()
+        .id(id)
+        .analysis(
+            Analysis.builder()
+                .status(status)
+                .nextRunAt(Instant.now().minusSeconds(60))
+                .lockedBy(lockedAt == null ? null : "other-poller")
+                .lockedAt(lockedAt)
+                .build())
+        .build();
+  }
+
+  private static JobQueueEntry entry(String id, AnalysisStatus status, Instant lockedAt) {
+    return JobQueueEntry.builder()
+        .id(id)
+        .status(status)
+        .priority(JobQueueEntry.DEFAULT_PRIORITY)
+        .attempt(lockedAt == null ? 0 : 1)
+        .nextRunAt(Instant.now().minusSeconds(60))
+        .lockedBy(lockedAt == null ? null : "other-poller")
+        .lockedAt(lockedAt)
+        .build();
+  }
+}
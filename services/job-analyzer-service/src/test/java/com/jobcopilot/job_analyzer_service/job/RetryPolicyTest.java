@@ -0,0 +1,75 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.values.Analysis;
+import com.jobcopilot.job_analyzer_service.entity.values.Error;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.enums.ErrorCode;
+import com.jobcopilot.job_analyzer_service.repository.JobCompletion;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+  private static final Instant NOW = Instant.parse("2026-01-18T10:15:30Z");
+  private static final Error TIMEOUT =
+      new Error(ErrorCode.TIMEOUT, "timed out", "Job analysis timed out", true);
+
+  private final RetryPolicy retryPolicy = new RetryPolicy(4, 1000, 3000);
+
+  @Test
+  void doublesTheDelayPerAttemptUpToTheCap() {
+    assertThat(retryPolicy.retryDelayMs(1)).isEqualTo(1000);
+    assertThat(retryPolicy.retryDelayMs(2)).isEqualTo(2000);
+    assertThat(retryPolicy.retryDelayMs(3)).isEqualTo(3000);
+    assertThat(retryPolicy.retryDelayMs(60)).isEqualTo(3000);
+  }
+
+  @Test
+  void retriesRetryableErrorAfterTheDelay() {
+    JobCompletion completion = retryPolicy.onError(job(2), NOW, TIMEOUT);
+
+    assertThat(completion.status()).isEqualTo(AnalysisStatus.PENDING);
+    assertThat(completion.lockedBy()).isEqualTo("poller-1");
+    assertThat(completion.nextRunAt()).isEqualTo(NOW.plusMillis(2000));
+    assertThat(completion.error()).isEqualTo(TIMEOUT);
+  }
+
+  @Test
+  void deadLettersRetryableErrorOnTheLastAttempt() {
+    JobCompletion completion = retryPolicy.onError(job(4), NOW, TIMEOUT);
+
+    assertThat(completion.status()).isEqualTo(AnalysisStatus.DEAD_LETTER);
+    assertThat(completion.nextRunAt()).isNull();
+  }
+
+  @Test
+  void failsOtherErrorsRightAway() {
+    Error parserFailed =
+        new Error(ErrorCode.PARSER_FAILED, "boom", "Job analysis processing failed", false);
+
+    JobCompletion completion = retryPolicy.onError(job(1), NOW, parserFailed);
+
+    assertThat(completion.status()).isEqualTo(AnalysisStatus.FAILED);
+    assertThat(completion.nextRunAt()).isNull();
+  }
+
+  @Test
+  void rejectsInvalidSettings() {
+    assertThatThrownBy(() -> new RetryPolicy(0, 1000, 3000))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new RetryPolicy(3, 0, 3000))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new RetryPolicy(3, 5000, 3000))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Job job(int attempt) {
+    return Job.builder()
+        .id("job-1")
+        .analysis(Analysis.builder().lockedBy("poller-1").attempt(attempt).build())
+        .build();
+  }
+}
@@ -0,0 +1,59 @@
+package com.jobcopilot.job_analyzer_service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class WorkerLimitsTest {
+
+  @Test
+  void reservesNoMoreJobsThanAvailable() {
+    WorkerLimits workerLimits = new WorkerLimits(3, 1);
+
+    assertThat(workerLimits.tryReserveJobs(2)).isEqualTo(2);
+    assertThat(workerLimits.tryReserveJobs(2)).isEqualTo(1);
+    assertThat(workerLimits.tryReserveJobs(2)).isZero();
+
+    workerLimits.releaseJobs(2);
+    assertThat(workerLimits.tryReserveJobs(5)).isEqualTo(2);
+  }
+
+  @Test
+  void runsOnlyAsManyPipelinesAsConfigured() throws Exception {
+    WorkerLimits workerLimits = new WorkerLimits(4, 1);
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<String> first =
+          executor.submit(
+              () ->
+                  workerLimits.cpuBound(
+                      () -> {
+                        running.countDown();
+                        release.await(2, TimeUnit.SECONDS);
+                        return "first";
+                      }));
+      assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+      Future<String> second = executor.submit(() -> workerLimits.cpuBound(() -> "second"));
+
+      Thread.sleep(100);
+      assertThat(second.isDone()).isFalse();
+
+      release.countDown();
+      assertThat(first.get(2, TimeUnit.SECONDS)).isEqualTo("first");
+      assertThat(second.get(2, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+  }
+
+  @Test
+  void rejectsInvalidLimits() {
+    assertThatThrownBy(() -> new WorkerLimits(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new WorkerLimits(1, -1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -7,12 +7,23 @@ import static org.mockito.Mockito.verify;
 import com.jobcopilot.job_analyzer_service.entity.Job;
 import com.jobcopilot.job_analyzer_service.entity.values.Error;
 import com.jobcopilot.job_analyzer_service.entity.values.Input;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
 import com.jobcopilot.job_analyzer_service.enums.ErrorCode;
+import com.jobcopilot.job_analyzer_service.job.JobCompletionSink;
+import com.jobcopilot.job_analyzer_service.job.JobMetrics;
+import com.jobcopilot.job_analyzer_service.job.RetryPolicy;
+import com.jobcopilot.job_analyzer_service.job.WorkerLimits;
 import com.jobcopilot.job_analyzer_service.parser.dictionary.Domain;
 import com.jobcopilot.job_analyzer_service.parser.dictionary.Seniority;
 import com.jobcopilot.job_analyzer_service.parser.model.output.ExtractedMetadataOutput;
-import com.jobcopilot.job_analyzer_service.repository.JobRepository;
-import java.time.Instant;
+import com.jobcopilot.job_analyzer_service.repository.AnalysisResultRepository;
+import com.jobcopilot.job_analyzer_service.repository.JobCompletion;
+import com.jobcopilot.job_analyzer_service.service.AnalysisResultCache;
+import com.jobcopilot.job_analyzer_service.service.JobCompletionRegistry;
+import com.jobcopilot.job_analyzer_service.service.JobDescriptionAnalyzer;
+import com.jobcopilot.parser.exception.PipelineTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -21,13 +32,22 @@ import org.springframework.beans.factory.ObjectProvider;
 class JobAnalysisWorkerServiceTest {
   @Test
   void marksCompletedOnSuccess() throws Exception {
-    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    JobCompletionSink sink = sink();
     com.jobcopilot.parser.ParsingPipeline pipeline =
         Mockito.mock(com.jobcopilot.parser.ParsingPipeline.class);
     ObjectProvider<com.jobcopilot.parser.ParsingPipeline> provider =
         Mockito.mock(ObjectProvider.class);
     Mockito.when(provider.getObject()).thenReturn(pipeline);
-    JobAnalysisService jobAnalysisService = new JobAnalysisService(jobRepository, provider);
+    JobCompletionRegistry registry = Mockito.mock(JobCompletionRegistry.class);
+    JobAnalysisService jobAnalysisService =
+        new JobAnalysisService(
+            new JobDescriptionAnalyzer(provider),
+            Mockito.mock(AnalysisResultCache.class),
+            sink,
+            registry,
+            new RetryPolicy(3, 1000, 60000),
+            new WorkerLimits(64, 2),
+            new JobMetrics(new SimpleMeterRegistry()));
     Job job =
         Job.builder()
             .id("job-1")
@@ -52,26 +72,33 @@ class JobAnalysisWorkerServiceTest {
 
     jobAnalysisService.analyseJob(job);
 
-    verify(jobRepository)
-        .markCompletedWithExtracted(
-            Mockito.eq("job-1"),
-            Mockito.eq("poller-1"),
-            any(Instant.class),
-            Mockito.eq("text"),
-            any(com.jobcopilot.job_analyzer_service.entity.values.Extracted.class));
-    verify(jobRepository, never())
-        .markFailed(Mockito.anyString(), Mockito.anyString(), any(Instant.class), any(Error.class));
+    JobCompletion completion = submitted(sink);
+    org.assertj.core.api.Assertions.assertThat(completion.jobId()).isEqualTo("job-1");
+    org.assertj.core.api.Assertions.assertThat(completion.lockedBy()).isEqualTo("poller-1");
+    org.assertj.core.api.Assertions.assertThat(completion.status())
+        .isEqualTo(AnalysisStatus.COMPLETED);
+    org.assertj.core.api.Assertions.assertThat(completion.normalizedText()).isEqualTo("text");
+    org.assertj.core.api.Assertions.assertThat(completion.extracted()).isNotNull();
+    verify(registry).jobFinished("job-1");
   }
 
   @Test
   void marksFailedOnException() throws Exception {
-    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    JobCompletionSink sink = sink();
     com.jobcopilot.parser.ParsingPipeline pipeline =
         Mockito.mock(com.jobcopilot.parser.ParsingPipeline.class);
     ObjectProvider<com.jobcopilot.parser.ParsingPipeline> provider =
         Mockito.mock(ObjectProvider.class);
     Mockito.when(provider.getObject()).thenReturn(pipeline);
-    JobAnalysisService jobAnalysisService = new JobAnalysisService(jobRepository, provider);
+    JobAnalysisService jobAnalysisService =
+        new JobAnalysisService(
+            new JobDescriptionAnalyzer(provider),
+            Mockito.mock(AnalysisResultCache.class),
+            sink,
+            Mockito.mock(JobCompletionRegistry.class),
+            new RetryPolicy(3, 1000, 60000),
+            new WorkerLimits(64, 2),
+            new JobMetrics(new SimpleMeterRegistry()));
     Job job =
         Job.builder()
             .id("job-2")
@@ -85,30 +112,32 @@ class JobAnalysisWorkerServiceTest {
 
     jobAnalysisService.analyseJob(job);
 
-    ArgumentCaptor<Error> errorCaptor = ArgumentCaptor.forClass(Error.class);
-    verify(jobRepository, never())
-        .markCompletedWithExtracted(
-            Mockito.eq("job-2"),
-            Mockito.eq("poller-2"),
-            any(Instant.class),
-            any(String.class),
-            any(com.jobcopilot.job_analyzer_service.entity.values.Extracted.class));
-    verify(jobRepository)
-        .markFailed(
-            Mockito.eq("job-2"), Mockito.eq("poller-2"), any(Instant.class), errorCaptor.capture());
-    Error error = errorCaptor.getValue();
-    org.assertj.core.api.Assertions.assertThat(error.code()).isEqualTo(ErrorCode.PARSER_FAILED);
+    JobCompletion completion = submitted(sink);
+    org.assertj.core.api.Assertions.assertThat(completion.jobId()).isEqualTo("job-2");
+    org.assertj.core.api.Assertions.assertThat(completion.lockedBy()).isEqualTo("poller-2");
+    org.assertj.core.api.Assertions.assertThat(completion.status())
+        .isEqualTo(AnalysisStatus.FAILED);
+    org.assertj.core.api.Assertions.assertThat(completion.error().code())
+        .isEqualTo(ErrorCode.PARSER_FAILED);
   }
 
   @Test
   void sanitizesErrorMessageBeforePersisting() throws Exception {
-    JobRepository jobRepository = Mockito.mock(JobRepository.class);
+    JobCompletionSink sink = sink();
     com.jobcopilot.parser.ParsingPipeline pipeline =
         Mockito.mock(com.jobcopilot.parser.ParsingPipeline.class);
     ObjectProvider<com.jobcopilot.parser.ParsingPipeline> provider =
         Mockito.mock(ObjectProvider.class);
     Mockito.when(provider.getObject()).thenReturn(pipeline);
-    JobAnalysisService jobAnalysisService = new JobAnalysisService(jobRepository, provider);
+    JobAnalysisService jobAnalysisService =
+        new JobAnalysisService(
+            new JobDescriptionAnalyzer(provider),
+            Mockito.mock(AnalysisResultCache.class),
+            sink,
+            Mockito.mock(JobCompletionRegistry.class),
+            new RetryPolicy(3, 1000, 60000),
+            new WorkerLimits(64, 2),
+            new JobMetrics(new SimpleMeterRegistry()));
     Job job =
         Job.builder()
             .id("job-3")
@@ -124,13 +153,189 @@ class JobAnalysisWorkerServiceTest {
 
     jobAnalysisService.analyseJob(job);
 
-    ArgumentCaptor<Error> errorCaptor = ArgumentCaptor.forClass(Error.class);
-    verify(jobRepository)
-        .markFailed(
-            Mockito.eq("job-3"), Mockito.eq("poller-3"), any(Instant.class), errorCaptor.capture());
-    Error error = errorCaptor.getValue();
+    JobCompletion completion = submitted(sink);
+    org.assertj.core.api.Assertions.assertThat(completion.jobId()).isEqualTo("job-3");
+    Error error = completion.error();
     org.assertj.core.api.Assertions.assertThat(error.message()).doesNotContain("\n");
     org.assertj.core.api.Assertions.assertThat(error.message().length()).isLessThanOrEqualTo(500);
     org.assertj.core.api.Assertions.assertThat(error.message()).startsWith("bad message");
   }
+
+  @Test
+  void marksTimedOutOnPipelineTimeout() throws Exception {
+    JobCompletionSink sink = sink();
+    com.jobcopilot.parser.ParsingPipeline pipeline =
+        Mockito.mock(com.jobcopilot.parser.ParsingPipeline.class);
+    ObjectProvider<com.jobcopilot.parser.ParsingPipeline> provider =
+        Mockito.mock(ObjectProvider.class);
+    Mockito.when(provider.getObject()).thenReturn(pipeline);
+    JobAnalysisService jobAnalysisService =
+        new JobAnalysisService(
+            new JobDescriptionAnalyzer(provider),
+            Mockito.mock(AnalysisResultCache.class),
+            sink,
+            Mockito.mock(JobCompletionRegistry.class),
+            new RetryPolicy(3, 1000, 60000),
+            new WorkerLimits(64, 2),
+            new JobMetrics(new SimpleMeterRegistry()));
+    Job job =
+        Job.builder()
+            .id("job-4")
+            .analysis(
+                com.jobcopilot.job_analyzer_service.entity.values.Analysis.builder()
+                    .lockedBy("poller-4")
+                    .build())
+            .input(Input.builder().rawText("text").build())
+            .build();
+    Mockito.when(pipeline.execute(Mockito.any()))
+        .thenThrow(new PipelineTimeoutException("Pipeline job-analysis did not complete"));
+
+    jobAnalysisService.analyseJob(job);
+
+    JobCompletion completion = submitted(sink);
+    org.assertj.core.api.Assertions.assertThat(completion.jobId()).isEqualTo("job-4");
+    org.assertj.core.api.Assertions.assertThat(completion.error().code())
+        .isEqualTo(ErrorCode.TIMEOUT);
+    org.assertj.core.api.Assertions.assertThat(completion.status())
+        .isEqualTo(AnalysisStatus.PENDING);
+    org.assertj.core.api.Assertions.assertThat(completion.nextRunAt()).isNotNull();
+  }
+
+  @Test
+  void deadLettersTimeoutOnLastAttempt() throws Exception {
+    JobCompletionSink sink = sink();
+    com.jobcopilot.parser.ParsingPipeline pipeline =
+        Mockito.mock(com.jobcopilot.parser.ParsingPipeline.class);
+    ObjectProvider<com.jobcopilot.parser.ParsingPipeline> provider =
+        Mockito.mock(ObjectProvider.class);
+    Mockito.when(provider.getObject()).thenReturn(pipeline);
+    JobCompletionRegistry registry = Mockito.mock(JobCompletionRegistry.class);
+    JobAnalysisService jobAnalysisService =
+        new JobAnalysisService(
+            new JobDescriptionAnalyzer(provider),
+            Mockito.mock(AnalysisResultCache.class),
+            sink,
+            registry,
+            new RetryPolicy(3, 1000, 60000),
+            new WorkerLimits(64, 2),
+            new JobMetrics(new SimpleMeterRegistry()));
+    Job job =
+        Job.builder()
+            .id("job-8")
+            .analysis(
+                com.jobcopilot.job_analyzer_service.entity.values.Analysis.builder()
+                    .lockedBy("poller-8")
+                    .attempt(3)
+                    .build())
+            .input(Input.builder().rawText("text").build())
+            .build();
+    Mockito.when(pipeline.execute(Mockito.any()))
+        .thenThrow(new PipelineTimeoutException("Pipeline job-analysis did not complete"));
+
+    jobAnalysisService.analyseJob(job);
+
+    JobCompletion completion = submitted(sink);
+    org.assertj.core.api.Assertions.assertThat(completion.status())
+        .isEqualTo(AnalysisStatus.DEAD_LETTER);
+    org.assertj.core.api.Assertions.assertThat(completion.nextRunAt()).isNull();
+    verify(registry).jobFinished("job-8");
+  }
+
+  @Test
+  void analysesDuplicateDescriptionOnce() throws Exception {
+    JobCompletionSink sink = sink();
+    com.jobcopilot.parser.ParsingPipeline pipeline =
+        Mockito.mock(com.jobcopilot.parser.ParsingPipeline.class);
+    ObjectProvider<com.jobcopilot.parser.ParsingPipeline> provider =
+        Mockito.mock(ObjectProvider.class);
+    Mockito.when(provider.getObject()).thenReturn(pipeline);
+    AnalysisResultCache cache =
+        new AnalysisResultCache(Mockito.mock(AnalysisResultRepository.class), "1", 10, 3, 100);
+    JobAnalysisService jobAnalysisService =
+        new JobAnalysisService(
+            new JobDescriptionAnalyzer(provider),
+            cache,
+            sink,
+            Mockito.mock(JobCompletionRegistry.class),
+            new RetryPolicy(3, 1000, 60000),
+            new WorkerLimits(64, 2),
+            new JobMetrics(new SimpleMeterRegistry()));
+    Mockito.when(pipeline.execute(Mockito.any()))
+        .thenReturn(
+            new ExtractedMetadataOutput(
+                "text",
+                "text",
+                Seniority.SENIOR,
+                "",
+                Domain.UNKNOWN,
+                "",
+                java.util.List.of("java"),
+                java.util.List.of(),
+                java.util.List.of()));
+
+    for (String id : java.util.List.of("job-5", "job-6")) {
+      jobAnalysisService.analyseJob(
+          Job.builder()
+              .id(id)
+              .analysis(
+                  com.jobcopilot.job_analyzer_service.entity.values.Analysis.builder()
+                      .lockedBy("poller-5")
+                      .build())
+              .input(Input.builder().rawText("text").contentHash(cache.contentHash("text")).build())
+              .build());
+    }
+
+    verify(pipeline, Mockito.times(1)).execute(Mockito.any());
+    ArgumentCaptor<JobCompletion> completions = ArgumentCaptor.forClass(JobCompletion.class);
+    verify(sink, Mockito.times(2)).submit(completions.capture());
+    org.assertj.core.api.Assertions.assertThat(completions.getAllValues())
+        .extracting(JobCompletion::jobId)
+        .containsExactly("job-5", "job-6");
+  }
+
+  @Test
+  void doesNotAnnounceJobWhoseLockWasLost() throws Exception {
+    com.jobcopilot.parser.ParsingPipeline pipeline =
+        Mockito.mock(com.jobcopilot.parser.ParsingPipeline.class);
+    ObjectProvider<com.jobcopilot.parser.ParsingPipeline> provider =
+        Mockito.mock(ObjectProvider.class);
+    Mockito.when(provider.getObject()).thenReturn(pipeline);
+    JobCompletionSink sink = Mockito.mock(JobCompletionSink.class);
+    Mockito.when(sink.submit(any())).thenReturn(CompletableFuture.completedFuture(false));
+    JobCompletionRegistry registry = Mockito.mock(JobCompletionRegistry.class);
+    JobAnalysisService jobAnalysisService =
+        new JobAnalysisService(
+            new JobDescriptionAnalyzer(provider),
+            Mockito.mock(AnalysisResultCache.class),
+            sink,
+            registry,
+            new RetryPolicy(3, 1000, 60000),
+            new WorkerLimits(64, 2),
+            new JobMetrics(new SimpleMeterRegistry()));
+    Mockito.when(pipeline.execute(Mockito.any())).thenThrow(new RuntimeException("boom"));
+
+    jobAnalysisService.analyseJob(
+        Job.builder()
+            .id("job-7")
+            .analysis(
+                com.jobcopilot.job_analyzer_service.entity.values.Analysis.builder()
+                    .lockedBy("poller-7")
+                    .build())
+            .input(Input.builder().rawText("text").build())
+            .build());
+
+    verify(registry, never()).jobFinished(Mockito.anyString());
+  }
+
+  private static JobCompletionSink sink() {
+    JobCompletionSink sink = Mockito.mock(JobCompletionSink.class);
+    Mockito.when(sink.submit(any())).thenReturn(CompletableFuture.completedFuture(true));
+    return sink;
+  }
+
+  private static JobCompletion submitted(JobCompletionSink sink) {
+    ArgumentCaptor<JobCompletion> completion = ArgumentCaptor.forClass(JobCompletion.class);
+    verify(sink).submit(completion.capture());
+    return completion.getValue();
+  }
 }
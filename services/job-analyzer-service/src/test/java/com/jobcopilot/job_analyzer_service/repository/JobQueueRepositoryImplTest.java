@@ -0,0 +1,302 @@
+package com.jobcopilot.job_analyzer_service.repository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import com.jobcopilot.job_analyzer_service.entity.values.Error;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
+import com.jobcopilot.job_analyzer_service.enums.ErrorCode;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.UpdateResult;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+class JobQueueRepositoryImplTest {
+  private static boolean containsKeyRecursive(Object value, String key) {
+    if (value instanceof Document doc) {
+      if (doc.containsKey(key)) {
+        return true;
+      }
+      for (Object nested : doc.values()) {
+        if (containsKeyRecursive(nested, key)) {
+          return true;
+        }
+      }
+    } else if (value instanceof List<?> list) {
+      for (Object nested : list) {
+        if (containsKeyRecursive(nested, key)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean containsValueRecursive(Object value, String needle) {
+    if (value instanceof Document doc) {
+      for (Object nested : doc.values()) {
+        if (containsValueRecursive(nested, needle)) {
+          return true;
+        }
+      }
+    } else if (value instanceof List<?> list) {
+      for (Object nested : list) {
+        if (containsValueRecursive(nested, needle)) {
+          return true;
+        }
+      }
+    } else if (value instanceof Enum<?> enumValue) {
+      return enumValue.name().equals(needle);
+    } else return needle.equals(String.valueOf(value));
+    return false;
+  }
+
+  @Test
+  void acquirePendingJob_triesExpiredLocksThenReadyJobsWithoutOr() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    JobQueueRepositoryImpl repository = new JobQueueRepositoryImpl(provider);
+    Instant now = Instant.parse("2026-01-18T10:15:30Z");
+    Instant lockExpiry = Instant.parse("2026-01-18T10:10:30Z");
+
+    when(mongoOperations.findAndModify(
+            any(Query.class), any(Update.class), any(FindAndModifyOptions.class), any()))
+        .thenReturn(null);
+
+    repository.acquirePendingJob("poller-1", now, lockExpiry, 3);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoOperations, Mockito.times(2))
+        .findAndModify(
+            queryCaptor.capture(), any(Update.class), any(FindAndModifyOptions.class), any());
+
+    Document expired = queryCaptor.getAllValues().getFirst().getQueryObject();
+    org.assertj.core.api.Assertions.assertThat(containsKeyRecursive(expired, "$or")).isFalse();
+    org.assertj.core.api.Assertions.assertThat(containsKeyRecursive(expired, "lockedAt")).isTrue();
+    org.assertj.core.api.Assertions.assertThat(containsKeyRecursive(expired, "attempt")).isTrue();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(expired, "PROCESSING"))
+        .isTrue();
+
+    Query ready = queryCaptor.getAllValues().getLast();
+    org.assertj.core.api.Assertions.assertThat(ready.getQueryObject())
+        .containsEntry("status", AnalysisStatus.PENDING)
+        .containsKey("nextRunAt")
+        .doesNotContainKey("$or");
+    org.assertj.core.api.Assertions.assertThat(ready.getSortObject())
+        .containsExactly(
+            org.assertj.core.api.Assertions.entry("priority", -1),
+            org.assertj.core.api.Assertions.entry("nextRunAt", 1));
+  }
+
+  @Test
+  void acquirePendingJobs_claimsCandidatesWithTheSameCriteria() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    JobQueueRepositoryImpl repository = new JobQueueRepositoryImpl(provider);
+    Instant now = Instant.parse("2026-01-18T10:15:30.123456Z");
+    Instant lockExpiry = Instant.parse("2026-01-18T10:10:30Z");
+    JobQueueEntry candidate = JobQueueEntry.builder().id("job-1").build();
+
+    // Expired locks, then ready jobs for the rest of the limit, then the claimed jobs read back.
+    when(mongoOperations.find(
+            any(Query.class), org.mockito.ArgumentMatchers.eq(JobQueueEntry.class)))
+        .thenReturn(List.of(candidate), List.of(), List.of(candidate));
+
+    List<JobQueueEntry> claimed = repository.acquirePendingJobs("poller-1", now, lockExpiry, 3, 5);
+
+    org.assertj.core.api.Assertions.assertThat(claimed).containsExactly(candidate);
+    ArgumentCaptor<Query> findCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoOperations, Mockito.times(3))
+        .find(findCaptor.capture(), org.mockito.ArgumentMatchers.eq(JobQueueEntry.class));
+    org.assertj.core.api.Assertions.assertThat(findCaptor.getAllValues().get(0).getLimit())
+        .isEqualTo(5);
+    org.assertj.core.api.Assertions.assertThat(findCaptor.getAllValues().get(1).getLimit())
+        .isEqualTo(4);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    verify(mongoOperations)
+        .updateMulti(
+            queryCaptor.capture(),
+            updateCaptor.capture(),
+            org.mockito.ArgumentMatchers.eq(JobQueueEntry.class));
+    Document query = queryCaptor.getValue().getQueryObject();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "job-1")).isTrue();
+    org.assertj.core.api.Assertions.assertThat(containsKeyRecursive(query, "lockedAt")).isTrue();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "PENDING")).isTrue();
+
+    Document update = updateCaptor.getValue().getUpdateObject();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(update, "poller-1")).isTrue();
+    Document claimedQuery = findCaptor.getAllValues().getLast().getQueryObject();
+    org.assertj.core.api.Assertions.assertThat(
+            containsValueRecursive(claimedQuery, "2026-01-18T10:15:30.123Z"))
+        .isTrue();
+  }
+
+  @Test
+  void acquirePendingJobs_skipsQueryWithoutCapacity() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    JobQueueRepositoryImpl repository = new JobQueueRepositoryImpl(provider);
+
+    org.assertj.core.api.Assertions.assertThat(
+            repository.acquirePendingJobs("poller-1", Instant.now(), Instant.now(), 3, 0))
+        .isEmpty();
+    Mockito.verifyNoInteractions(mongoOperations);
+  }
+
+  @Test
+  void renewLocks_extendsOnlyLocksStillHeld() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    JobQueueRepositoryImpl repository = new JobQueueRepositoryImpl(provider);
+    Instant now = Instant.parse("2026-01-18T10:15:30Z");
+    when(mongoOperations.updateMulti(
+            any(Query.class),
+            any(Update.class),
+            org.mockito.ArgumentMatchers.eq(JobQueueEntry.class)))
+        .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+
+    long renewed = repository.renewLocks("poller-1", List.of("job-1", "job-2"), now);
+
+    org.assertj.core.api.Assertions.assertThat(renewed).isEqualTo(2);
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    verify(mongoOperations)
+        .updateMulti(
+            queryCaptor.capture(),
+            updateCaptor.capture(),
+            org.mockito.ArgumentMatchers.eq(JobQueueEntry.class));
+    Document query = queryCaptor.getValue().getQueryObject();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "job-2")).isTrue();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "poller-1")).isTrue();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "PROCESSING"))
+        .isTrue();
+    Document update = updateCaptor.getValue().getUpdateObject();
+    org.assertj.core.api.Assertions.assertThat(containsKeyRecursive(update, "lockedAt")).isTrue();
+  }
+
+  @Test
+  void release_removesFinishedEntriesAndRequeuesRetries() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    BulkOperations bulk = Mockito.mock(BulkOperations.class);
+    when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, JobQueueEntry.class))
+        .thenReturn(bulk);
+    JobQueueRepositoryImpl repository = new JobQueueRepositoryImpl(provider);
+    Instant now = Instant.parse("2026-01-18T10:15:30Z");
+    Error timeout = new Error(ErrorCode.TIMEOUT, "timed out", "Job analysis timed out", true);
+
+    repository.release(
+        List.of(
+            JobCompletion.completed("job-1", "poller-1", now, "normalized", null),
+            JobCompletion.retry("job-2", "poller-1", now, timeout, now.plusSeconds(5))));
+
+    ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+    verify(bulk).remove(removed.capture());
+    org.assertj.core.api.Assertions.assertThat(removed.getValue().getQueryObject())
+        .containsEntry("_id", "job-1")
+        .containsEntry("lockedBy", "poller-1");
+    ArgumentCaptor<Query> requeued = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+    verify(bulk).updateOne(requeued.capture(), update.capture());
+    org.assertj.core.api.Assertions.assertThat(requeued.getValue().getQueryObject())
+        .containsEntry("_id", "job-2")
+        .containsEntry("lockedBy", "poller-1");
+    org.assertj.core.api.Assertions.assertThat(
+            (Document) update.getValue().getUpdateObject().get("$set"))
+        .containsEntry("status", AnalysisStatus.PENDING)
+        .containsEntry("nextRunAt", now.plusSeconds(5));
+    verify(bulk).execute();
+  }
+
+  @Test
+  void findBacklog_countsEntriesPerStatus() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    JobQueueRepositoryImpl repository = new JobQueueRepositoryImpl(provider);
+    Instant earliest = Instant.parse("2026-01-18T10:15:30Z");
+    when(mongoOperations.aggregate(
+            any(Aggregation.class),
+            org.mockito.ArgumentMatchers.eq(JobQueueEntry.class),
+            org.mockito.ArgumentMatchers.eq(Document.class)))
+        .thenReturn(
+            new AggregationResults<>(
+                List.of(
+                    new Document("_id", "PENDING")
+                        .append("count", 7)
+                        .append("earliestNextRunAt", Date.from(earliest)),
+                    new Document("_id", "PROCESSING")
+                        .append("count", 2L)
+                        .append("earliestNextRunAt", null)),
+                new Document()));
+
+    org.assertj.core.api.Assertions.assertThat(repository.findBacklog())
+        .containsExactly(
+            new QueueBacklog(AnalysisStatus.PENDING, 7, earliest),
+            new QueueBacklog(AnalysisStatus.PROCESSING, 2, null));
+  }
+
+  @Test
+  void insertMissing_onlySetsFieldsOnInsert() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    BulkOperations bulk = Mockito.mock(BulkOperations.class);
+    when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, JobQueueEntry.class))
+        .thenReturn(bulk);
+    BulkWriteResult result = Mockito.mock(BulkWriteResult.class);
+    when(result.getUpserts()).thenReturn(List.of(new BulkWriteUpsert(0, new BsonString("job-1"))));
+    when(bulk.execute()).thenReturn(result);
+    JobQueueRepositoryImpl repository = new JobQueueRepositoryImpl(provider);
+    Instant nextRunAt = Instant.parse("2026-01-18T10:15:30Z");
+
+    long inserted =
+        repository.insertMissing(
+            List.of(
+                JobQueueEntry.builder()
+                    .id("job-1")
+                    .userId("user-1")
+                    .status(AnalysisStatus.PENDING)
+                    .priority(JobQueueEntry.DEFAULT_PRIORITY)
+                    .nextRunAt(nextRunAt)
+                    .build(),
+                JobQueueEntry.builder().id("job-2").status(AnalysisStatus.PENDING).build()));
+
+    org.assertj.core.api.Assertions.assertThat(inserted).isEqualTo(1);
+    ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+    verify(bulk, Mockito.times(2)).upsert(queries.capture(), updates.capture());
+    org.assertj.core.api.Assertions.assertThat(queries.getAllValues().getFirst().getQueryObject())
+        .containsEntry("_id", "job-1");
+    Document update = updates.getAllValues().getFirst().getUpdateObject();
+    org.assertj.core.api.Assertions.assertThat(update).containsOnlyKeys("$setOnInsert");
+    org.assertj.core.api.Assertions.assertThat((Document) update.get("$setOnInsert"))
+        .containsEntry("userId", "user-1")
+        .containsEntry("status", AnalysisStatus.PENDING)
+        .containsEntry("nextRunAt", nextRunAt);
+  }
+}
@@ -7,8 +7,11 @@ import static org.mockito.Mockito.when;
 import com.jobcopilot.job_analyzer_service.entity.Job;
 import com.jobcopilot.job_analyzer_service.entity.values.Error;
 import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
+import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
 import com.jobcopilot.job_analyzer_service.enums.ErrorCode;
 import com.jobcopilot.job_analyzer_service.parser.dictionary.Domain;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
 import java.time.Instant;
 import java.util.List;
 import org.bson.Document;
@@ -16,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Query;
@@ -62,34 +66,72 @@ class JobRepositoryImplTest {
   }
 
   @Test
-  void acquirePendingJob_includesLockExpiryAndMaxAttempts() {
+  void startJob_takesOverUnfinishedJobUnderTheNewLock() {
     MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
     ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
     when(provider.getObject()).thenReturn(mongoOperations);
     JobRepositoryImpl repository = new JobRepositoryImpl(provider);
     Instant now = Instant.parse("2026-01-18T10:15:30Z");
-    Instant lockExpiry = Instant.parse("2026-01-18T10:10:30Z");
-
+    Job job = Job.builder().id("job-1").build();
     when(mongoOperations.findAndModify(
-            any(Query.class), any(Update.class), any(FindAndModifyOptions.class), any()))
-        .thenReturn(null);
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            org.mockito.ArgumentMatchers.eq(Job.class)))
+        .thenReturn(job);
 
-    repository.acquirePendingJob("poller-1", now, lockExpiry, 3);
+    org.assertj.core.api.Assertions.assertThat(repository.startJob("job-1", "poller-1", 2, now))
+        .contains(job);
 
     ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
     verify(mongoOperations)
         .findAndModify(
-            queryCaptor.capture(), any(Update.class), any(FindAndModifyOptions.class), any());
-
+            queryCaptor.capture(),
+            updateCaptor.capture(),
+            any(FindAndModifyOptions.class),
+            org.mockito.ArgumentMatchers.eq(Job.class));
     Document query = queryCaptor.getValue().getQueryObject();
-    org.assertj.core.api.Assertions.assertThat(query.containsKey("$or")).isTrue();
-    org.assertj.core.api.Assertions.assertThat(containsKeyRecursive(query, "analysis.lockedAt"))
-        .isTrue();
-    org.assertj.core.api.Assertions.assertThat(containsKeyRecursive(query, "analysis.attempt"))
-        .isTrue();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "job-1")).isTrue();
     org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "PENDING")).isTrue();
     org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "PROCESSING"))
         .isTrue();
+    Document set = (Document) updateCaptor.getValue().getUpdateObject().get("$set");
+    org.assertj.core.api.Assertions.assertThat(set)
+        .containsEntry("analysis.status", AnalysisStatus.PROCESSING)
+        .containsEntry("analysis.lockedBy", "poller-1")
+        .containsEntry("analysis.attempt", 2);
+  }
+
+  @Test
+  void deadLetterJobs_leavesFinishedJobsAlone() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    JobRepositoryImpl repository = new JobRepositoryImpl(provider);
+    when(mongoOperations.updateMulti(
+            any(Query.class), any(Update.class), org.mockito.ArgumentMatchers.eq(Job.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+    org.assertj.core.api.Assertions.assertThat(
+            repository.deadLetterJobs(List.of("job-1"), Instant.parse("2026-01-18T10:15:30Z")))
+        .isEqualTo(1);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    verify(mongoOperations)
+        .updateMulti(
+            queryCaptor.capture(),
+            updateCaptor.capture(),
+            org.mockito.ArgumentMatchers.eq(Job.class));
+    Document query = queryCaptor.getValue().getQueryObject();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "COMPLETED"))
+        .isFalse();
+    org.assertj.core.api.Assertions.assertThat(containsValueRecursive(query, "PROCESSING"))
+        .isTrue();
+    org.assertj.core.api.Assertions.assertThat(
+            containsValueRecursive(updateCaptor.getValue().getUpdateObject(), "DEAD_LETTER"))
+        .isTrue();
   }
 
   @Test
@@ -101,7 +143,14 @@ class JobRepositoryImplTest {
     Instant now = Instant.parse("2026-01-18T10:15:30Z");
     Extracted extracted = Extracted.builder().domain(Domain.BACKEND).build();
 
-    repository.markCompletedWithExtracted("job-1", "poller-1", now, "normalized", extracted);
+    when(mongoOperations.updateFirst(
+            any(Query.class), any(Update.class), org.mockito.ArgumentMatchers.eq(Job.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+    org.assertj.core.api.Assertions.assertThat(
+            repository.markCompletedWithExtracted(
+                "job-1", "poller-1", now, "normalized", extracted))
+        .isTrue();
 
     ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
     ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
@@ -135,7 +184,13 @@ class JobRepositoryImplTest {
     Instant now = Instant.parse("2026-01-18T10:15:30Z");
     Error error = new Error(ErrorCode.PARSER_FAILED, "msg", "detail", false);
 
-    repository.markFailed("job-2", "poller-2", now, error);
+    when(mongoOperations.updateFirst(
+            any(Query.class), any(Update.class), org.mockito.ArgumentMatchers.eq(Job.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+    org.assertj.core.api.Assertions.assertThat(
+            repository.markFailed("job-2", "poller-2", now, error))
+        .isTrue();
 
     ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
     ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
@@ -157,4 +212,113 @@ class JobRepositoryImplTest {
         .isTrue();
     org.assertj.core.api.Assertions.assertThat(containsValueRecursive(update, "FAILED")).isTrue();
   }
+
+  @Test
+  void findAnalysisResult_scopesToUserAndLeavesOutDescription() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    JobRepositoryImpl repository = new JobRepositoryImpl(provider);
+
+    repository.findAnalysisResult("job-1", "user-1");
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoOperations)
+        .findOne(queryCaptor.capture(), org.mockito.ArgumentMatchers.eq(Job.class));
+    Query query = queryCaptor.getValue();
+    org.assertj.core.api.Assertions.assertThat(query.getQueryObject())
+        .containsEntry("_id", "job-1")
+        .containsEntry("userId", "user-1");
+    org.assertj.core.api.Assertions.assertThat(query.getFieldsObject())
+        .containsKeys("analysis", "extracted", "updatedAt")
+        .doesNotContainKey("input.rawText");
+  }
+
+  @Test
+  void markFinished_writesTheBatchInOneUnorderedBulkUpdate() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    BulkOperations bulk = Mockito.mock(BulkOperations.class);
+    when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class)).thenReturn(bulk);
+    BulkWriteResult result = Mockito.mock(BulkWriteResult.class);
+    when(result.getMatchedCount()).thenReturn(2);
+    when(bulk.execute()).thenReturn(result);
+    JobRepositoryImpl repository = new JobRepositoryImpl(provider);
+    Instant now = Instant.parse("2026-01-18T10:15:30Z");
+
+    List<Boolean> written =
+        repository.markFinished(
+            List.of(
+                JobCompletion.completed("job-1", "poller-1", now, "normalized", null),
+                JobCompletion.failed(
+                    "job-2",
+                    "poller-1",
+                    now,
+                    new Error(ErrorCode.PARSER_FAILED, "msg", "detail", false))));
+
+    org.assertj.core.api.Assertions.assertThat(written).containsExactly(true, true);
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(bulk, Mockito.times(2)).updateOne(queryCaptor.capture(), any(Update.class));
+    org.assertj.core.api.Assertions.assertThat(queryCaptor.getAllValues())
+        .allSatisfy(
+            query ->
+                org.assertj.core.api.Assertions.assertThat(
+                        containsValueRecursive(query.getQueryObject(), "poller-1"))
+                    .isTrue());
+    verify(mongoOperations, Mockito.never())
+        .find(any(Query.class), org.mockito.ArgumentMatchers.eq(Job.class));
+  }
+
+  @Test
+  void markFinished_readsBackWhichJobsWereStillHeld() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    BulkOperations bulk = Mockito.mock(BulkOperations.class);
+    when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class)).thenReturn(bulk);
+    BulkWriteResult result = Mockito.mock(BulkWriteResult.class);
+    when(result.getMatchedCount()).thenReturn(1);
+    when(bulk.execute()).thenReturn(result);
+    when(mongoOperations.find(any(Query.class), org.mockito.ArgumentMatchers.eq(Job.class)))
+        .thenReturn(List.of(Job.builder().id("job-2").build()));
+    JobRepositoryImpl repository = new JobRepositoryImpl(provider);
+    Instant now = Instant.parse("2026-01-18T10:15:30.123456Z");
+
+    List<Boolean> written =
+        repository.markFinished(
+            List.of(
+                JobCompletion.completed("job-1", "poller-1", now, "normalized", null),
+                JobCompletion.completed("job-2", "poller-1", now, "normalized", null)));
+
+    org.assertj.core.api.Assertions.assertThat(written).containsExactly(false, true);
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoOperations).find(queryCaptor.capture(), org.mockito.ArgumentMatchers.eq(Job.class));
+    Document query = queryCaptor.getValue().getQueryObject();
+    org.assertj.core.api.Assertions.assertThat(containsKeyRecursive(query, "updatedAt")).isTrue();
+    org.assertj.core.api.Assertions.assertThat(
+            containsValueRecursive(query, Instant.parse("2026-01-18T10:15:30.123Z").toString()))
+        .isTrue();
+  }
+
+  @Test
+  void findUnfinishedJobs_pagesByIdThroughUnfinishedJobs() {
+    MongoOperations mongoOperations = Mockito.mock(MongoOperations.class);
+    ObjectProvider<MongoOperations> provider = Mockito.mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(mongoOperations);
+    JobRepositoryImpl repository = new JobRepositoryImpl(provider);
+
+    repository.findUnfinishedJobs("job-9", 500);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoOperations).find(queryCaptor.capture(), org.mockito.ArgumentMatchers.eq(Job.class));
+    Query query = queryCaptor.getValue();
+    org.assertj.core.api.Assertions.assertThat(query.getQueryObject())
+        .containsEntry(
+            "analysis.status",
+            new Document("$in", List.of(AnalysisStatus.PENDING, AnalysisStatus.PROCESSING)))
+        .containsEntry("_id", new Document("$gt", "job-9"));
+    org.assertj.core.api.Assertions.assertThat(query.getSortObject()).containsEntry("_id", 1);
+    org.assertj.core.api.Assertions.assertThat(query.getLimit()).isEqualTo(500);
+  }
 }
@@ -0,0 +1,232 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.entity.AnalysisResult;
+import com.jobcopilot.job_analyzer_service.parser.model.output.NormalizedJdTextOutput;
+import com.jobcopilot.job_analyzer_service.parser.model.request.JdAnalysisPipelineRequest;
+import com.jobcopilot.job_analyzer_service.parser.stages.JdTextNormalizer;
+import com.jobcopilot.job_analyzer_service.repository.AnalysisResultRepository;
+import com.jobcopilot.job_analyzer_service.service.AnalysisResultCache.Fingerprint;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AnalysisResultCacheTest {
+  private AnalysisResultRepository analysisResultRepository;
+  private AnalysisResultCache cache;
+
+  @BeforeEach
+  void setUp() {
+    analysisResultRepository = Mockito.mock(AnalysisResultRepository.class);
+    when(analysisResultRepository.findById(anyString())).thenReturn(Optional.empty());
+    cache = new AnalysisResultCache(analysisResultRepository, "2", 10, 3, 100);
+  }
+
+  @Test
+  void hashesTheNormalizedText() {
+    assertThat(cache.contentHash("  Java\tengineer  "))
+        .isEqualTo(cache.contentHash("Java engineer"));
+    assertThat(cache.contentHash("Java engineer")).isNotEqualTo(cache.contentHash("Go engineer"));
+    assertThat(cache.contentHash(null)).isNull();
+  }
+
+  @Test
+  void fingerprintsTheTextThePipelineAnalyses() {
+    String raw = "Ｓｅｎｉｏｒ Java engineer\r\n\t• Spring   Boot";
+    NormalizedJdTextOutput normalized =
+        (NormalizedJdTextOutput) new JdTextNormalizer().process(new JdAnalysisPipelineRequest(raw));
+
+    assertThat(cache.fingerprint(raw).normalizedText()).isEqualTo(normalized.normalizedText());
+  }
+
+  @Test
+  void storesResultUnderExtractorVersion() throws Exception {
+    AnalysisResult result =
+        cache.computeIfAbsent("abc", () -> AnalysisResult.builder().normalizedText("t").build());
+
+    assertThat(result.getId()).isEqualTo("2:abc");
+    assertThat(result.getExtractorVersion()).isEqualTo("2");
+    verify(analysisResultRepository).save(result);
+    assertThat(cache.find("abc")).contains(result);
+    verify(analysisResultRepository, times(1)).findById("2:abc");
+  }
+
+  @Test
+  void readsResultsStoredByOtherNodes() throws Exception {
+    AnalysisResult stored = AnalysisResult.builder().id("2:abc").normalizedText("t").build();
+    when(analysisResultRepository.findById("2:abc")).thenReturn(Optional.of(stored));
+
+    assertThat(cache.computeIfAbsent("abc", () -> null)).isEqualTo(stored);
+    verify(analysisResultRepository, never()).save(any());
+  }
+
+  @Test
+  void concurrentDuplicatesWaitForOneRun() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<AnalysisResult>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        results.add(
+            executor.submit(
+                () ->
+                    cache.computeIfAbsent(
+                        "abc",
+                        () -> {
+                          runs.incrementAndGet();
+                          release.await();
+                          return AnalysisResult.builder().normalizedText("t").build();
+                        })));
+      }
+      Thread.sleep(200);
+      release.countDown();
+
+      for (Future<AnalysisResult> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS).getNormalizedText()).isEqualTo("t");
+      }
+      assertThat(runs).hasValue(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void computeIfNotRunningDoesNotWaitForARunInFlight() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<AnalysisResult> first =
+          executor.submit(
+              () ->
+                  cache.computeIfAbsent(
+                      "abc",
+                      () -> {
+                        started.countDown();
+                        release.await();
+                        return AnalysisResult.builder().normalizedText("t").build();
+                      }));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(cache.computeIfNotRunning("abc", () -> AnalysisResult.builder().build()))
+          .isEmpty();
+
+      release.countDown();
+      first.get(5, TimeUnit.SECONDS);
+      assertThat(cache.computeIfNotRunning("abc", () -> null))
+          .map(AnalysisResult::getNormalizedText)
+          .contains("t");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void failedRunIsNotCached() throws Exception {
+    assertThatThrownBy(
+            () ->
+                cache.computeIfAbsent(
+                    "abc",
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    AnalysisResult result =
+        cache.computeIfAbsent("abc", () -> AnalysisResult.builder().normalizedText("t").build());
+    assertThat(result.getNormalizedText()).isEqualTo("t");
+  }
+
+  @Test
+  void findsResultOfNearDuplicate() throws Exception {
+    String posting = posting();
+    AnalysisResult original =
+        cache.computeIfAbsent(
+            cache.contentHash(posting),
+            () ->
+                AnalysisResult.builder()
+                    .normalizedText(cache.fingerprint(posting).normalizedText())
+                    .build());
+
+    Fingerprint repost =
+        cache.fingerprint("Location: Berlin, Germany\nPosted 2026-03-01\n" + posting);
+
+    assertThat(repost.contentHash()).isNotEqualTo(original.getContentHash());
+    assertThat(cache.findSimilar(repost)).contains(original);
+  }
+
+  @Test
+  void reusesExactDuplicatesOnlyWhenNearDuplicatesAreOff() throws Exception {
+    AnalysisResultCache exactOnly =
+        new AnalysisResultCache(analysisResultRepository, "2", 10, -1, 100);
+    String posting = posting();
+    exactOnly.computeIfAbsent(
+        exactOnly.contentHash(posting),
+        () ->
+            AnalysisResult.builder()
+                .normalizedText(exactOnly.fingerprint(posting).normalizedText())
+                .build());
+
+    assertThat(exactOnly.findSimilar(exactOnly.fingerprint(posting))).isPresent();
+    assertThat(exactOnly.findSimilar(exactOnly.fingerprint("Location: Berlin\n" + posting)))
+        .isEmpty();
+  }
+
+  @Test
+  void readsMissingResultsOfBatchInOneQuery() throws Exception {
+    AnalysisResult recent =
+        cache.computeIfAbsent("aaa", () -> AnalysisResult.builder().normalizedText("a").build());
+    AnalysisResult stored = AnalysisResult.builder().id("2:bbb").normalizedText("b").build();
+    when(analysisResultRepository.findAllById(List.of("2:bbb", "2:ccc")))
+        .thenReturn(List.of(stored));
+
+    Map<String, AnalysisResult> found =
+        cache.findAllSimilar(
+            List.of(
+                new Fingerprint("aaa", "a"),
+                new Fingerprint("bbb", "b"),
+                new Fingerprint("ccc", "c")));
+
+    assertThat(found).containsOnly(entry("aaa", recent), entry("bbb", stored));
+    verify(analysisResultRepository).findAllById(List.of("2:bbb", "2:ccc"));
+  }
+
+  @Test
+  void rejectsEmptyCache() {
+    assertThatThrownBy(() -> new AnalysisResultCache(analysisResultRepository, "2", 0, 3, 100))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static String posting() throws IOException {
+    return Files.readString(
+            Path.of("src", "test", "resources", "fixtures", "jd_backend_senior.txt"),
+            StandardCharsets.UTF_8)
+        + Files.readString(
+            Path.of("src", "test", "resources", "fixtures", "real_jd_appzen_backend.txt"),
+            StandardCharsets.UTF_8);
+  }
+}
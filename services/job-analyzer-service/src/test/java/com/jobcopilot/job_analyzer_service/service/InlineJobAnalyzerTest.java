@@ -0,0 +1,135 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.entity.AnalysisResult;
+import com.jobcopilot.job_analyzer_service.repository.AnalysisResultRepository;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class InlineJobAnalyzerTest {
+  private JobDescriptionAnalyzer jobDescriptionAnalyzer;
+  private AnalysisResultCache analysisResultCache;
+
+  @BeforeEach
+  void setUp() {
+    jobDescriptionAnalyzer = Mockito.mock(JobDescriptionAnalyzer.class);
+    AnalysisResultRepository analysisResultRepository =
+        Mockito.mock(AnalysisResultRepository.class);
+    when(analysisResultRepository.findById(anyString())).thenReturn(Optional.empty());
+    analysisResultCache = new AnalysisResultCache(analysisResultRepository, "1", 10, -1, 10);
+  }
+
+  @Test
+  void analysesShortTextAndCachesResult() throws Exception {
+    InlineJobAnalyzer inline =
+        new InlineJobAnalyzer(jobDescriptionAnalyzer, analysisResultCache, 100, 1);
+    when(jobDescriptionAnalyzer.analyse("Go developer"))
+        .thenReturn(AnalysisResult.builder().normalizedText("Go developer").build());
+
+    Optional<AnalysisResult> result =
+        inline.tryAnalyse(analysisResultCache.fingerprint("Go developer"), "Go developer");
+
+    assertThat(result).map(AnalysisResult::getNormalizedText).contains("Go developer");
+    assertThat(analysisResultCache.find(analysisResultCache.contentHash("Go developer")))
+        .isPresent();
+  }
+
+  @Test
+  void queuesLongText() throws Exception {
+    InlineJobAnalyzer inline =
+        new InlineJobAnalyzer(jobDescriptionAnalyzer, analysisResultCache, 5, 1);
+
+    assertThat(inline.tryAnalyse(analysisResultCache.fingerprint("Go developer"), "Go developer"))
+        .isEmpty();
+    verify(jobDescriptionAnalyzer, never()).analyse(anyString());
+  }
+
+  @Test
+  void queuesWhenPipelineFails() throws Exception {
+    InlineJobAnalyzer inline =
+        new InlineJobAnalyzer(jobDescriptionAnalyzer, analysisResultCache, 100, 1);
+    when(jobDescriptionAnalyzer.analyse("Go developer"))
+        .thenThrow(new IllegalStateException("boom"));
+
+    assertThat(inline.tryAnalyse(analysisResultCache.fingerprint("Go developer"), "Go developer"))
+        .isEmpty();
+  }
+
+  @Test
+  void queuesWhenAllPermitsAreTaken() throws Exception {
+    InlineJobAnalyzer inline =
+        new InlineJobAnalyzer(jobDescriptionAnalyzer, analysisResultCache, 100, 1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(jobDescriptionAnalyzer.analyse("first posting"))
+        .thenAnswer(
+            invocation -> {
+              started.countDown();
+              release.await();
+              return AnalysisResult.builder().normalizedText("first posting").build();
+            });
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Optional<AnalysisResult>> first =
+          executor.submit(
+              () ->
+                  inline.tryAnalyse(
+                      analysisResultCache.fingerprint("first posting"), "first posting"));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(
+              inline.tryAnalyse(
+                  analysisResultCache.fingerprint("second posting"), "second posting"))
+          .isEmpty();
+
+      release.countDown();
+      assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void queuesTextAlreadyBeingAnalysed() throws Exception {
+    InlineJobAnalyzer inline =
+        new InlineJobAnalyzer(jobDescriptionAnalyzer, analysisResultCache, 100, 1);
+    String contentHash = analysisResultCache.contentHash("Go developer");
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<AnalysisResult> worker =
+          executor.submit(
+              () ->
+                  analysisResultCache.computeIfAbsent(
+                      contentHash,
+                      () -> {
+                        started.countDown();
+                        release.await();
+                        return AnalysisResult.builder().normalizedText("Go developer").build();
+                      }));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(inline.tryAnalyse(analysisResultCache.fingerprint("Go developer"), "Go developer"))
+          .isEmpty();
+      verify(jobDescriptionAnalyzer, never()).analyse(anyString());
+
+      release.countDown();
+      assertThat(worker.get(5, TimeUnit.SECONDS)).isNotNull();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -2,17 +2,38 @@ package com.jobcopilot.job_analyzer_service.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.jobcopilot.job_analyzer_service.entity.AnalysisResult;
 import com.jobcopilot.job_analyzer_service.entity.Job;
+import com.jobcopilot.job_analyzer_service.entity.JobQueueEntry;
+import com.jobcopilot.job_analyzer_service.entity.values.Analysis;
+import com.jobcopilot.job_analyzer_service.entity.values.Extracted;
 import com.jobcopilot.job_analyzer_service.enums.AnalysisStatus;
 import com.jobcopilot.job_analyzer_service.enums.InputType;
+import com.jobcopilot.job_analyzer_service.exception.JobNotFoundException;
 import com.jobcopilot.job_analyzer_service.exception.ProfileOwnershipException;
+import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisBatchItem;
+import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisBatchRequest;
 import com.jobcopilot.job_analyzer_service.model.request.SubmitJobAnalysisRequest;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisBatchItemResponse;
+import com.jobcopilot.job_analyzer_service.model.response.JobAnalysisResultResponse;
+import com.jobcopilot.job_analyzer_service.repository.AnalysisResultRepository;
+import com.jobcopilot.job_analyzer_service.repository.JobQueueRepository;
 import com.jobcopilot.job_analyzer_service.repository.JobRepository;
+import jakarta.validation.Validation;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -20,14 +41,30 @@ import org.mockito.Mockito;
 
 class JobAnalysisServiceTest {
   private JobRepository jobRepository;
+  private JobQueueRepository jobQueueRepository;
   private ProfileOwnershipService profileOwnershipService;
+  private AnalysisResultRepository analysisResultRepository;
+  private AnalysisResultCache analysisResultCache;
+  private InlineJobAnalyzer inlineJobAnalyzer;
   private JobAnalysisService jobAnalysisService;
 
   @BeforeEach
   void setUp() {
     jobRepository = Mockito.mock(JobRepository.class);
+    jobQueueRepository = Mockito.mock(JobQueueRepository.class);
     profileOwnershipService = Mockito.mock(ProfileOwnershipService.class);
-    jobAnalysisService = new JobAnalysisService(jobRepository, profileOwnershipService);
+    analysisResultRepository = Mockito.mock(AnalysisResultRepository.class);
+    when(analysisResultRepository.findById(anyString())).thenReturn(Optional.empty());
+    analysisResultCache = new AnalysisResultCache(analysisResultRepository, "1", 10, 3, 100);
+    inlineJobAnalyzer = Mockito.mock(InlineJobAnalyzer.class);
+    jobAnalysisService =
+        new JobAnalysisService(
+            jobRepository,
+            jobQueueRepository,
+            profileOwnershipService,
+            analysisResultCache,
+            inlineJobAnalyzer,
+            Validation.buildDefaultValidatorFactory().getValidator());
   }
 
   @Test
@@ -66,12 +103,41 @@ class JobAnalysisServiceTest {
     assertThat(saved.getAnalysis().status()).isEqualTo(AnalysisStatus.PENDING);
     assertThat(saved.getInput().inputType()).isEqualTo(InputType.PASTED);
     assertThat(saved.getInput().rawText()).isEqualTo("raw text");
+    assertThat(saved.getInput().contentHash())
+        .isEqualTo(analysisResultCache.contentHash("raw text"));
     assertThat(saved.getInput().submittedAt()).isNotNull();
 
     assertThat(response.jobId()).isEqualTo("job-1");
     assertThat(response.profileId()).isEqualTo("profile-1");
     assertThat(response.status()).isEqualTo(AnalysisStatus.PENDING);
     assertThat(response.submittedAt()).isNotNull();
+
+    ArgumentCaptor<List<JobQueueEntry>> queued = ArgumentCaptor.forClass(List.class);
+    verify(jobQueueRepository).insertMissing(queued.capture());
+    assertThat(queued.getValue())
+        .singleElement()
+        .satisfies(
+            entry -> {
+              assertThat(entry.getId()).isEqualTo("job-1");
+              assertThat(entry.getUserId()).isEqualTo("user-1");
+              assertThat(entry.getStatus()).isEqualTo(AnalysisStatus.PENDING);
+              assertThat(entry.getPriority()).isEqualTo(JobQueueEntry.DEFAULT_PRIORITY);
+              assertThat(entry.getNextRunAt()).isEqualTo(saved.getAnalysis().nextRunAt());
+            });
+  }
+
+  @Test
+  void submitJobAnalysis_deletesJobThatCouldNotBeQueued() {
+    SubmitJobAnalysisRequest request =
+        new SubmitJobAnalysisRequest("profile-1", InputType.PASTED, "raw text", null, null, null);
+    when(profileOwnershipService.isOwnedByUser("profile-1", "user-1")).thenReturn(true);
+    when(jobRepository.save(any(Job.class)))
+        .thenAnswer(invocation -> invocation.<Job>getArgument(0).toBuilder().id("job-1").build());
+    when(jobQueueRepository.insertMissing(anyList())).thenThrow(new IllegalStateException("down"));
+
+    assertThatThrownBy(() -> jobAnalysisService.submitJobAnalysis(request, "user-1"))
+        .isInstanceOf(IllegalStateException.class);
+    verify(jobRepository).deleteAllById(List.of("job-1"));
   }
 
   @Test
@@ -106,4 +172,208 @@ class JobAnalysisServiceTest {
     assertThat(response.status()).isEqualTo(AnalysisStatus.PENDING);
     assertThat(response.submittedAt()).isNotNull();
   }
+
+  @Test
+  void submitJobAnalysis_completesDuplicateDescriptionFromCache() {
+    SubmitJobAnalysisRequest request =
+        new SubmitJobAnalysisRequest(
+            "profile-3", InputType.PASTED, "Senior Java engineer", null, null, null);
+    Extracted extracted = Extracted.builder().requiredSkills(List.of("java")).build();
+    String contentHash = analysisResultCache.contentHash("Senior Java engineer");
+
+    when(profileOwnershipService.isOwnedByUser("profile-3", "user-3")).thenReturn(true);
+    when(analysisResultRepository.findById("1:" + contentHash))
+        .thenReturn(
+            Optional.of(
+                AnalysisResult.builder()
+                    .normalizedText("Senior Java engineer")
+                    .extracted(extracted)
+                    .build()));
+    when(jobRepository.save(any(Job.class)))
+        .thenAnswer(
+            invocation -> {
+              Job input = invocation.getArgument(0);
+              return input.toBuilder().id("job-3").build();
+            });
+
+    var response = jobAnalysisService.submitJobAnalysis(request, "user-3");
+
+    ArgumentCaptor<Job> captor = ArgumentCaptor.forClass(Job.class);
+    verify(jobRepository).save(captor.capture());
+    Job saved = captor.getValue();
+
+    assertThat(saved.getAnalysis().status()).isEqualTo(AnalysisStatus.COMPLETED);
+    assertThat(saved.getAnalysis().completedAt()).isNotNull();
+    assertThat(saved.getExtracted()).isEqualTo(extracted);
+    assertThat(saved.getInput().normalizedText()).isEqualTo("Senior Java engineer");
+    assertThat(response.status()).isEqualTo(AnalysisStatus.COMPLETED);
+    verify(jobQueueRepository, never()).insertMissing(anyList());
+  }
+
+  @Test
+  void submitJobAnalysis_returnsInlineAnalysis() {
+    SubmitJobAnalysisRequest request =
+        new SubmitJobAnalysisRequest(
+            "profile-4", InputType.PASTED, "Go developer", null, null, null);
+    Extracted extracted = Extracted.builder().requiredSkills(List.of("go")).build();
+
+    when(profileOwnershipService.isOwnedByUser("profile-4", "user-4")).thenReturn(true);
+    when(inlineJobAnalyzer.tryAnalyse(any(), eq("Go developer")))
+        .thenReturn(
+            Optional.of(
+                AnalysisResult.builder()
+                    .normalizedText("Go developer")
+                    .extracted(extracted)
+                    .build()));
+    when(jobRepository.save(any(Job.class)))
+        .thenAnswer(
+            invocation -> {
+              Job input = invocation.getArgument(0);
+              return input.toBuilder().id("job-4").build();
+            });
+
+    var response = jobAnalysisService.submitJobAnalysis(request, "user-4");
+
+    assertThat(response.status()).isEqualTo(AnalysisStatus.COMPLETED);
+    assertThat(response.extracted()).isEqualTo(extracted);
+  }
+
+  @Test
+  void submitJobAnalysisBatch_insertsValidItemsTogether() {
+    SubmitJobAnalysisBatchRequest request =
+        new SubmitJobAnalysisBatchRequest(
+            "profile-1",
+            List.of(
+                new SubmitJobAnalysisBatchItem(InputType.PASTED, "first", null, null, null),
+                new SubmitJobAnalysisBatchItem(InputType.PASTED, " ", null, null, null),
+                new SubmitJobAnalysisBatchItem(
+                    InputType.URL, null, "https://example.com/job", null, null)));
+
+    when(profileOwnershipService.isOwnedByUser("profile-1", "user-1")).thenReturn(true);
+    when(jobRepository.insert(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Job> jobs = invocation.getArgument(0);
+              return IntStream.range(0, jobs.size())
+                  .mapToObj(i -> jobs.get(i).toBuilder().id("job-" + i).build())
+                  .toList();
+            });
+
+    var response = jobAnalysisService.submitJobAnalysisBatch(request, "user-1");
+
+    verify(profileOwnershipService, times(1)).isOwnedByUser("profile-1", "user-1");
+    ArgumentCaptor<List<Job>> captor = ArgumentCaptor.forClass(List.class);
+    verify(jobRepository).insert(captor.capture());
+    assertThat(captor.getValue())
+        .extracting(job -> job.getInput().inputType())
+        .containsExactly(InputType.PASTED, InputType.URL);
+    assertThat(captor.getValue())
+        .allSatisfy(job -> assertThat(job.getUserId()).isEqualTo("user-1"));
+
+    assertThat(response.profileId()).isEqualTo("profile-1");
+    assertThat(response.items())
+        .extracting(JobAnalysisBatchItemResponse::index)
+        .containsExactly(0, 1, 2);
+    assertThat(response.items())
+        .extracting(JobAnalysisBatchItemResponse::jobId)
+        .containsExactly("job-0", null, "job-1");
+    assertThat(response.items().get(1).error()).isEqualTo("Invalid input for request type.");
+    assertThat(response.items().get(2).status()).isEqualTo(AnalysisStatus.PENDING);
+    ArgumentCaptor<List<JobQueueEntry>> queued = ArgumentCaptor.forClass(List.class);
+    verify(jobQueueRepository).insertMissing(queued.capture());
+    assertThat(queued.getValue())
+        .extracting(JobQueueEntry::getId, JobQueueEntry::getPriority)
+        .containsExactly(
+            tuple("job-0", JobQueueEntry.BATCH_PRIORITY),
+            tuple("job-1", JobQueueEntry.BATCH_PRIORITY));
+  }
+
+  @Test
+  void submitJobAnalysisBatch_deletesEveryJobWhenQueueingFails() {
+    SubmitJobAnalysisBatchRequest request =
+        new SubmitJobAnalysisBatchRequest(
+            "profile-1",
+            List.of(
+                new SubmitJobAnalysisBatchItem(InputType.PASTED, "cached text", null, null, null),
+                new SubmitJobAnalysisBatchItem(InputType.PASTED, "new text", null, null, null)));
+    String cachedHash = analysisResultCache.contentHash("cached text");
+
+    when(profileOwnershipService.isOwnedByUser("profile-1", "user-1")).thenReturn(true);
+    when(analysisResultRepository.findAllById(anyList()))
+        .thenReturn(
+            List.of(
+                AnalysisResult.builder()
+                    .id("1:" + cachedHash)
+                    .normalizedText("cached text")
+                    .extracted(Extracted.builder().build())
+                    .build()));
+    when(jobRepository.insert(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Job> jobs = invocation.getArgument(0);
+              return IntStream.range(0, jobs.size())
+                  .mapToObj(i -> jobs.get(i).toBuilder().id("job-" + i).build())
+                  .toList();
+            });
+    when(jobQueueRepository.insertMissing(anyList())).thenThrow(new IllegalStateException("down"));
+
+    assertThatThrownBy(() -> jobAnalysisService.submitJobAnalysisBatch(request, "user-1"))
+        .isInstanceOf(IllegalStateException.class);
+
+    ArgumentCaptor<List<Job>> inserted = ArgumentCaptor.forClass(List.class);
+    verify(jobRepository).insert(inserted.capture());
+    assertThat(inserted.getValue())
+        .extracting(job -> job.getAnalysis().status())
+        .containsExactly(AnalysisStatus.COMPLETED, AnalysisStatus.PENDING);
+    verify(jobRepository).deleteAllById(List.of("job-0", "job-1"));
+  }
+
+  @Test
+  void submitJobAnalysisBatch_rejectsWhenProfileNotOwned() {
+    SubmitJobAnalysisBatchRequest request =
+        new SubmitJobAnalysisBatchRequest(
+            "profile-1",
+            List.of(new SubmitJobAnalysisBatchItem(InputType.PASTED, "text", null, null, null)));
+
+    when(profileOwnershipService.isOwnedByUser("profile-1", "user-1")).thenReturn(false);
+
+    assertThatThrownBy(() -> jobAnalysisService.submitJobAnalysisBatch(request, "user-1"))
+        .isInstanceOf(ProfileOwnershipException.class);
+    verify(jobRepository, never()).insert(anyList());
+  }
+
+  @Test
+  void getJobAnalysis_returnsAnalysisOfUsersJob() {
+    Instant completedAt = Instant.parse("2026-01-18T10:15:30Z");
+    Extracted extracted = Extracted.builder().requiredSkills(List.of("java")).build();
+    when(jobRepository.findAnalysisResult("job-1", "user-1"))
+        .thenReturn(
+            Optional.of(
+                Job.builder()
+                    .id("job-1")
+                    .profileId("profile-1")
+                    .analysis(
+                        Analysis.builder()
+                            .status(AnalysisStatus.COMPLETED)
+                            .completedAt(completedAt)
+                            .build())
+                    .extracted(extracted)
+                    .build()));
+
+    JobAnalysisResultResponse response = jobAnalysisService.getJobAnalysis("job-1", "user-1");
+
+    assertThat(response.jobId()).isEqualTo("job-1");
+    assertThat(response.profileId()).isEqualTo("profile-1");
+    assertThat(response.status()).isEqualTo(AnalysisStatus.COMPLETED);
+    assertThat(response.completedAt()).isEqualTo(completedAt);
+    assertThat(response.extracted()).isEqualTo(extracted);
+  }
+
+  @Test
+  void getJobAnalysis_rejectsJobOfAnotherUser() {
+    when(jobRepository.findAnalysisResult("job-1", "user-2")).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> jobAnalysisService.getJobAnalysis("job-1", "user-2"))
+        .isInstanceOf(JobNotFoundException.class);
+  }
 }
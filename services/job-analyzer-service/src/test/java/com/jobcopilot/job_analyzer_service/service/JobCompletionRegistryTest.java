@@ -0,0 +1,90 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.repository.JobRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class JobCompletionRegistryTest {
+  private JobRepository jobRepository;
+  private JobCompletionRegistry registry;
+  private final List<String> notified = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    jobRepository = Mockito.mock(JobRepository.class);
+    registry = new JobCompletionRegistry(jobRepository);
+  }
+
+  @Test
+  void notifiesEveryListenerOnce() {
+    registry.subscribe("job-1", () -> notified.add("first"));
+    registry.subscribe("job-1", () -> notified.add("second"));
+    registry.subscribe("job-2", () -> notified.add("other"));
+
+    registry.jobFinished("job-1");
+    registry.jobFinished("job-1");
+
+    assertThat(notified).containsExactlyInAnyOrder("first", "second");
+  }
+
+  @Test
+  void cancelledListenerIsNotNotified() {
+    Runnable cancel = registry.subscribe("job-1", () -> notified.add("cancelled"));
+    registry.subscribe("job-1", () -> notified.add("kept"));
+
+    cancel.run();
+    registry.jobFinished("job-1");
+
+    assertThat(notified).containsExactly("kept");
+  }
+
+  @Test
+  void failingListenerDoesNotStopTheOthers() {
+    registry.subscribe(
+        "job-1",
+        () -> {
+          throw new IllegalStateException("stream closed");
+        });
+    registry.subscribe("job-1", () -> notified.add("kept"));
+
+    registry.jobFinished("job-1");
+
+    assertThat(notified).containsExactly("kept");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sweepNotifiesJobsFinishedElsewhere() {
+    registry.subscribe("job-1", () -> notified.add("job-1"));
+    registry.subscribe("job-2", () -> notified.add("job-2"));
+    when(jobRepository.findFinishedJobIds(any())).thenReturn(List.of("job-2"));
+
+    registry.sweep();
+
+    ArgumentCaptor<Collection<String>> watched = ArgumentCaptor.forClass(Collection.class);
+    verify(jobRepository).findFinishedJobIds(watched.capture());
+    assertThat(watched.getValue()).containsExactlyInAnyOrder("job-1", "job-2");
+    assertThat(notified).containsExactly("job-2");
+  }
+
+  @Test
+  void sweepSkipsTheQueryWhenNothingIsWatched() {
+    Runnable cancel = registry.subscribe("job-1", () -> notified.add("job-1"));
+    cancel.run();
+
+    registry.sweep();
+
+    verify(jobRepository, never()).findFinishedJobIds(any());
+  }
+}
@@ -0,0 +1,152 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jobcopilot.job_analyzer_service.exception.ProfileServiceException;
+import com.jobcopilot.profile_service.client.ProfileServiceClient;
+import feign.FeignException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.ResponseEntity;
+
+class ProfileOwnershipServiceTest {
+  private final AtomicLong now = new AtomicLong();
+  private ProfileServiceClient profileServiceClient;
+  private ProfileOwnershipService profileOwnershipService;
+
+  @BeforeEach
+  void setUp() {
+    profileServiceClient = Mockito.mock(ProfileServiceClient.class);
+    profileOwnershipService =
+        new ProfileOwnershipService(profileServiceClient, 60000, 5000, 100, now::get);
+  }
+
+  @Test
+  void cachesOwnedProfileUntilTtlExpires() {
+    when(profileServiceClient.getProfile("profile-1", "user-1"))
+        .thenReturn(ResponseEntity.ok().build());
+
+    assertThat(profileOwnershipService.isOwnedByUser("profile-1", "user-1")).isTrue();
+    now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+    assertThat(profileOwnershipService.isOwnedByUser("profile-1", "user-1")).isTrue();
+    verify(profileServiceClient, times(1)).getProfile("profile-1", "user-1");
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+    assertThat(profileOwnershipService.isOwnedByUser("profile-1", "user-1")).isTrue();
+    verify(profileServiceClient, times(2)).getProfile("profile-1", "user-1");
+  }
+
+  @Test
+  void cachesMissingProfileBriefly() {
+    FeignException notFound = feignException(404);
+    when(profileServiceClient.getProfile("profile-1", "user-2")).thenThrow(notFound);
+
+    assertThat(profileOwnershipService.isOwnedByUser("profile-1", "user-2")).isFalse();
+    assertThat(profileOwnershipService.isOwnedByUser("profile-1", "user-2")).isFalse();
+    verify(profileServiceClient, times(1)).getProfile("profile-1", "user-2");
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+    assertThat(profileOwnershipService.isOwnedByUser("profile-1", "user-2")).isFalse();
+    verify(profileServiceClient, times(2)).getProfile("profile-1", "user-2");
+  }
+
+  @Test
+  void doesNotCacheFailures() {
+    FeignException unavailable = feignException(503);
+    when(profileServiceClient.getProfile("profile-1", "user-1"))
+        .thenThrow(unavailable)
+        .thenReturn(ResponseEntity.ok().build());
+
+    assertThatThrownBy(() -> profileOwnershipService.isOwnedByUser("profile-1", "user-1"))
+        .isInstanceOf(ProfileServiceException.class);
+    assertThat(profileOwnershipService.isOwnedByUser("profile-1", "user-1")).isTrue();
+  }
+
+  @Test
+  void invalidateForgetsProfile() {
+    when(profileServiceClient.getProfile("profile-1", "user-1"))
+        .thenReturn(ResponseEntity.ok().build());
+    profileOwnershipService.isOwnedByUser("profile-1", "user-1");
+
+    profileOwnershipService.invalidate("profile-1");
+    profileOwnershipService.isOwnedByUser("profile-1", "user-1");
+
+    verify(profileServiceClient, times(2)).getProfile("profile-1", "user-1");
+  }
+
+  @Test
+  void invalidateDuringCheckKeepsItsAnswerOutOfTheCache() throws Exception {
+    CountDownLatch fetching = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(profileServiceClient.getProfile("profile-1", "user-1"))
+        .thenAnswer(
+            invocation -> {
+              fetching.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return ResponseEntity.ok().build();
+            })
+        .thenThrow(feignException(404));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Boolean> check =
+          executor.submit(() -> profileOwnershipService.isOwnedByUser("profile-1", "user-1"));
+      assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+
+      profileOwnershipService.invalidate("profile-1");
+      release.countDown();
+
+      assertThat(check.get(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(profileOwnershipService.isOwnedByUser("profile-1", "user-1")).isFalse();
+      verify(profileServiceClient, times(2)).getProfile("profile-1", "user-1");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void concurrentChecksShareOneRequest() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    when(profileServiceClient.getProfile("profile-1", "user-1"))
+        .thenAnswer(
+            invocation -> {
+              release.await();
+              return ResponseEntity.ok().build();
+            });
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        results.add(
+            executor.submit(() -> profileOwnershipService.isOwnedByUser("profile-1", "user-1")));
+      }
+      Thread.sleep(200);
+      release.countDown();
+
+      for (Future<Boolean> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+      }
+      verify(profileServiceClient, times(1)).getProfile("profile-1", "user-1");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static FeignException feignException(int status) {
+    FeignException exception = Mockito.mock(FeignException.class);
+    when(exception.status()).thenReturn(status);
+    return exception;
+  }
+}
@@ -0,0 +1,88 @@
+package com.jobcopilot.job_analyzer_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+class SimHashIndexTest {
+  @Test
+  void findsRepostWithChangedLocationAndDate() throws IOException {
+    String posting = posting("jd_backend_senior.txt", "real_jd_appzen_backend.txt");
+    SimHashIndex index = new SimHashIndex(3, 10);
+    index.add("original", posting);
+    index.add("other", posting("real_jd_hive_frontend.txt", "real_jd_whoop_ios.txt"));
+
+    String repost = "Location: Berlin, Germany\nPosted 2026-03-01\n" + posting;
+
+    assertThat(index.findSimilar(repost)).contains("original");
+  }
+
+  @Test
+  void doesNotMatchDifferentPostings() throws IOException {
+    SimHashIndex index = new SimHashIndex(3, 10);
+    index.add("backend", posting("jd_backend_senior.txt", "real_jd_appzen_backend.txt"));
+
+    assertThat(index.findSimilar(posting("real_jd_hive_frontend.txt", "real_jd_whoop_ios.txt")))
+        .isEmpty();
+  }
+
+  @Test
+  void ignoresTextTooShortToCompare() {
+    SimHashIndex index = new SimHashIndex(3, 10);
+    index.add("short", "Senior Java engineer");
+
+    assertThat(index.size()).isZero();
+    assertThat(index.findSimilar("Senior Java engineer")).isEmpty();
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedEntries() throws IOException {
+    String backend = posting("jd_backend_senior.txt", "real_jd_appzen_backend.txt");
+    String frontend = posting("real_jd_hive_frontend.txt", "real_jd_whoop_ios.txt");
+    String data = posting("real_jd_decentraland_data.txt", "real_jd_squire_ml.txt");
+    SimHashIndex index = new SimHashIndex(3, 2);
+    index.add("backend", backend);
+    index.add("frontend", frontend);
+    assertThat(index.findSimilar(backend)).contains("backend");
+
+    index.add("data", data);
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.findSimilar(frontend)).isEmpty();
+    assertThat(index.findSimilar(backend)).contains("backend");
+    assertThat(index.findSimilar(data)).contains("data");
+  }
+
+  @Test
+  void reindexesChangedText() throws IOException {
+    String backend = posting("jd_backend_senior.txt", "real_jd_appzen_backend.txt");
+    String frontend = posting("real_jd_hive_frontend.txt", "real_jd_whoop_ios.txt");
+    SimHashIndex index = new SimHashIndex(3, 10);
+    index.add("key", backend);
+    index.add("key", frontend);
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.findSimilar(backend)).isEmpty();
+    assertThat(index.findSimilar(frontend)).contains("key");
+  }
+
+  @Test
+  void rejectsInvalidBounds() {
+    assertThatThrownBy(() -> new SimHashIndex(-1, 10)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new SimHashIndex(3, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static String posting(String... fixtures) throws IOException {
+    StringBuilder posting = new StringBuilder();
+    for (String fixture : fixtures) {
+      Path path = Path.of("src", "test", "resources", "fixtures", fixture);
+      posting.append(Files.readString(path, StandardCharsets.UTF_8)).append('\n');
+    }
+    return posting.toString();
+  }
+}
@@ -2,19 +2,36 @@ package com.jobcopilot.profile_service.config;
 
 import com.jobcopilot.parser.ParsingPipeline;
 import com.jobcopilot.parser.PipelineBuilder;
+import com.jobcopilot.parser.listener.MicrometerPipelineListener;
+import com.jobcopilot.parser.listener.PipelineListener;
 import com.jobcopilot.profile_service.parser.stages.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class ParserConfig {
 
+  @Bean
+  public PipelineListener parserPipelineListener(MeterRegistry meterRegistry) {
+    return new MicrometerPipelineListener(meterRegistry);
+  }
+
   @Bean
   public ParsingPipeline resumeParsingPipeline(
-      @Qualifier("parserExecutor") ExecutorService parserExecutor) {
+      @Qualifier("parserExecutor") ExecutorService parserExecutor,
+      PipelineListener parserPipelineListener,
+      @Value("${parser.stageTimeoutMs:10000}") long stageTimeoutMs,
+      @Value("${parser.timeoutMs:30000}") long timeoutMs) {
     return PipelineBuilder.init(parserExecutor)
+        .name("resume-text")
+        .listener(parserPipelineListener)
+        .stageTimeout(Duration.ofMillis(stageTimeoutMs))
+        .timeout(Duration.ofMillis(timeoutMs))
         .addStage(new TextNormalizer())
         .addStage(new Sectionizer())
         .addStage(new YearsOfExperienceExtractor())
@@ -27,8 +44,15 @@ public class ParserConfig {
 
   @Bean
   public ParsingPipeline resumePdfParsingPipeline(
-      @Qualifier("parserExecutor") ExecutorService parserExecutor) {
+      @Qualifier("parserExecutor") ExecutorService parserExecutor,
+      PipelineListener parserPipelineListener,
+      @Value("${parser.stageTimeoutMs:10000}") long stageTimeoutMs,
+      @Value("${parser.timeoutMs:30000}") long timeoutMs) {
     return PipelineBuilder.init(parserExecutor)
+        .name("resume-pdf")
+        .listener(parserPipelineListener)
+        .stageTimeout(Duration.ofMillis(stageTimeoutMs))
+        .timeout(Duration.ofMillis(timeoutMs))
         .addStage(new PdfToTextExtractor())
         .addStage(new TextNormalizer())
         .addStage(new Sectionizer())
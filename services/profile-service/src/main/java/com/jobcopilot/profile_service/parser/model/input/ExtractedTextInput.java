@@ -3,4 +3,9 @@ package com.jobcopilot.profile_service.parser.model.input;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 
-public record ExtractedTextInput(String extractedText) implements StageInput, StageOutput {}
+public record ExtractedTextInput(String extractedText) implements StageInput, StageOutput {
+  @Override
+  public int approximateSize() {
+    return extractedText == null ? -1 : extractedText.length();
+  }
+}
@@ -1,4 +1,9 @@
 package com.jobcopilot.profile_service.parser.model.output;
 
 public record NormalizedTextOutput(String normalizedText, String rawText)
-    implements com.jobcopilot.parser.model.output.StageOutput {}
+    implements com.jobcopilot.parser.model.output.StageOutput {
+  @Override
+  public int approximateSize() {
+    return normalizedText == null ? -1 : normalizedText.length();
+  }
+}
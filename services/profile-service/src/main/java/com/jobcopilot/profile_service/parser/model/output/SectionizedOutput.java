@@ -1,5 +1,7 @@
 package com.jobcopilot.profile_service.parser.model.output;
 
+import com.jobcopilot.parser.model.document.TextDocument;
+import com.jobcopilot.parser.model.document.TextSpan;
 import java.util.List;
 import lombok.Builder;
 import lombok.Getter;
@@ -10,26 +12,83 @@ public record SectionizedOutput(String rawText, String normalizedText, List<Sect
     sections = sections == null ? List.of() : List.copyOf(sections);
   }
 
-  @Builder(toBuilder = true)
-  @Getter
+  @Override
+  public int approximateSize() {
+    return normalizedText == null ? -1 : normalizedText.length();
+  }
+
+  /**
+   * A section of the resume. The body is a range of lines of the sectionized document rather than a
+   * copy of them.
+   */
   public static class SectionDetail {
-    private final String name;
+    @Getter private final String name;
+
+    @Getter
     private final com.jobcopilot.profile_service.parser.model.dictionary.ResumeSection section;
-    private final int startLine;
-    private final int endLine;
-    private final List<String> lines;
 
+    @Getter private final int startLine;
+    @Getter private final int endLine;
+    private final TextDocument document;
+    private final int firstBodyLine;
+    private final int bodyLineCount;
+
+    @Builder(toBuilder = true)
     public SectionDetail(
         String name,
         com.jobcopilot.profile_service.parser.model.dictionary.ResumeSection section,
         int startLine,
         int endLine,
-        List<String> lines) {
+        @Builder.ObtainVia(method = "getLines") List<String> lines) {
+      this(
+          name,
+          section,
+          startLine,
+          endLine,
+          TextDocument.of(lines == null ? "" : String.join("\n", lines)),
+          0,
+          lines == null ? 0 : lines.size());
+    }
+
+    private SectionDetail(
+        String name,
+        com.jobcopilot.profile_service.parser.model.dictionary.ResumeSection section,
+        int startLine,
+        int endLine,
+        TextDocument document,
+        int firstBodyLine,
+        int bodyLineCount) {
       this.name = name;
       this.section = section;
       this.startLine = startLine;
       this.endLine = endLine;
-      this.lines = lines == null ? List.of() : List.copyOf(lines);
+      this.document = document;
+      this.firstBodyLine = firstBodyLine;
+      this.bodyLineCount = bodyLineCount;
+    }
+
+    /** A section whose header is {@code startLine} and whose body runs up to {@code endLine}. */
+    public static SectionDetail of(
+        String name,
+        com.jobcopilot.profile_service.parser.model.dictionary.ResumeSection section,
+        int startLine,
+        int endLine,
+        TextDocument document) {
+      return new SectionDetail(
+          name, section, startLine, endLine, document, startLine + 1, endLine - startLine);
+    }
+
+    public List<TextSpan> getLineSpans() {
+      return document.lines().subList(firstBodyLine, firstBodyLine + bodyLineCount);
+    }
+
+    public List<String> getLines() {
+      return getLineSpans().stream().map(TextSpan::toString).toList();
+    }
+
+    /** The body lines joined by line breaks, as a span of the document. */
+    public TextSpan getText() {
+      return document.lines(firstBodyLine, firstBodyLine + bodyLineCount);
     }
   }
 }
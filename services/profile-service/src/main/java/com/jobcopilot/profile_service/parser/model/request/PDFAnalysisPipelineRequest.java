@@ -12,4 +12,9 @@ public record PDFAnalysisPipelineRequest(byte[] pdfBytes, String filename, Strin
   public byte[] pdfBytes() {
     return (pdfBytes == null) ? null : Arrays.copyOf(pdfBytes, pdfBytes.length);
   }
+
+  @Override
+  public int approximateSize() {
+    return pdfBytes == null ? -1 : pdfBytes.length;
+  }
 }
@@ -2,4 +2,9 @@ package com.jobcopilot.profile_service.parser.model.request;
 
 import com.jobcopilot.parser.model.request.PipelineRequest;
 
-public record PlainTextAnalysisPipelineRequest(String plainText) implements PipelineRequest {}
+public record PlainTextAnalysisPipelineRequest(String plainText) implements PipelineRequest {
+  @Override
+  public int approximateSize() {
+    return plainText == null ? -1 : plainText.length();
+  }
+}
@@ -3,6 +3,8 @@ package com.jobcopilot.profile_service.parser.stages;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
+import com.jobcopilot.profile_service.parser.model.output.EducationExtractedOutput;
+import com.jobcopilot.profile_service.parser.model.output.SectionizedOutput;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.regex.Pattern;
@@ -66,6 +68,16 @@ public class EducationExtractor implements PipelineStage {
     return new com.jobcopilot.profile_service.parser.model.output.EducationExtractedOutput(entries);
   }
 
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(SectionizedOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return EducationExtractedOutput.class;
+  }
+
   @Override
   public boolean isParallelizable() {
     return true;
@@ -3,6 +3,8 @@ package com.jobcopilot.profile_service.parser.stages;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
+import com.jobcopilot.profile_service.parser.model.output.ExperienceExtractedOutput;
+import com.jobcopilot.profile_service.parser.model.output.SectionizedOutput;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -56,6 +58,16 @@ public class ExperienceExtractor implements PipelineStage {
         entries);
   }
 
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(SectionizedOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return ExperienceExtractedOutput.class;
+  }
+
   @Override
   public boolean isParallelizable() {
     return true;
@@ -46,4 +46,9 @@ public class ExtractedResumeDataMerger implements PipelineStage {
 
     return response;
   }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return AnalysisPipelineResponse.class;
+  }
 }
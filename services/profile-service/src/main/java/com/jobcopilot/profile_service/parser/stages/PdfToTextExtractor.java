@@ -3,7 +3,10 @@ package com.jobcopilot.profile_service.parser.stages;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
+import com.jobcopilot.profile_service.parser.model.input.ExtractedTextInput;
+import com.jobcopilot.profile_service.parser.model.request.PDFAnalysisPipelineRequest;
 import java.io.ByteArrayInputStream;
+import java.util.List;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.io.RandomAccessReadBuffer;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -39,4 +42,14 @@ public class PdfToTextExtractor implements PipelineStage {
       throw new RuntimeException(ex);
     }
   }
+
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(PDFAnalysisPipelineRequest.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return ExtractedTextInput.class;
+  }
 }
@@ -1,9 +1,13 @@
 package com.jobcopilot.profile_service.parser.stages;
 
+import com.jobcopilot.parser.model.document.TextDocument;
+import com.jobcopilot.parser.model.document.TextSpan;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
 import com.jobcopilot.parser.utils.ParsingUtils;
+import com.jobcopilot.profile_service.parser.model.output.NormalizedTextOutput;
+import com.jobcopilot.profile_service.parser.model.output.SectionizedOutput;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -32,19 +36,23 @@ public class Sectionizer implements PipelineStage {
           "Invalid input type for Sectionizer stage: " + input.getClass());
     }
 
-    List<String> lines = inputText.lines().toList();
+    TextDocument document = TextDocument.of(inputText);
+    List<TextSpan> lines = document.lines();
+    // Like String.lines(), a trailing line break does not start another line.
+    int lineCount =
+        inputText.isEmpty() || inputText.endsWith("\n") ? lines.size() - 1 : lines.size();
     List<com.jobcopilot.profile_service.parser.model.output.SectionizedOutput.SectionDetail>
         sectionDetails = new ArrayList<>();
 
     int i = 0;
-    while (i < lines.size()) {
-      String currentRaw = lines.get(i);
+    while (i < lineCount) {
+      TextSpan currentRaw = lines.get(i);
       if (!ParsingUtils.isLikelyHeader(currentRaw)) {
         i++;
         continue;
       }
 
-      String headerName = currentRaw.trim();
+      String headerName = currentRaw.trim().toString();
       String headerForAlias = normalizeHeaderForAlias(headerName);
       com.jobcopilot.profile_service.parser.model.dictionary.ResumeSection section =
           com.jobcopilot.profile_service.parser.model.dictionary.ResumeSection.fromAliasOrUnknown(
@@ -55,16 +63,15 @@ public class Sectionizer implements PipelineStage {
       }
 
       int startLine = i;
-      List<String> sectionLines = new ArrayList<>();
 
       int j = i + 1;
-      int endLine = lines.size() - 1;
+      int endLine = lineCount - 1;
 
-      while (j < lines.size()) {
-        String nextRaw = lines.get(j);
+      while (j < lineCount) {
+        TextSpan nextRaw = lines.get(j);
 
         if (ParsingUtils.isLikelyHeader(nextRaw)) {
-          String nextHeaderForAlias = normalizeHeaderForAlias(nextRaw);
+          String nextHeaderForAlias = normalizeHeaderForAlias(nextRaw.toString());
           com.jobcopilot.profile_service.parser.model.dictionary.ResumeSection nextSection =
               com.jobcopilot.profile_service.parser.model.dictionary.ResumeSection
                   .fromAliasOrUnknown(nextHeaderForAlias);
@@ -75,26 +82,29 @@ public class Sectionizer implements PipelineStage {
           }
         }
 
-        sectionLines.add(nextRaw);
         j++;
       }
 
       com.jobcopilot.profile_service.parser.model.output.SectionizedOutput.SectionDetail detail =
-          com.jobcopilot.profile_service.parser.model.output.SectionizedOutput.SectionDetail
-              .builder()
-              .name(headerName)
-              .startLine(startLine)
-              .endLine(endLine)
-              .section(section)
-              .lines(sectionLines)
-              .build();
+          com.jobcopilot.profile_service.parser.model.output.SectionizedOutput.SectionDetail.of(
+              headerName, section, startLine, endLine, document);
 
       sectionDetails.add(detail);
 
-      i = Math.min(j, lines.size());
+      i = Math.min(j, lineCount);
     }
 
     return new com.jobcopilot.profile_service.parser.model.output.SectionizedOutput(
         rawText, inputText, sectionDetails);
   }
+
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(NormalizedTextOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return SectionizedOutput.class;
+  }
 }
@@ -1,5 +1,7 @@
 package com.jobcopilot.profile_service.parser.stages;
 
+import com.jobcopilot.parser.matcher.DictionaryMatcher;
+import com.jobcopilot.parser.model.document.TextSpan;
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.stages.PipelineStage;
@@ -8,90 +10,44 @@ import com.jobcopilot.profile_service.parser.model.dictionary.Skill;
 import com.jobcopilot.profile_service.parser.model.output.SectionizedOutput;
 import com.jobcopilot.profile_service.parser.model.output.SkillExtractedOutput;
 import java.util.*;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.springframework.util.CollectionUtils;
 
 public class SkillExtractor implements PipelineStage {
 
-  private static final Map<
-          com.jobcopilot.profile_service.parser.model.dictionary.Skill, List<Pattern>>
-      PATTERNS =
-          compilePatterns(com.jobcopilot.profile_service.parser.model.dictionary.Skill.values());
+  private static final DictionaryMatcher<Skill> SKILL_MATCHER = buildSkillMatcher();
 
-  private static Set<Skill> matchAll(String text, boolean allowAmbiguous) {
-    if (text == null || text.isBlank()) return Set.of();
-
-    // already normalized by TextNormalizer; do not lowercase blindly
-    String lower = text.toLowerCase(Locale.ROOT);
+  private static Set<Skill> matchAll(CharSequence text, boolean allowAmbiguous) {
+    if (text == null || text.isEmpty()) return Set.of();
 
     Set<Skill> found = new HashSet<>();
-
-    for (Map.Entry<Skill, List<Pattern>> entry : PATTERNS.entrySet()) {
-      Skill canonical = entry.getKey();
-
-      if (!allowAmbiguous && canonical.isAmbiguous()) {
-        // Skip ambiguous canonical skills unless we are scanning SKILLS section
-        continue;
-      }
-
-      for (Pattern p : entry.getValue()) {
-        if (p.matcher(lower).find()) {
-          found.add(canonical);
-          break; // no need to match other aliases for the same canonical
-        }
-      }
-    }
+    SKILL_MATCHER.scan(
+        text,
+        match -> {
+          // Skip ambiguous canonical skills unless we are scanning SKILLS section
+          if (allowAmbiguous || !match.value().isAmbiguous()) {
+            found.add(match.value());
+          }
+        });
 
     return found;
   }
 
-  private static String extractSectionText(SectionizedOutput sectionized) {
-    if (CollectionUtils.isEmpty(sectionized.sections())) return "";
+  private static List<TextSpan> extractSectionTexts(SectionizedOutput sectionized) {
+    if (CollectionUtils.isEmpty(sectionized.sections())) return List.of();
 
     return sectionized.sections().stream()
         .filter(d -> d.getSection() == ResumeSection.SKILLS)
-        .flatMap(d -> d.getLines() == null ? Stream.empty() : d.getLines().stream())
-        .collect(Collectors.joining("\n"));
-  }
-
-  private static Map<com.jobcopilot.profile_service.parser.model.dictionary.Skill, List<Pattern>>
-      compilePatterns(com.jobcopilot.profile_service.parser.model.dictionary.Skill[] skills) {
-    Map<com.jobcopilot.profile_service.parser.model.dictionary.Skill, List<Pattern>> out =
-        new HashMap<>();
-    Map<com.jobcopilot.profile_service.parser.model.dictionary.Skill, List<String>> dict =
-        Arrays.stream(skills).collect(Collectors.toMap(skill -> skill, Skill::getAliases));
-    for (Map.Entry<com.jobcopilot.profile_service.parser.model.dictionary.Skill, List<String>> e :
-        dict.entrySet()) {
-      Skill canonical = e.getKey();
-      List<Pattern> patterns = new ArrayList<>();
-      for (String alias : e.getValue()) {
-        patterns.add(Pattern.compile(aliasToRegex(alias)));
-      }
-      out.put(canonical, patterns);
-    }
-    return Collections.unmodifiableMap(out);
+        .map(SectionizedOutput.SectionDetail::getText)
+        .toList();
   }
 
-  /**
-   * Converts an alias into a safe regex. Uses word boundaries where appropriate. Matches are
-   * executed against lowercased text.
-   */
-  private static String aliasToRegex(String alias) {
-    String a = alias.toLowerCase(Locale.ROOT).trim();
-
-    // Special cases with punctuation / symbols
-    // Add more if needed (c++, c#, .net, etc.)
-    if (a.contains(".") || a.contains("+") || a.contains("#")) {
-      // Escape regex metacharacters except spaces (we'll handle spaces below)
-      return Pattern.quote(a).replace("\\ ", "\\s+");
+  private static DictionaryMatcher<Skill> buildSkillMatcher() {
+    DictionaryMatcher.Builder<Skill> builder = DictionaryMatcher.builder();
+    for (Skill skill : Skill.values()) {
+      builder.addAll(skill.getAliases(), skill);
     }
-
-    // Regular word-ish aliases: enforce word boundaries
-    // Convert spaces to \s+ to tolerate formatting
-    String core = a.replaceAll("\\s+", "\\\\s+");
-    return "\\b" + core + "\\b";
+    return builder.build();
   }
 
   @Override
@@ -106,14 +62,12 @@ public class SkillExtractor implements PipelineStage {
     // 1) Build scan regions:
     //    - Prefer SKILLS section (high precision)
     //    - Also optionally scan whole document (for non-ambiguous skills)
-    String skillsSectionText = extractSectionText(sectionized);
+    List<TextSpan> skillsSectionTexts = extractSectionTexts(sectionized);
     String fullText = normalizedText == null ? "" : normalizedText;
 
-    boolean hasSkillsSection = skillsSectionText != null && !skillsSectionText.isBlank();
-
-    // 2) Extract skills from SKILLS section (if present)
+    // 2) Extract skills from SKILLS sections (if present), straight from the section spans
     Set<Skill> extracted = new HashSet<>();
-    if (hasSkillsSection) {
+    for (TextSpan skillsSectionText : skillsSectionTexts) {
       extracted.addAll(matchAll(skillsSectionText, /* allowAmbiguous= */ true));
     }
 
@@ -133,6 +87,16 @@ public class SkillExtractor implements PipelineStage {
     return new SkillExtractedOutput(skills);
   }
 
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(SectionizedOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return SkillExtractedOutput.class;
+  }
+
   @Override
   public boolean isParallelizable() {
     return true;
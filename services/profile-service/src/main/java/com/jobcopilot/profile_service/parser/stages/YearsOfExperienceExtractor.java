@@ -8,6 +8,7 @@ import com.jobcopilot.profile_service.parser.model.output.SectionizedOutput;
 import com.jobcopilot.profile_service.parser.model.output.YearsExtractedOutput;
 import java.time.LocalDate;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -72,6 +73,16 @@ public class YearsOfExperienceExtractor implements PipelineStage {
     return new YearsExtractedOutput(null);
   }
 
+  @Override
+  public List<Class<? extends StageInput>> consumes() {
+    return List.of(SectionizedOutput.class);
+  }
+
+  @Override
+  public Class<? extends StageOutput> produces() {
+    return YearsExtractedOutput.class;
+  }
+
   @Override
   public boolean isParallelizable() {
     return true;
@@ -79,12 +90,11 @@ public class YearsOfExperienceExtractor implements PipelineStage {
 
   private Optional<Integer> extractYearsOfExperienceFromSummary(
       SectionizedOutput.SectionDetail section) {
-    String summaryText = String.join("\n", section.getLines());
-    return extractYearsOfExperienceFromText(summaryText);
+    return extractYearsOfExperienceFromText(section.getText());
   }
 
-  private Optional<Integer> extractYearsOfExperienceFromText(String text) {
-    if (text == null || text.isBlank()) return Optional.empty();
+  private Optional<Integer> extractYearsOfExperienceFromText(CharSequence text) {
+    if (text == null || text.isEmpty()) return Optional.empty();
 
     // Collect all matches and take the maximum (conservative vs undercount)
     Set<Integer> matches =
@@ -102,7 +112,7 @@ public class YearsOfExperienceExtractor implements PipelineStage {
 
   private Optional<Integer> extractYearsOfExperienceFromExperience(
       SectionizedOutput.SectionDetail section) {
-    String experienceText = String.join("\n", section.getLines());
+    CharSequence experienceText = section.getText();
 
     int currentYear = LocalDate.now().getYear();
 
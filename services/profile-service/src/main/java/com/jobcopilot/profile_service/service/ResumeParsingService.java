@@ -1,6 +1,8 @@
 package com.jobcopilot.profile_service.service;
 
 import com.jobcopilot.parser.ParsingPipeline;
+import com.jobcopilot.parser.model.request.PipelineRequest;
+import com.jobcopilot.profile_service.entity.Profile;
 import com.jobcopilot.profile_service.entity.values.*;
 import com.jobcopilot.profile_service.enums.Domain;
 import com.jobcopilot.profile_service.enums.ExperienceLevel;
@@ -12,6 +14,7 @@ import com.jobcopilot.profile_service.parser.model.response.AnalysisPipelineResp
 import com.jobcopilot.profile_service.repository.ProfileRepository;
 import java.time.Instant;
 import java.time.Year;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,74 +38,62 @@ public class ResumeParsingService {
     this.profileRepository = profileRepository;
   }
 
-  public void parseResume(String pastedResume, String profileId, Instant requestedAt) {
+  public CompletableFuture<Void> parseResume(
+      String pastedResume, String profileId, Instant requestedAt) {
     log.info("Received request for parsing resume for parsingId {}", profileId);
     PlainTextAnalysisPipelineRequest pipelineRequest =
         new PlainTextAnalysisPipelineRequest(pastedResume);
 
-    profileRepository
-        .findById(profileId)
-        .ifPresentOrElse(
-            profile -> {
-              try {
-                AnalysisPipelineResponse response =
-                    (AnalysisPipelineResponse) resumeParsingPipeline.execute(pipelineRequest);
-
-                Resume resume = toResume(response, requestedAt, SourceType.PASTED);
-                Derived derived = toDerived(response);
-                profile.setDerived(derived);
-                profile.setResume(resume);
-                profile.setStatus(ProfileStatus.PARSING_COMPLETED);
-                profileRepository.save(profile);
-              } catch (Exception e) {
-                log.error("Error parsing resume for profile id {}", profileId, e);
-                profile.setStatus(ProfileStatus.PARSING_FAILED);
-                profileRepository.save(profile);
-                throw new RuntimeException(e);
-              }
-            },
-            () -> {
-              log.error("Profile {} not found.", profileId);
-              throw new RuntimeException("Could not find profile by id " + profileId);
-            });
-
-    log.info("Parsing complete for profileId {}", profileId);
+    return parse(resumeParsingPipeline, pipelineRequest, profileId, requestedAt, SourceType.PASTED);
   }
 
-  public void parseResumeFile(
+  public CompletableFuture<Void> parseResumeFile(
       byte[] pdfBytes, String filename, String contentType, String profileId, Instant requestedAt) {
     log.info("Received upload parsing request for profile id {}", profileId);
 
     PDFAnalysisPipelineRequest pipelineRequest =
         new PDFAnalysisPipelineRequest(pdfBytes, filename, contentType);
 
-    profileRepository
-        .findById(profileId)
-        .ifPresentOrElse(
-            profile -> {
-              try {
-                AnalysisPipelineResponse response =
-                    (AnalysisPipelineResponse) resumePdfParsingPipeline.execute(pipelineRequest);
+    return parse(
+        resumePdfParsingPipeline, pipelineRequest, profileId, requestedAt, SourceType.UPLOADED);
+  }
 
-                Resume parsedResume = toResume(response, requestedAt, SourceType.UPLOADED);
-                Derived derived = toDerived(response);
-                profile.setDerived(derived);
-                profile.setResume(parsedResume);
-                profile.setStatus(ProfileStatus.PARSING_COMPLETED);
-                profileRepository.save(profile);
-              } catch (Exception e) {
-                log.error("Error parsing resume for profile id {}", profileId, e);
+  private CompletableFuture<Void> parse(
+      ParsingPipeline pipeline,
+      PipelineRequest pipelineRequest,
+      String profileId,
+      Instant requestedAt,
+      SourceType sourceType) {
+    Profile profile =
+        profileRepository
+            .findById(profileId)
+            .orElseThrow(
+                () -> {
+                  log.error("Profile {} not found.", profileId);
+                  return new RuntimeException("Could not find profile by id " + profileId);
+                });
+
+    // The pipeline runs on the parser executor and the profile is saved from its completion, so
+    // the calling thread is released as soon as the request is handed over.
+    return pipeline
+        .executeAsync(pipelineRequest)
+        .thenAccept(
+            response -> {
+              AnalysisPipelineResponse analysis = (AnalysisPipelineResponse) response;
+              profile.setDerived(toDerived(analysis));
+              profile.setResume(toResume(analysis, requestedAt, sourceType));
+              profile.setStatus(ProfileStatus.PARSING_COMPLETED);
+              profileRepository.save(profile);
+              log.info("Parsing complete for profileId {}", profileId);
+            })
+        .whenComplete(
+            (_, error) -> {
+              if (error != null) {
+                log.error("Error parsing resume for profile id {}", profileId, error);
                 profile.setStatus(ProfileStatus.PARSING_FAILED);
                 profileRepository.save(profile);
-                throw new RuntimeException(e);
               }
-            },
-            () -> {
-              log.error("Profile {} not found.", profileId);
-              throw new RuntimeException("Could not find profile by id " + profileId);
             });
-
-    log.info("Parsing complete for profileId {}", profileId);
   }
 
   private Resume toResume(
@@ -1,6 +1,7 @@
 package com.jobcopilot.profile_service.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,6 +20,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -67,7 +69,7 @@ class ResumeParsingServiceTest {
     resumeParsingService =
         new ResumeParsingService(
             resumeParsingPipeline, resumePdfParsingPipeline, profileRepository);
-    resumeParsingService.parseResume("resume text", "profile-1", Instant.now());
+    resumeParsingService.parseResume("resume text", "profile-1", Instant.now()).join();
 
     ArgumentCaptor<Profile> captor = ArgumentCaptor.forClass(Profile.class);
     verify(profileRepository, atLeastOnce()).save(captor.capture());
@@ -96,12 +98,14 @@ class ResumeParsingServiceTest {
     resumeParsingService =
         new ResumeParsingService(
             resumeParsingPipeline, resumePdfParsingPipeline, profileRepository);
-    resumeParsingService.parseResumeFile(
-        new byte[] {0x25, 0x50, 0x44, 0x46},
-        "resume.pdf",
-        "application/pdf",
-        "profile-2",
-        Instant.now());
+    resumeParsingService
+        .parseResumeFile(
+            new byte[] {0x25, 0x50, 0x44, 0x46},
+            "resume.pdf",
+            "application/pdf",
+            "profile-2",
+            Instant.now())
+        .join();
 
     ArgumentCaptor<Profile> captor = ArgumentCaptor.forClass(Profile.class);
     verify(profileRepository, atLeastOnce()).save(captor.capture());
@@ -110,4 +114,27 @@ class ResumeParsingServiceTest {
     assertThat(saved.getResume()).isNotNull();
     assertThat(saved.getResume().source().type()).isEqualTo(SourceType.UPLOADED);
   }
+
+  @Test
+  void parseResume_marksProfileFailedWhenPipelineFails() {
+    Profile profile = Profile.builder().id("profile-3").status(ProfileStatus.CREATED).build();
+    when(profileRepository.findById("profile-3")).thenReturn(Optional.of(profile));
+
+    ParsingPipeline failingPipeline =
+        PipelineBuilder.init()
+            .addStage(
+                _ -> {
+                  throw new IllegalArgumentException("unparseable");
+                })
+            .build();
+    resumeParsingService =
+        new ResumeParsingService(failingPipeline, failingPipeline, profileRepository);
+
+    CompletableFuture<Void> parsing =
+        resumeParsingService.parseResume("resume text", "profile-3", Instant.now());
+
+    assertThatThrownBy(parsing::join).hasCauseInstanceOf(IllegalArgumentException.class);
+    verify(profileRepository).save(profile);
+    assertThat(profile.getStatus()).isEqualTo(ProfileStatus.PARSING_FAILED);
+  }
 }
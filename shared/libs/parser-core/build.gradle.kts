@@ -24,7 +24,9 @@ repositories {
 dependencies {
     compileOnly("org.projectlombok:lombok:1.18.42")
     annotationProcessor("org.projectlombok:lombok:1.18.42")
+    compileOnly("io.micrometer:micrometer-core:1.16.2")
 
+    testImplementation("io.micrometer:micrometer-core:1.16.2")
     testImplementation(platform("org.junit:junit-bom:6.0.2"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -0,0 +1,25 @@
+package com.jobcopilot.parser;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.experimental.UtilityClass;
+
+/** Shared timer for stage and pipeline deadlines. Cancelled deadlines are dropped immediately. */
+@UtilityClass
+class DeadlineScheduler {
+
+  private final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+  ScheduledFuture<?> schedule(Runnable onDeadline, long delayNanos) {
+    return TIMER.schedule(onDeadline, delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private ScheduledThreadPoolExecutor createTimer() {
+    ScheduledThreadPoolExecutor timer =
+        new ScheduledThreadPoolExecutor(
+            1, Thread.ofPlatform().name("parser-deadlines").daemon().factory());
+    timer.setRemoveOnCancelPolicy(true);
+    return timer;
+  }
+}
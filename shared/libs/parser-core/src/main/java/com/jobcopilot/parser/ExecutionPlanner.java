@@ -1,6 +1,11 @@
 package com.jobcopilot.parser;
 
 import com.jobcopilot.parser.model.StageGroup;
+import com.jobcopilot.parser.model.StageNode;
+import com.jobcopilot.parser.model.input.StageInput;
+import com.jobcopilot.parser.model.output.StageOutput;
+import com.jobcopilot.parser.model.request.PipelineRequest;
+import com.jobcopilot.parser.model.response.PipelineResponse;
 import com.jobcopilot.parser.stages.PipelineStage;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,4 +38,127 @@ public class ExecutionPlanner {
 
     return groups;
   }
+
+  /**
+   * Builds the stage dependency graph in topological order. Stages are wired by their declared
+   * input types when every stage declares them, otherwise by position using {@link
+   * #toExecutionPlan(List)}.
+   */
+  public List<StageNode> toDependencyGraph(List<PipelineStage> stages) {
+    boolean declared =
+        !stages.isEmpty() && stages.stream().noneMatch(stage -> stage.consumes().isEmpty());
+    return declared ? wireByDeclaredTypes(stages) : wireByPosition(stages);
+  }
+
+  /**
+   * Checks that every stage is wired to an output it declares it can read and that the last stage
+   * produces a {@link PipelineResponse}. Stages that do not declare their types are not checked.
+   */
+  public void verifyWiring(List<StageNode> graph) {
+    for (StageNode node : graph) {
+      List<Class<? extends StageInput>> inputTypes = node.stage().consumes();
+      if (node.inputKind() != StageNode.InputKind.DIRECT
+          || inputTypes.size() != 1
+          || node.dependencies().getFirst() == StageNode.PIPELINE_REQUEST) {
+        continue;
+      }
+      PipelineStage producer = graph.get(node.dependencies().getFirst()).stage();
+      if (!canReceive(inputTypes.getFirst(), producer.produces())) {
+        throw new IllegalStateException(
+            node.stage().getClass().getName()
+                + " consumes "
+                + inputTypes.getFirst().getName()
+                + " but its input "
+                + producer.getClass().getName()
+                + " produces "
+                + producer.produces().getName());
+      }
+    }
+
+    if (!graph.isEmpty()
+        && !canReceive(PipelineResponse.class, graph.getLast().stage().produces())) {
+      throw new IllegalStateException(
+          "Last stage "
+              + graph.getLast().stage().getClass().getName()
+              + " does not produce a PipelineResponse");
+    }
+  }
+
+  private boolean canReceive(Class<?> inputType, Class<? extends StageOutput> producedType) {
+    // Undeclared stages report plain StageOutput, so their output can only be checked at runtime.
+    return producedType == StageOutput.class || inputType.isAssignableFrom(producedType);
+  }
+
+  private List<StageNode> wireByDeclaredTypes(List<PipelineStage> stages) {
+    List<StageNode> nodes = new ArrayList<>(stages.size());
+    for (int i = 0; i < stages.size(); i++) {
+      PipelineStage stage = stages.get(i);
+      List<Integer> dependencies = new ArrayList<>();
+      for (Class<? extends StageInput> inputType : stage.consumes()) {
+        dependencies.add(findProducer(stages, i, inputType));
+      }
+      StageNode.InputKind inputKind =
+          dependencies.size() == 1
+              ? StageNode.InputKind.DIRECT
+              : StageNode.InputKind.DEPENDENCY_OUTPUTS;
+      nodes.add(new StageNode(i, stage, dependencies, inputKind));
+    }
+    return nodes;
+  }
+
+  private int findProducer(
+      List<PipelineStage> stages, int consumerIndex, Class<? extends StageInput> inputType) {
+    for (int j = consumerIndex - 1; j >= 0; j--) {
+      if (inputType.isAssignableFrom(stages.get(j).produces())) {
+        return j;
+      }
+    }
+    if (PipelineRequest.class.isAssignableFrom(inputType)) {
+      return StageNode.PIPELINE_REQUEST;
+    }
+    throw new IllegalStateException(
+        "No earlier stage produces "
+            + inputType.getName()
+            + " required by "
+            + stages.get(consumerIndex).getClass().getName());
+  }
+
+  private List<StageNode> wireByPosition(List<PipelineStage> stages) {
+    List<StageNode> nodes = new ArrayList<>(stages.size());
+    int groupInput = StageNode.PIPELINE_REQUEST;
+    List<Integer> pendingFanIn = List.of();
+
+    for (StageGroup group : toExecutionPlan(stages)) {
+      if (group.parallel()) {
+        List<Integer> members = new ArrayList<>();
+        for (PipelineStage stage : group.stages()) {
+          int index = nodes.size();
+          nodes.add(new StageNode(index, stage, List.of(groupInput), StageNode.InputKind.DIRECT));
+          members.add(index);
+        }
+        pendingFanIn = members;
+        continue;
+      }
+
+      for (PipelineStage stage : group.stages()) {
+        int index = nodes.size();
+        if (pendingFanIn.isEmpty()) {
+          nodes.add(new StageNode(index, stage, List.of(groupInput), StageNode.InputKind.DIRECT));
+        } else {
+          List<Integer> dependencies = new ArrayList<>();
+          dependencies.add(groupInput);
+          dependencies.addAll(pendingFanIn);
+          nodes.add(
+              new StageNode(index, stage, dependencies, StageNode.InputKind.PARALLEL_OUTPUTS));
+          pendingFanIn = List.of();
+        }
+        groupInput = index;
+      }
+    }
+
+    if (!pendingFanIn.isEmpty()) {
+      throw new IllegalStateException("Pipeline cannot end with a parallel stage group");
+    }
+    return nodes;
+  }
 }
@@ -1,97 +1,422 @@
 package com.jobcopilot.parser;
 
-import com.jobcopilot.parser.model.StageGroup;
+import com.jobcopilot.parser.exception.PipelineTimeoutException;
+import com.jobcopilot.parser.listener.PipelineListener;
+import com.jobcopilot.parser.listener.StageEvent;
+import com.jobcopilot.parser.model.BatchResult;
+import com.jobcopilot.parser.model.StageNode;
 import com.jobcopilot.parser.model.input.StageInput;
+import com.jobcopilot.parser.model.output.DependencyOutputs;
 import com.jobcopilot.parser.model.output.ParallelOutputs;
 import com.jobcopilot.parser.model.output.StageOutput;
 import com.jobcopilot.parser.model.request.PipelineRequest;
 import com.jobcopilot.parser.model.response.PipelineResponse;
 import com.jobcopilot.parser.stages.PipelineStage;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 
+/**
+ * Immutable pipeline compiled by {@link PipelineBuilder}. The stage graph is planned and its wiring
+ * verified once at build time; {@link #execute(PipelineRequest)} only walks the precomputed plan.
+ *
+ * <p>The first stage failure or missed deadline fails the whole run: stages that have not started
+ * are cancelled, running ones are interrupted, and the caller is released without waiting for the
+ * remaining siblings. A stage that ignores interrupts still holds its thread until it returns.
+ */
 public class ParsingPipeline implements AutoCloseable {
 
-  private final List<PipelineStage> stages = new ArrayList<>();
+  private final String name;
   private final ExecutorService executor;
+  private final PipelineListener listener;
+  private final CompiledStage[] plan;
+  private final long timeoutNanos;
+  private final int batchWindow;
+  private final boolean hasDeadlines;
+  private final boolean sequential;
 
-  public ParsingPipeline() {
-    this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
-  }
+  ParsingPipeline(
+      String name,
+      List<PipelineStage> stages,
+      List<Duration> stageTimeouts,
+      ExecutorService executor,
+      PipelineListener listener,
+      Duration timeout,
+      int batchWindow) {
+    this.name = name;
+    this.batchWindow = batchWindow;
+    this.listener = listener;
+    this.executor =
+        executor == null
+            ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())
+            : executor;
+    this.timeoutNanos = timeout == null ? 0 : timeout.toNanos();
+
+    List<StageNode> graph = ExecutionPlanner.toDependencyGraph(List.copyOf(stages));
+    ExecutionPlanner.verifyWiring(graph);
 
-  public ParsingPipeline(ExecutorService executor) {
-    this.executor = executor;
+    int[] dependents = countDependents(graph);
+    this.plan = new CompiledStage[graph.size()];
+    boolean deadlines = timeoutNanos > 0;
+    boolean chain = true;
+    for (StageNode node : graph) {
+      int index = node.index();
+      plan[index] = new CompiledStage(node, dependents, stageTimeouts.get(index));
+      deadlines |= plan[index].timeoutNanos > 0;
+      chain &=
+          node.inputKind() == StageNode.InputKind.DIRECT
+              && node.dependencies().getFirst() == index - 1;
+    }
+    this.hasDeadlines = deadlines;
+    // Deadlines are enforced per stage, so a chain with deadlines runs through the stage graph.
+    this.sequential = plan.length == 0 || (chain && !deadlines);
   }
 
   public ParsingPipeline(ParsingPipeline other) {
+    this.name = other.name;
     this.executor = other.executor;
-    if (other.stages != null) {
-      this.stages.addAll(other.stages);
+    this.listener = other.listener;
+    this.plan = other.plan;
+    this.timeoutNanos = other.timeoutNanos;
+    this.batchWindow = other.batchWindow;
+    this.hasDeadlines = other.hasDeadlines;
+    this.sequential = other.sequential;
+  }
+
+  public PipelineResponse execute(PipelineRequest pipelineRequest) throws Exception {
+    if (sequential) {
+      return toResponse(runSequential(pipelineRequest));
+    }
+
+    // Without deadlines the caller runs the head of the graph itself; with them it only waits, so
+    // a missed deadline can release it.
+    Execution execution = new Execution(pipelineRequest);
+    execution.start(hasDeadlines ? executor : Runnable::run);
+    try {
+      return execution.response.get();
+    } catch (ExecutionException e) {
+      throw (e.getCause() instanceof Exception ex) ? ex : e;
     }
   }
 
-  public void addStage(PipelineStage stage) {
-    this.stages.add(stage);
+  /**
+   * Runs the pipeline without blocking the caller. Every stage runs on the pipeline executor as a
+   * continuation of its inputs, so no thread waits on another.
+   */
+  public CompletableFuture<PipelineResponse> executeAsync(PipelineRequest pipelineRequest) {
+    if (sequential) {
+      try {
+        return CompletableFuture.supplyAsync(
+            () -> toResponse(runSequential(pipelineRequest)), executor);
+      } catch (RejectedExecutionException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    Execution execution = new Execution(pipelineRequest);
+    execution.start(executor);
+    return execution.response;
   }
 
-  public PipelineResponse execute(PipelineRequest pipelineRequest) throws Exception {
-    StageInput currentInput = pipelineRequest;
+  /** Runs every request and returns one result per request, in request order. */
+  public List<BatchResult> executeBatch(List<? extends PipelineRequest> requests)
+      throws InterruptedException {
+    List<BatchResult> results = new ArrayList<>(requests.size());
+    executeStream(requests.iterator(), results::add);
+    return results;
+  }
 
-    List<StageGroup> plan = ExecutionPlanner.toExecutionPlan(this.stages);
+  /**
+   * Streams requests through the pipeline with up to the configured batch window of them in flight
+   * at once, each run as by {@link #executeAsync}. The window is the only bound: there are no
+   * queues between stages, so concurrency is per document and a chain of stages runs on one thread
+   * per document. Requests are pulled from {@code requests} only as the window frees up, and
+   * results are handed to {@code sink} on the calling thread in request order; a failed request
+   * does not stop the stream.
+   */
+  public void executeStream(
+      Iterator<? extends PipelineRequest> requests, Consumer<BatchResult> sink)
+      throws InterruptedException {
+    ArrayDeque<InFlight> window = new ArrayDeque<>(batchWindow);
+    while (requests.hasNext()) {
+      if (window.size() == batchWindow) {
+        sink.accept(window.removeFirst().await());
+      }
+      PipelineRequest request = requests.next();
+      window.addLast(new InFlight(request, executeAsync(request)));
+    }
+    while (!window.isEmpty()) {
+      sink.accept(window.removeFirst().await());
+    }
+  }
 
-    for (StageGroup stageGroup : plan) {
-      if (!stageGroup.parallel()) {
-        currentInput = runSequential(stageGroup.stages(), currentInput);
-      } else {
-        currentInput = runParallel(stageGroup.stages(), currentInput);
+  private record InFlight(PipelineRequest request, CompletableFuture<PipelineResponse> response) {
+    private BatchResult await() throws InterruptedException {
+      try {
+        return BatchResult.success(request, response.get());
+      } catch (ExecutionException e) {
+        return BatchResult.failure(request, e.getCause());
+      } catch (CancellationException e) {
+        return BatchResult.failure(request, e);
       }
     }
+  }
 
-    if (!(currentInput instanceof PipelineResponse response)) {
+  private PipelineResponse toResponse(StageInput finalOutput) {
+    if (!(finalOutput instanceof PipelineResponse response)) {
       throw new IllegalStateException(
           "Last stage did not produce a PipelineResponse. Got: "
-              + currentInput.getClass().getName());
+              + finalOutput.getClass().getName());
     }
 
     return response;
   }
 
-  private StageInput runSequential(List<PipelineStage> stages, StageInput initialInput) {
-    StageInput current = initialInput;
-    for (PipelineStage stage : stages) {
-      current = stage.process(current);
+  private StageInput runSequential(StageInput pipelineRequest) {
+    StageInput current = pipelineRequest;
+    for (CompiledStage compiled : plan) {
+      current = invoke(compiled.stage, current);
     }
     return current;
   }
 
-  private StageOutput runParallel(List<PipelineStage> stages, StageInput inputForGroup)
-      throws Exception {
-    List<CompletableFuture<StageOutput>> futures =
-        stages.stream()
-            .map(
-                stage ->
-                    CompletableFuture.supplyAsync(() -> stage.process(inputForGroup), executor))
-            .toList();
-
-    CompletableFuture<Void> allDone =
-        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
-
-    CompletableFuture<List<StageOutput>> collected =
-        allDone.thenApply(v -> futures.stream().map(CompletableFuture::join).toList());
+  private StageOutput invoke(PipelineStage stage, StageInput input) {
+    if (listener == PipelineListener.NOOP) {
+      return stage.process(input);
+    }
 
-    List<StageOutput> outputs;
+    StageEvent event = new StageEvent(name, stage.getClass(), input.approximateSize());
+    listener.onStageStart(event);
+    long start = System.nanoTime();
     try {
-      outputs = collected.get();
-    } catch (ExecutionException e) {
-      throw (e.getCause() instanceof Exception ex) ? ex : e;
+      StageOutput output = stage.process(input);
+      listener.onStageEnd(event, System.nanoTime() - start);
+      return output;
+    } catch (Throwable t) {
+      // Errors too, such as a StackOverflowError from regex backtracking.
+      listener.onStageFailure(event, System.nanoTime() - start, t);
+      throw t;
     }
+  }
 
-    return new ParallelOutputs(inputForGroup, outputs);
+  private static int[] countDependents(List<StageNode> graph) {
+    // Slot 0 is the pipeline request, slot i + 1 is the stage at index i.
+    int[] dependents = new int[graph.size() + 1];
+    for (StageNode node : graph) {
+      for (int dependency : node.dependencies()) {
+        dependents[dependency + 1]++;
+      }
+    }
+    return dependents;
   }
 
   @Override
   public void close() {
     executor.shutdown();
   }
+
+  /** A single run over the compiled plan. */
+  private final class Execution {
+    private final PipelineRequest pipelineRequest;
+    private final CompletableFuture<StageInput> root = new CompletableFuture<>();
+    private final CompletableFuture<PipelineResponse> response = new CompletableFuture<>();
+    private final CompletableFuture<StageInput>[] results;
+
+    /** Thread running each stage, so a failed run can interrupt it; guarded by itself. */
+    private final Thread[] running = new Thread[plan.length];
+
+    @SuppressWarnings("unchecked")
+    private Execution(PipelineRequest pipelineRequest) {
+      this.pipelineRequest = pipelineRequest;
+      this.results = new CompletableFuture[plan.length];
+      for (int i = 0; i < plan.length; i++) {
+        results[i] = schedule(plan[i]);
+      }
+      results[plan.length - 1].whenComplete(
+          (output, error) -> {
+            if (error != null) {
+              fail(error);
+              return;
+            }
+            try {
+              response.complete(toResponse(output));
+            } catch (RuntimeException e) {
+              fail(e);
+            }
+          });
+    }
+
+    /** Hands the request to {@code starter}, which then runs the head of the graph. */
+    private void start(Executor starter) {
+      if (timeoutNanos > 0) {
+        ScheduledFuture<?> deadline =
+            DeadlineScheduler.schedule(
+                () ->
+                    fail(
+                        new PipelineTimeoutException(
+                            "Pipeline "
+                                + name
+                                + " did not complete within "
+                                + millis(timeoutNanos))),
+                timeoutNanos);
+        response.whenComplete((_, _) -> deadline.cancel(false));
+      }
+      try {
+        starter.execute(() -> root.complete(pipelineRequest));
+      } catch (RejectedExecutionException e) {
+        fail(e);
+      }
+    }
+
+    /** Fails the run with the first error and cancels every stage that has not completed. */
+    private void fail(Throwable error) {
+      Throwable cause =
+          error instanceof CompletionException && error.getCause() != null
+              ? error.getCause()
+              : error;
+      if (response.completeExceptionally(cause)) {
+        for (CompletableFuture<StageInput> result : results) {
+          result.cancel(false);
+        }
+        synchronized (running) {
+          for (Thread thread : running) {
+            if (thread != null) {
+              thread.interrupt();
+            }
+          }
+        }
+      }
+    }
+
+    private CompletableFuture<StageInput> schedule(CompiledStage compiled) {
+      CompletableFuture<StageInput> output = new CompletableFuture<>();
+
+      if (compiled.inputKind == StageNode.InputKind.DIRECT) {
+        CompletableFuture<StageInput> input = resultOf(compiled.dependencies[0]);
+        // Siblings fanning out of the same output are forked onto the executor; a plain chain
+        // continues on the thread that produced its input.
+        if (compiled.forked) {
+          input.whenCompleteAsync((value, error) -> run(compiled, value, error, output), executor);
+        } else {
+          input.whenComplete((value, error) -> run(compiled, value, error, output));
+        }
+        return output;
+      }
+
+      CompletableFuture<?>[] inputs = new CompletableFuture<?>[compiled.dependencies.length];
+      for (int i = 0; i < inputs.length; i++) {
+        inputs[i] = resultOf(compiled.dependencies[i]);
+      }
+      CompletableFuture.allOf(inputs)
+          .whenComplete((_, error) -> run(compiled, null, error, output));
+      return output;
+    }
+
+    private void run(
+        CompiledStage compiled,
+        StageInput value,
+        Throwable inputError,
+        CompletableFuture<StageInput> output) {
+      if (inputError != null) {
+        fail(inputError);
+        return;
+      }
+      // A run that failed before the stage registered would never interrupt it.
+      synchronized (running) {
+        if (output.isDone() || response.isDone()) {
+          return;
+        }
+        running[compiled.index] = Thread.currentThread();
+      }
+
+      ScheduledFuture<?> deadline =
+          compiled.timeoutNanos > 0
+              ? DeadlineScheduler.schedule(
+                  () ->
+                      fail(
+                          new PipelineTimeoutException(
+                              "Stage "
+                                  + compiled.stage.getClass().getName()
+                                  + " of pipeline "
+                                  + name
+                                  + " did not complete within "
+                                  + millis(compiled.timeoutNanos))),
+                  compiled.timeoutNanos)
+              : null;
+      try {
+        StageInput input =
+            compiled.inputKind == StageNode.InputKind.DIRECT ? value : fanIn(compiled);
+        output.complete(invoke(compiled.stage, input));
+      } catch (Throwable t) {
+        fail(t);
+      } finally {
+        if (deadline != null) {
+          deadline.cancel(false);
+        }
+        synchronized (running) {
+          running[compiled.index] = null;
+        }
+        // Interrupts only come from a failed run; the thread goes back to the pool without one.
+        if (response.isCompletedExceptionally()) {
+          Thread.interrupted();
+        }
+      }
+    }
+
+    private StageInput fanIn(CompiledStage compiled) {
+      int[] dependencies = compiled.dependencies;
+      if (compiled.inputKind == StageNode.InputKind.PARALLEL_OUTPUTS) {
+        StageOutput[] outputs = new StageOutput[dependencies.length - 1];
+        for (int i = 1; i < dependencies.length; i++) {
+          outputs[i - 1] = (StageOutput) resultOf(dependencies[i]).join();
+        }
+        return new ParallelOutputs(resultOf(dependencies[0]).join(), List.of(outputs));
+      }
+
+      Map<Class<? extends StageInput>, StageInput> outputs =
+          HashMap.newHashMap(dependencies.length);
+      for (int i = 0; i < dependencies.length; i++) {
+        outputs.put(compiled.inputTypes[i], resultOf(dependencies[i]).join());
+      }
+      return new DependencyOutputs(outputs);
+    }
+
+    private CompletableFuture<StageInput> resultOf(int index) {
+      return index == StageNode.PIPELINE_REQUEST ? root : results[index];
+    }
+  }
+
+  private static String millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos) + " ms";
+  }
+
+  private static final class CompiledStage {
+    private final int index;
+    private final PipelineStage stage;
+    private final StageNode.InputKind inputKind;
+    private final int[] dependencies;
+    private final Class<? extends StageInput>[] inputTypes;
+    private final boolean forked;
+    private final long timeoutNanos;
+
+    @SuppressWarnings("unchecked")
+    private CompiledStage(StageNode node, int[] dependents, Duration timeout) {
+      this.index = node.index();
+      this.stage = node.stage();
+      this.inputKind = node.inputKind();
+      this.dependencies = node.dependencies().stream().mapToInt(Integer::intValue).toArray();
+      this.inputTypes =
+          inputKind == StageNode.InputKind.DEPENDENCY_OUTPUTS
+              ? stage.consumes().toArray(new Class[0])
+              : new Class[0];
+      this.forked = inputKind == StageNode.InputKind.DIRECT && dependents[dependencies[0] + 1] > 1;
+      this.timeoutNanos = timeout == null ? 0 : timeout.toNanos();
+    }
+  }
 }
@@ -1,14 +1,24 @@
 package com.jobcopilot.parser;
 
+import com.jobcopilot.parser.listener.PipelineListener;
 import com.jobcopilot.parser.stages.PipelineStage;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
 public class PipelineBuilder {
 
+  private static final int DEFAULT_BATCH_WINDOW = 16;
+
   private final List<PipelineStage> stages = new ArrayList<>();
+  private final List<Duration> stageTimeouts = new ArrayList<>();
   private final ExecutorService executor;
+  private String name = "pipeline";
+  private PipelineListener listener = PipelineListener.NOOP;
+  private Duration defaultStageTimeout;
+  private Duration timeout;
+  private int batchWindow = DEFAULT_BATCH_WINDOW;
 
   private PipelineBuilder(ExecutorService executorService) {
     this.executor = executorService;
@@ -23,16 +33,52 @@ public class PipelineBuilder {
   }
 
   public PipelineBuilder addStage(PipelineStage stage) {
+    return addStage(stage, null);
+  }
+
+  /** Adds a stage that fails the run when it takes longer than {@code stageTimeout}. */
+  public PipelineBuilder addStage(PipelineStage stage, Duration stageTimeout) {
     this.stages.add(stage);
+    this.stageTimeouts.add(stageTimeout);
+    return this;
+  }
+
+  /** Deadline applied to every stage added without its own timeout. */
+  public PipelineBuilder stageTimeout(Duration stageTimeout) {
+    this.defaultStageTimeout = stageTimeout;
+    return this;
+  }
+
+  /** Deadline for a whole run, from the request being handed over to the response. */
+  public PipelineBuilder timeout(Duration timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  public PipelineBuilder name(String name) {
+    this.name = name;
+    return this;
+  }
+
+  public PipelineBuilder listener(PipelineListener listener) {
+    this.listener = listener;
+    return this;
+  }
+
+  /** Maximum number of requests a batch or stream keeps in flight at once, across all stages. */
+  public PipelineBuilder batchWindow(int batchWindow) {
+    if (batchWindow < 1) {
+      throw new IllegalArgumentException("batchWindow must be at least 1");
+    }
+    this.batchWindow = batchWindow;
     return this;
   }
 
   public ParsingPipeline build() {
-    ParsingPipeline pipeline =
-        (executor == null) ? new ParsingPipeline() : new ParsingPipeline(executor);
-    for (PipelineStage stage : stages) {
-      pipeline.addStage(stage);
+    List<Duration> timeouts = new ArrayList<>(stageTimeouts.size());
+    for (Duration stageTimeout : stageTimeouts) {
+      timeouts.add(stageTimeout == null ? defaultStageTimeout : stageTimeout);
     }
-    return pipeline;
+    return new ParsingPipeline(name, stages, timeouts, executor, listener, timeout, batchWindow);
   }
 }
@@ -0,0 +1,7 @@
+package com.jobcopilot.parser.exception;
+
+public class PipelineTimeoutException extends RuntimeException {
+  public PipelineTimeoutException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,76 @@
+package com.jobcopilot.parser.listener;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a {@code parser.stage.duration} timer and a {@code parser.stage.input.size} summary per
+ * stage, tagged by pipeline name and stage class. Meters are cached so the hot path does not
+ * rebuild them on every call.
+ */
+public class MicrometerPipelineListener implements PipelineListener {
+
+  public static final String STAGE_DURATION = "parser.stage.duration";
+  public static final String STAGE_INPUT_SIZE = "parser.stage.input.size";
+
+  private final MeterRegistry registry;
+  private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<MeterKey, DistributionSummary> inputSizes = new ConcurrentHashMap<>();
+
+  public MicrometerPipelineListener(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public void onStageStart(StageEvent event) {
+    if (event.inputSize() < 0) {
+      return;
+    }
+    inputSizes
+        .computeIfAbsent(new MeterKey(event, "none"), this::inputSizeSummary)
+        .record(event.inputSize());
+  }
+
+  @Override
+  public void onStageEnd(StageEvent event, long durationNanos) {
+    timers
+        .computeIfAbsent(new MeterKey(event, "success"), this::durationTimer)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void onStageFailure(StageEvent event, long durationNanos, Throwable failure) {
+    timers
+        .computeIfAbsent(new MeterKey(event, "failure"), this::durationTimer)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private Timer durationTimer(MeterKey key) {
+    return Timer.builder(STAGE_DURATION)
+        .description("Time spent in a single parsing pipeline stage")
+        .tag("pipeline", key.pipelineName())
+        .tag("stage", key.stageType().getSimpleName())
+        .tag("outcome", key.outcome())
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private DistributionSummary inputSizeSummary(MeterKey key) {
+    return DistributionSummary.builder(STAGE_INPUT_SIZE)
+        .description("Approximate size of the input handed to a parsing pipeline stage")
+        .tag("pipeline", key.pipelineName())
+        .tag("stage", key.stageType().getSimpleName())
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private record MeterKey(String pipelineName, Class<?> stageType, String outcome) {
+    private MeterKey(StageEvent event, String outcome) {
+      this(event.pipelineName(), event.stageType(), outcome);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.jobcopilot.parser.listener;
+
+/**
+ * Callback invoked around every stage a {@link com.jobcopilot.parser.ParsingPipeline} runs.
+ * Callbacks run on the thread executing the stage, so implementations must be thread safe and
+ * cheap.
+ */
+public interface PipelineListener {
+
+  PipelineListener NOOP = new PipelineListener() {};
+
+  default void onStageStart(StageEvent event) {}
+
+  default void onStageEnd(StageEvent event, long durationNanos) {}
+
+  default void onStageFailure(StageEvent event, long durationNanos, Throwable failure) {}
+}
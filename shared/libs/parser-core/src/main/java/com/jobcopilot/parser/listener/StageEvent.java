@@ -0,0 +1,6 @@
+package com.jobcopilot.parser.listener;
+
+import com.jobcopilot.parser.stages.PipelineStage;
+
+public record StageEvent(
+    String pipelineName, Class<? extends PipelineStage> stageType, int inputSize) {}
@@ -0,0 +1,263 @@
+package com.jobcopilot.parser.matcher;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Finds every occurrence of a fixed set of phrases in a single pass over the text using an
+ * Aho-Corasick automaton.
+ *
+ * <p>Matching is case-insensitive, a run of whitespace in the text matches a single space in a
+ * phrase, and a phrase that starts or ends with a letter or digit only matches on a word boundary.
+ * This mirrors the {@code \b...\s+...\b} patterns the extractors used to compile per alias.
+ */
+public final class DictionaryMatcher<T> {
+  private static final int ROOT = 0;
+
+  private final Entry<T>[] entries;
+  private final char[][] keys;
+  private final int[][] targets;
+  private final int[] failure;
+  private final int[][] outputs;
+  private final int[] outputLink;
+
+  private DictionaryMatcher(List<Entry<T>> entries, List<Map<Character, Integer>> trie) {
+    @SuppressWarnings("unchecked")
+    Entry<T>[] array = entries.toArray(new Entry[0]);
+    this.entries = array;
+    int states = trie.size();
+    this.keys = new char[states][];
+    this.targets = new int[states][];
+    this.failure = new int[states];
+    this.outputs = new int[states][];
+    this.outputLink = new int[states];
+
+    for (int state = 0; state < states; state++) {
+      Map<Character, Integer> edges = trie.get(state);
+      char[] stateKeys = new char[edges.size()];
+      int i = 0;
+      for (char key : edges.keySet()) {
+        stateKeys[i++] = key;
+      }
+      Arrays.sort(stateKeys);
+      int[] stateTargets = new int[stateKeys.length];
+      for (int k = 0; k < stateKeys.length; k++) {
+        stateTargets[k] = edges.get(stateKeys[k]);
+      }
+      keys[state] = stateKeys;
+      targets[state] = stateTargets;
+    }
+
+    List<List<Integer>> ownOutputs = new ArrayList<>(states);
+    for (int state = 0; state < states; state++) {
+      ownOutputs.add(new ArrayList<>());
+    }
+    for (int id = 0; id < array.length; id++) {
+      ownOutputs.get(array[id].state()).add(id);
+    }
+    for (int state = 0; state < states; state++) {
+      outputs[state] = ownOutputs.get(state).stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    linkFailures();
+  }
+
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  /** Reports every match in the order its last character appears in the text. */
+  public void scan(CharSequence text, Consumer<Match<T>> consumer) {
+    if (text == null || text.isEmpty()) {
+      return;
+    }
+
+    int state = ROOT;
+    boolean previousWhitespace = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (isWhitespace(c)) {
+        if (previousWhitespace) {
+          continue;
+        }
+        previousWhitespace = true;
+        c = ' ';
+      } else {
+        previousWhitespace = false;
+        c = Character.toLowerCase(c);
+      }
+
+      state = next(state, c);
+      for (int out = outputs[state].length > 0 ? state : outputLink[state];
+          out != ROOT;
+          out = outputLink[out]) {
+        for (int id : outputs[out]) {
+          Entry<T> entry = entries[id];
+          int start = startOf(text, i, entry.length());
+          if (isBounded(text, start, i + 1, entry)) {
+            consumer.accept(new Match<>(entry.value(), entry.phrase(), start, i + 1));
+          }
+        }
+      }
+    }
+  }
+
+  public List<Match<T>> findAll(CharSequence text) {
+    List<Match<T>> matches = new ArrayList<>();
+    scan(text, matches::add);
+    return matches;
+  }
+
+  /** Returns the distinct values found in the text, in the order they were first matched. */
+  public Set<T> findValues(CharSequence text) {
+    Set<T> values = new LinkedHashSet<>();
+    scan(text, match -> values.add(match.value()));
+    return values;
+  }
+
+  private int next(int state, char c) {
+    while (true) {
+      int index = Arrays.binarySearch(keys[state], c);
+      if (index >= 0) {
+        return targets[state][index];
+      }
+      if (state == ROOT) {
+        return ROOT;
+      }
+      state = failure[state];
+    }
+  }
+
+  private void linkFailures() {
+    Queue<Integer> queue = new ArrayDeque<>();
+    for (int child : targets[ROOT]) {
+      failure[child] = ROOT;
+      outputLink[child] = ROOT;
+      queue.add(child);
+    }
+
+    while (!queue.isEmpty()) {
+      int state = queue.remove();
+      for (int k = 0; k < keys[state].length; k++) {
+        char c = keys[state][k];
+        int child = targets[state][k];
+        int fallback = next(failure[state], c);
+        failure[child] = fallback;
+        outputLink[child] = outputs[fallback].length > 0 ? fallback : outputLink[fallback];
+        queue.add(child);
+      }
+    }
+  }
+
+  private static int startOf(CharSequence text, int last, int length) {
+    // Walk back over the matched phrase, treating each whitespace run as one character.
+    int start = last + 1;
+    for (int remaining = length; remaining > 0; remaining--) {
+      start--;
+      if (isWhitespace(text.charAt(start))) {
+        while (start > 0 && isWhitespace(text.charAt(start - 1))) {
+          start--;
+        }
+      }
+    }
+    return start;
+  }
+
+  private static boolean isBounded(CharSequence text, int start, int end, Entry<?> entry) {
+    if (entry.wordStart() && start > 0 && isWordChar(text.charAt(start - 1))) {
+      return false;
+    }
+    return !entry.wordEnd() || end >= text.length() || !isWordChar(text.charAt(end));
+  }
+
+  private static boolean isWordChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+  }
+
+  private static String normalize(String phrase) {
+    StringBuilder builder = new StringBuilder(phrase.length());
+    boolean previousWhitespace = false;
+    for (int i = 0; i < phrase.length(); i++) {
+      char c = phrase.charAt(i);
+      if (isWhitespace(c)) {
+        previousWhitespace = !builder.isEmpty();
+        continue;
+      }
+      if (previousWhitespace) {
+        builder.append(' ');
+        previousWhitespace = false;
+      }
+      builder.append(Character.toLowerCase(c));
+    }
+    return builder.toString();
+  }
+
+  public record Match<T>(T value, String phrase, int start, int end) {}
+
+  private record Entry<T>(
+      String phrase, T value, int state, int length, boolean wordStart, boolean wordEnd) {}
+
+  public static final class Builder<T> {
+    private final List<Entry<T>> entries = new ArrayList<>();
+    private final List<Map<Character, Integer>> trie = new ArrayList<>();
+
+    private Builder() {
+      trie.add(new HashMap<>());
+    }
+
+    public Builder<T> add(String phrase, T value) {
+      Objects.requireNonNull(phrase, "phrase");
+      Objects.requireNonNull(value, "value");
+      String normalized = normalize(phrase);
+      if (normalized.isEmpty()) {
+        throw new IllegalArgumentException("Phrase must not be blank");
+      }
+
+      int state = ROOT;
+      for (int i = 0; i < normalized.length(); i++) {
+        Map<Character, Integer> edges = trie.get(state);
+        Integer child = edges.get(normalized.charAt(i));
+        if (child == null) {
+          child = trie.size();
+          edges.put(normalized.charAt(i), child);
+          trie.add(new HashMap<>());
+        }
+        state = child;
+      }
+      entries.add(
+          new Entry<>(
+              phrase,
+              value,
+              state,
+              normalized.length(),
+              isWordChar(normalized.charAt(0)),
+              isWordChar(normalized.charAt(normalized.length() - 1))));
+      return this;
+    }
+
+    public Builder<T> addAll(Collection<String> phrases, T value) {
+      for (String phrase : phrases) {
+        add(phrase, value);
+      }
+      return this;
+    }
+
+    public DictionaryMatcher<T> build() {
+      return new DictionaryMatcher<>(entries, trie);
+    }
+  }
+}
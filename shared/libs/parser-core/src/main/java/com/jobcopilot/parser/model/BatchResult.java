@@ -0,0 +1,24 @@
+package com.jobcopilot.parser.model;
+
+import com.jobcopilot.parser.model.request.PipelineRequest;
+import com.jobcopilot.parser.model.response.PipelineResponse;
+import java.util.Objects;
+
+/** Outcome of one request of a batch: either its response or the error that failed it. */
+public record BatchResult(PipelineRequest request, PipelineResponse response, Throwable error) {
+  public BatchResult {
+    Objects.requireNonNull(request, "request");
+  }
+
+  public static BatchResult success(PipelineRequest request, PipelineResponse response) {
+    return new BatchResult(request, response, null);
+  }
+
+  public static BatchResult failure(PipelineRequest request, Throwable error) {
+    return new BatchResult(request, null, error);
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+}
@@ -0,0 +1,25 @@
+package com.jobcopilot.parser.model;
+
+import com.jobcopilot.parser.stages.PipelineStage;
+import java.util.List;
+import java.util.Objects;
+
+public record StageNode(
+    int index, PipelineStage stage, List<Integer> dependencies, InputKind inputKind) {
+  public static final int PIPELINE_REQUEST = -1;
+
+  public StageNode {
+    Objects.requireNonNull(stage, "stage");
+    Objects.requireNonNull(inputKind, "inputKind");
+    dependencies = List.copyOf(dependencies);
+  }
+
+  public enum InputKind {
+    /** Output of the single dependency is passed as is. */
+    DIRECT,
+    /** First dependency is the group input, the rest are wrapped in a ParallelOutputs. */
+    PARALLEL_OUTPUTS,
+    /** Dependencies are keyed by the stage's declared input types in a DependencyOutputs. */
+    DEPENDENCY_OUTPUTS
+  }
+}
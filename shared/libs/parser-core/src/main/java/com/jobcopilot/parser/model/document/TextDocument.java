@@ -0,0 +1,151 @@
+package com.jobcopilot.parser.model.document;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Normalized text shared by the stages of one parse. Lines are indexed once by offset and handed
+ * out as {@link TextSpan}s, so stages can slice, trim and match the text without copying it.
+ */
+public final class TextDocument {
+  private static final TextDocument EMPTY = new TextDocument("", new int[] {0});
+
+  private final String text;
+  private final int[] lineStarts;
+  private volatile TextDocument lowerCase;
+
+  private TextDocument(String text, int[] lineStarts) {
+    this.text = text;
+    this.lineStarts = lineStarts;
+  }
+
+  /** Indexes the lines of the text, split on {@code '\n'} the way {@code split("\n", -1)} does. */
+  public static TextDocument of(String text) {
+    if (text == null || text.isEmpty()) {
+      return EMPTY;
+    }
+    int[] starts = new int[16];
+    int count = 1;
+    for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+      if (count == starts.length) {
+        starts = Arrays.copyOf(starts, count * 2);
+      }
+      starts[count++] = i + 1;
+    }
+    return new TextDocument(text, Arrays.copyOf(starts, count));
+  }
+
+  public String text() {
+    return text;
+  }
+
+  public int length() {
+    return text.length();
+  }
+
+  public int lineCount() {
+    return lineStarts.length;
+  }
+
+  public TextSpan line(int index) {
+    return new TextSpan(this, lineStart(index), lineEnd(index));
+  }
+
+  /** Lines from {@code fromLine} to {@code toLine} exclusive, without the final line break. */
+  public TextSpan lines(int fromLine, int toLine) {
+    if (fromLine >= toLine) {
+      return new TextSpan(this, lineStart(fromLine), lineStart(fromLine));
+    }
+    return new TextSpan(this, lineStart(fromLine), lineEnd(toLine - 1));
+  }
+
+  /** A read-only view of every line; nothing is copied until a line is converted to a string. */
+  public List<TextSpan> lines() {
+    return new LineList(this, 0, lineCount());
+  }
+
+  public TextSpan span(int start, int end) {
+    return new TextSpan(this, start, end);
+  }
+
+  public TextSpan whole() {
+    return new TextSpan(this, 0, text.length());
+  }
+
+  /** Index of the line containing {@code offset}. */
+  public int lineOf(int offset) {
+    if (offset < 0 || offset > text.length()) {
+      throw new IndexOutOfBoundsException("Offset " + offset + " outside document");
+    }
+    int index = Arrays.binarySearch(lineStarts, offset);
+    return index >= 0 ? index : -index - 2;
+  }
+
+  /**
+   * The same document lowercased character by character, so every offset and line index still lines
+   * up with this one. Built on first use.
+   */
+  public TextDocument lowerCase() {
+    TextDocument lower = lowerCase;
+    if (lower == null) {
+      char[] chars = text.toCharArray();
+      boolean changed = false;
+      for (int i = 0; i < chars.length; i++) {
+        char c = Character.toLowerCase(chars[i]);
+        changed |= c != chars[i];
+        chars[i] = c;
+      }
+      lower = changed ? new TextDocument(new String(chars), lineStarts) : this;
+      lowerCase = lower;
+    }
+    return lower;
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+
+  private int lineStart(int index) {
+    return lineStarts[index];
+  }
+
+  private int lineEnd(int index) {
+    return index + 1 < lineStarts.length ? lineStarts[index + 1] - 1 : text.length();
+  }
+
+  private static final class LineList extends AbstractList<TextSpan> implements RandomAccess {
+    private final TextDocument document;
+    private final int fromLine;
+    private final int toLine;
+
+    private LineList(TextDocument document, int fromLine, int toLine) {
+      this.document = document;
+      this.fromLine = fromLine;
+      this.toLine = toLine;
+    }
+
+    @Override
+    public TextSpan get(int index) {
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException("Line " + index + " of " + size());
+      }
+      return document.line(fromLine + index);
+    }
+
+    @Override
+    public int size() {
+      return toLine - fromLine;
+    }
+
+    @Override
+    public List<TextSpan> subList(int fromIndex, int toIndex) {
+      if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+        throw new IndexOutOfBoundsException(fromIndex + ".." + toIndex + " of " + size());
+      }
+      return new LineList(document, fromLine + fromIndex, fromLine + toIndex);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.jobcopilot.parser.model.document;
+
+import java.util.Objects;
+
+/** A range of a {@link TextDocument}. Slicing a span never copies the underlying text. */
+public record TextSpan(TextDocument document, int start, int end) implements CharSequence {
+  public TextSpan {
+    Objects.requireNonNull(document, "document");
+    Objects.checkFromToIndex(start, end, document.length());
+  }
+
+  public static TextSpan of(String text) {
+    return TextDocument.of(text).whole();
+  }
+
+  @Override
+  public int length() {
+    return end - start;
+  }
+
+  @Override
+  public char charAt(int index) {
+    Objects.checkIndex(index, length());
+    return document.text().charAt(start + index);
+  }
+
+  @Override
+  public TextSpan subSequence(int from, int to) {
+    Objects.checkFromToIndex(from, to, length());
+    return new TextSpan(document, start + from, start + to);
+  }
+
+  public boolean isBlank() {
+    return trim().isEmpty();
+  }
+
+  /** Strips leading and trailing characters up to {@code ' '}, like {@link String#trim()}. */
+  public TextSpan trim() {
+    String text = document.text();
+    int from = start;
+    int to = end;
+    while (from < to && text.charAt(from) <= ' ') {
+      from++;
+    }
+    while (to > from && text.charAt(to - 1) <= ' ') {
+      to--;
+    }
+    return from == start && to == end ? this : new TextSpan(document, from, to);
+  }
+
+  /** The same range of the lowercased document. */
+  public TextSpan lowerCase() {
+    return new TextSpan(document.lowerCase(), start, end);
+  }
+
+  public boolean contains(String value) {
+    String text = document.text();
+    for (int i = start; i <= end - value.length(); i++) {
+      if (text.startsWith(value, i)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean startsWith(String prefix) {
+    return prefix.length() <= length() && document.text().startsWith(prefix, start);
+  }
+
+  public boolean endsWith(String suffix) {
+    return suffix.length() <= length() && document.text().startsWith(suffix, end - suffix.length());
+  }
+
+  @Override
+  public String toString() {
+    return document.text().substring(start, end);
+  }
+}
@@ -1,3 +1,8 @@
 package com.jobcopilot.parser.model.input;
 
-public interface StageInput {}
+public interface StageInput {
+  /** Approximate size of this input in characters or bytes, or -1 when unknown. */
+  default int approximateSize() {
+    return -1;
+  }
+}
@@ -0,0 +1,28 @@
+package com.jobcopilot.parser.model.output;
+
+import com.jobcopilot.parser.model.input.StageInput;
+import java.util.Map;
+
+public record DependencyOutputs(Map<Class<? extends StageInput>, StageInput> outputs)
+    implements StageOutput {
+  public DependencyOutputs {
+    outputs = outputs == null ? Map.of() : Map.copyOf(outputs);
+  }
+
+  public <T extends StageInput> T get(Class<T> type) {
+    StageInput output = outputs.get(type);
+    if (output == null) {
+      throw new IllegalArgumentException("No dependency output of type " + type.getName());
+    }
+    return type.cast(output);
+  }
+
+  @Override
+  public int approximateSize() {
+    int size = -1;
+    for (StageInput output : outputs.values()) {
+      size = Math.max(size, output.approximateSize());
+    }
+    return size;
+  }
+}
@@ -8,4 +8,9 @@ public record ParallelOutputs(StageInput originalInput, List<StageOutput> output
   public ParallelOutputs {
     outputs = outputs == null ? List.of() : List.copyOf(outputs);
   }
+
+  @Override
+  public int approximateSize() {
+    return originalInput == null ? -1 : originalInput.approximateSize();
+  }
 }
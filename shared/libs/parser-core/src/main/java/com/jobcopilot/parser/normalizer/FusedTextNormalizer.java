@@ -0,0 +1,282 @@
+package com.jobcopilot.parser.normalizer;
+
+import com.jobcopilot.parser.utils.ParsingUtils;
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+import lombok.Builder;
+
+/**
+ * Normalizes extracted text in one scan into one output buffer: line breaks, NFKC, tabs, repeated
+ * spaces, bullets and dashes are handled per character, and line wrapping and header cleanup per
+ * finished line. Produces the same text as running those steps as separate passes.
+ */
+@Builder
+public final class FusedTextNormalizer {
+  private static final String BULLETS = "•▪●–—*·>";
+  private static final String DASHES = "−—–";
+  private static final String TRAILING_PUNCTUATION = ".?!:;,";
+  private static final Pattern NUMBERED_LIST = Pattern.compile("^[0-9]+[).].*");
+
+  /** How the ends of each line are trimmed. */
+  @Builder.Default private final LineTrim lineTrim = LineTrim.TRIM;
+
+  /** Joins a line onto the previous one when it looks like a soft wrap of the same sentence. */
+  private final boolean repairLineWrapping;
+
+  /** Drops colons and dashes from lines that look like section headers. */
+  private final boolean cleanUpHeaders;
+
+  /**
+   * Drops trailing empty lines the way splitting with {@code String.lines()} after each pass did: a
+   * final line break, and up to two further empty lines.
+   */
+  private final boolean dropTrailingEmptyLines;
+
+  public String normalize(String text) {
+    String source = toNfkc(text);
+    Run run = new Run(source.length());
+
+    int length = source.length();
+    for (int i = 0; i < length; i++) {
+      char c = source.charAt(i);
+      if (c == '\r') {
+        if (i + 1 < length && source.charAt(i + 1) == '\n') {
+          i++;
+        }
+        run.endLine();
+      } else if (c == '\n') {
+        run.endLine();
+      } else {
+        run.append(c);
+      }
+    }
+
+    char last = length == 0 ? '\n' : source.charAt(length - 1);
+    // String.lines() never yields the empty string after a final line break.
+    if (!dropTrailingEmptyLines || (last != '\n' && last != '\r')) {
+      run.endLine();
+    }
+    return run.finish();
+  }
+
+  /** Skips the normalizer for ASCII text and text that passes the NFKC quick check. */
+  static String toNfkc(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) >= 0x80) {
+        return Normalizer.isNormalized(text, Normalizer.Form.NFKC)
+            ? text
+            : Normalizer.normalize(text, Normalizer.Form.NFKC);
+      }
+    }
+    return text;
+  }
+
+  public enum LineTrim {
+    /** Trims characters up to {@code ' '}, like {@link String#trim()}. */
+    TRIM,
+    /** Trims whitespace, like {@link String#strip()}. */
+    STRIP;
+
+    boolean trims(char c) {
+      return this == TRIM ? c <= ' ' : Character.isWhitespace(c);
+    }
+  }
+
+  private enum Dash {
+    NONE,
+    BULLET,
+    DASH
+  }
+
+  /** State of one {@link #normalize(String)} call. */
+  private final class Run {
+    private final StringBuilder out;
+    private final StringBuilder line = new StringBuilder(128);
+    private final StringBuilder paragraph = new StringBuilder(256);
+    private Dash dash = Dash.NONE;
+    private boolean hasParagraph;
+    private int pendingEmptyLines;
+    private final int trailingDrops;
+    private int lines;
+
+    private Run(int capacity) {
+      this.out = new StringBuilder(capacity);
+      this.trailingDrops = dropTrailingEmptyLines ? 2 : 0;
+    }
+
+    private void append(char c) {
+      if (c == '\t') {
+        c = ' ';
+      }
+      if (line.isEmpty() && lineTrim.trims(c)) {
+        return;
+      }
+      if (BULLETS.indexOf(c) >= 0) {
+        appendDash(Dash.BULLET);
+      } else if (DASHES.indexOf(c) >= 0) {
+        appendDash(Dash.DASH);
+      } else {
+        dash = Dash.NONE;
+        if (c != ' ' || line.charAt(line.length() - 1) != ' ') {
+          line.append(c);
+        }
+      }
+    }
+
+    private void appendDash(Dash kind) {
+      // A run of bullet characters, or of dash characters, becomes a single '-'.
+      if (dash != kind) {
+        line.append('-');
+        dash = kind;
+      }
+    }
+
+    private void endLine() {
+      int end = line.length();
+      while (end > 0 && lineTrim.trims(line.charAt(end - 1))) {
+        end--;
+      }
+      line.setLength(end);
+      dash = Dash.NONE;
+
+      if (line.isEmpty()) {
+        flushParagraph();
+        pendingEmptyLines++;
+      } else {
+        if (hasParagraph && shouldMerge(paragraph, line)) {
+          paragraph.append(' ');
+          appendTrimmed(paragraph, line);
+        } else {
+          flushParagraph();
+          emitPendingEmptyLines(pendingEmptyLines);
+          paragraph.append(line);
+          hasParagraph = true;
+        }
+      }
+      line.setLength(0);
+    }
+
+    private String finish() {
+      flushParagraph();
+      emitPendingEmptyLines(Math.max(0, pendingEmptyLines - trailingDrops));
+      return out.toString();
+    }
+
+    private void flushParagraph() {
+      if (!hasParagraph) {
+        return;
+      }
+      emitLine(paragraph);
+      paragraph.setLength(0);
+      hasParagraph = false;
+    }
+
+    private void emitPendingEmptyLines(int count) {
+      for (int i = 0; i < count; i++) {
+        emitLine("");
+      }
+      pendingEmptyLines = 0;
+    }
+
+    private void emitLine(CharSequence value) {
+      if (lines++ > 0) {
+        out.append('\n');
+      }
+      if (cleanUpHeaders && isLikelyHeader(value)) {
+        int start = out.length();
+        for (int i = 0; i < value.length(); i++) {
+          char c = value.charAt(i);
+          if (c != ':' && c != '-') {
+            out.append(c);
+          }
+        }
+        int from = start;
+        while (from < out.length() && out.charAt(from) <= ' ') {
+          from++;
+        }
+        out.delete(start, from);
+        int end = out.length();
+        while (end > start && out.charAt(end - 1) <= ' ') {
+          end--;
+        }
+        out.setLength(end);
+      } else {
+        out.append(value);
+      }
+    }
+
+    private boolean shouldMerge(CharSequence previous, CharSequence next) {
+      if (!repairLineWrapping) {
+        return false;
+      }
+      int prevStart = trimStart(previous);
+      int prevEnd = trimEnd(previous, prevStart);
+      int nextStart = trimStart(next);
+      int nextEnd = trimEnd(next, nextStart);
+      if (prevStart == prevEnd || nextStart == nextEnd) {
+        return false;
+      }
+      if (TRAILING_PUNCTUATION.indexOf(previous.charAt(prevEnd - 1)) >= 0) {
+        return false;
+      }
+      if (!startsWithLowercaseLetter(next, nextStart, nextEnd)) {
+        return false;
+      }
+
+      String prev = previous.subSequence(prevStart, prevEnd).toString();
+      String nxt = next.subSequence(nextStart, nextEnd).toString();
+      if (ParsingUtils.isLikelyHeader(prev) || ParsingUtils.isLikelyHeader(nxt)) {
+        return false;
+      }
+      return !looksLikeBulletOrListItem(prev) && !looksLikeBulletOrListItem(nxt);
+    }
+  }
+
+  private static boolean isLikelyHeader(CharSequence line) {
+    // Same early rejects as ParsingUtils, so most lines never become a string
+    int start = trimStart(line);
+    int end = trimEnd(line, start);
+    if (start == end || end - start > 80 || line.charAt(end - 1) == '.') {
+      return false;
+    }
+    return ParsingUtils.isLikelyHeader(line.toString());
+  }
+
+  private static void appendTrimmed(StringBuilder target, CharSequence value) {
+    int start = trimStart(value);
+    target.append(value, start, trimEnd(value, start));
+  }
+
+  private static int trimStart(CharSequence value) {
+    int start = 0;
+    while (start < value.length() && value.charAt(start) <= ' ') {
+      start++;
+    }
+    return start;
+  }
+
+  private static int trimEnd(CharSequence value, int start) {
+    int end = value.length();
+    while (end > start && value.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return end;
+  }
+
+  private static boolean startsWithLowercaseLetter(CharSequence line, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = line.charAt(i);
+      if (Character.isLetter(c)) {
+        return Character.isLowerCase(c);
+      }
+    }
+    return false;
+  }
+
+  private static boolean looksLikeBulletOrListItem(String trimmed) {
+    if (trimmed.startsWith("- ") || trimmed.startsWith("* ") || trimmed.startsWith("• ")) {
+      return true;
+    }
+    return NUMBERED_LIST.matcher(trimmed).matches();
+  }
+}
@@ -2,6 +2,7 @@ package com.jobcopilot.parser.stages;
 
 import com.jobcopilot.parser.model.input.StageInput;
 import com.jobcopilot.parser.model.output.StageOutput;
+import java.util.List;
 
 public interface PipelineStage {
   StageOutput process(StageInput input);
@@ -9,4 +10,17 @@ public interface PipelineStage {
   default boolean isParallelizable() {
     return false;
   }
+
+  /**
+   * Input types this stage reads. When every stage of a pipeline declares its inputs, stages are
+   * wired by type instead of by position; a stage declaring more than one input receives a {@link
+   * com.jobcopilot.parser.model.output.DependencyOutputs}.
+   */
+  default List<Class<? extends StageInput>> consumes() {
+    return List.of();
+  }
+
+  default Class<? extends StageOutput> produces() {
+    return StageOutput.class;
+  }
 }
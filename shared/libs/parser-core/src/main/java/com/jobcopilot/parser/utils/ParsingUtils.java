@@ -1,5 +1,6 @@
 package com.jobcopilot.parser.utils;
 
+import com.jobcopilot.parser.model.document.TextSpan;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
@@ -33,6 +34,16 @@ public class ParsingUtils {
     return looksLikeTitleCase(trimmed) && wordCount(trimmed) <= 6;
   }
 
+  public boolean isLikelyHeader(TextSpan line) {
+    if (line == null) return false;
+
+    // Cheap rejects on the span so most body lines are never copied into a string
+    TextSpan trimmed = line.trim();
+    if (trimmed.isEmpty() || trimmed.length() > 80 || trimmed.endsWith(".")) return false;
+
+    return isLikelyHeader(trimmed.toString());
+  }
+
   private boolean startsWithBullet(String s) {
     // normalize common bullet chars were already handled earlier, but keep this defensive
     return s.startsWith("-")
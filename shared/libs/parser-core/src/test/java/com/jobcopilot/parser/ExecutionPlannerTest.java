@@ -3,6 +3,11 @@ package com.jobcopilot.parser;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.jobcopilot.parser.model.StageGroup;
+import com.jobcopilot.parser.model.StageNode;
+import com.jobcopilot.parser.model.input.StageInput;
+import com.jobcopilot.parser.model.output.StageOutput;
+import com.jobcopilot.parser.model.request.PipelineRequest;
+import com.jobcopilot.parser.model.response.PipelineResponse;
 import com.jobcopilot.parser.stages.PipelineStage;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -30,6 +35,105 @@ class ExecutionPlannerTest {
     assertEquals(1, groups.get(2).stages().size());
   }
 
+  @Test
+  void wiresDeclaredStagesByType() {
+    List<PipelineStage> stages =
+        List.of(
+            new DeclaredStage(List.of(Request.class), Text.class),
+            new DeclaredStage(List.of(Text.class), Left.class),
+            new DeclaredStage(List.of(Text.class), Right.class),
+            new DeclaredStage(List.of(Text.class, Left.class, Right.class), StageOutput.class));
+
+    List<StageNode> graph = ExecutionPlanner.toDependencyGraph(stages);
+
+    assertEquals(List.of(StageNode.PIPELINE_REQUEST), graph.get(0).dependencies());
+    assertEquals(List.of(0), graph.get(1).dependencies());
+    assertEquals(List.of(0), graph.get(2).dependencies());
+    assertEquals(List.of(0, 1, 2), graph.get(3).dependencies());
+    assertEquals(StageNode.InputKind.DIRECT, graph.get(1).inputKind());
+    assertEquals(StageNode.InputKind.DEPENDENCY_OUTPUTS, graph.get(3).inputKind());
+  }
+
+  @Test
+  void rejectsDeclaredInputWithoutProducer() {
+    List<PipelineStage> stages =
+        List.of(
+            new DeclaredStage(List.of(Request.class), Text.class),
+            new DeclaredStage(List.of(Left.class), Right.class));
+
+    assertThrows(IllegalStateException.class, () -> ExecutionPlanner.toDependencyGraph(stages));
+  }
+
+  @Test
+  void wiresUndeclaredStagesByPosition() {
+    List<PipelineStage> stages =
+        List.of(
+            new TestStage(false), new TestStage(true), new TestStage(true), new TestStage(false));
+
+    List<StageNode> graph = ExecutionPlanner.toDependencyGraph(stages);
+
+    assertEquals(List.of(StageNode.PIPELINE_REQUEST), graph.get(0).dependencies());
+    assertEquals(List.of(0), graph.get(1).dependencies());
+    assertEquals(List.of(0), graph.get(2).dependencies());
+    assertEquals(List.of(0, 1, 2), graph.get(3).dependencies());
+    assertEquals(StageNode.InputKind.PARALLEL_OUTPUTS, graph.get(3).inputKind());
+  }
+
+  @Test
+  void rejectsPositionalInputOfWrongDeclaredType() {
+    List<PipelineStage> stages =
+        List.of(
+            new DeclaredStage(List.of(Request.class), Left.class),
+            new TestStage(false),
+            new DeclaredStage(List.of(), Right.class),
+            new DeclaredStage(List.of(Left.class), Response.class));
+    List<StageNode> graph = ExecutionPlanner.toDependencyGraph(stages);
+
+    assertThrows(IllegalStateException.class, () -> ExecutionPlanner.verifyWiring(graph));
+  }
+
+  @Test
+  void rejectsLastStageWithoutResponse() {
+    List<StageNode> graph =
+        ExecutionPlanner.toDependencyGraph(
+            List.of(
+                new DeclaredStage(List.of(Request.class), Text.class),
+                new DeclaredStage(List.of(Text.class), Left.class)));
+
+    assertThrows(IllegalStateException.class, () -> ExecutionPlanner.verifyWiring(graph));
+  }
+
+  @Test
+  void acceptsDeclaredAndUndeclaredWiring() {
+    List<StageNode> graph =
+        ExecutionPlanner.toDependencyGraph(
+            List.of(
+                new DeclaredStage(List.of(Request.class), Text.class),
+                new TestStage(false),
+                new DeclaredStage(List.of(Text.class), Response.class)));
+
+    assertDoesNotThrow(() -> ExecutionPlanner.verifyWiring(graph));
+  }
+
+  private interface Request extends PipelineRequest {}
+
+  private interface Text extends StageOutput {}
+
+  private interface Left extends StageOutput {}
+
+  private interface Right extends StageOutput {}
+
+  private interface Response extends PipelineResponse {}
+
+  private record DeclaredStage(
+      List<Class<? extends StageInput>> consumes, Class<? extends StageOutput> produces)
+      implements PipelineStage {
+    @Override
+    public StageOutput process(StageInput input) {
+      throw new UnsupportedOperationException("Not used in test");
+    }
+  }
+
   private static final class TestStage implements PipelineStage {
     private final boolean parallel;
 
@@ -0,0 +1,330 @@
+package com.jobcopilot.parser;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jobcopilot.parser.exception.PipelineTimeoutException;
+import com.jobcopilot.parser.model.BatchResult;
+import com.jobcopilot.parser.model.input.StageInput;
+import com.jobcopilot.parser.model.output.StageOutput;
+import com.jobcopilot.parser.model.request.PipelineRequest;
+import com.jobcopilot.parser.model.response.PipelineResponse;
+import com.jobcopilot.parser.stages.PipelineStage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParsingPipelineTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void executeAsyncRunsStagesOffTheCallerThread() {
+    Thread caller = Thread.currentThread();
+    ParsingPipeline pipeline =
+        PipelineBuilder.init(executor)
+            .addStage(_ -> new Text(Thread.currentThread().getName()))
+            .addStage(input -> new Response(((Text) input).value()))
+            .build();
+
+    CompletableFuture<PipelineResponse> future = pipeline.executeAsync(new Request());
+
+    assertNotEquals(caller.getName(), ((Response) future.join()).value());
+  }
+
+  @Test
+  void executeAsyncJoinsDependentStages() {
+    ParsingPipeline pipeline =
+        PipelineBuilder.init(executor)
+            .addStage(new Declared(List.of(Request.class), Text.class, _ -> new Text("text")))
+            .addStage(new Declared(List.of(Text.class), Left.class, _ -> new Left()))
+            .addStage(new Declared(List.of(Text.class), Right.class, _ -> new Right()))
+            .addStage(
+                new Declared(
+                    List.of(Left.class, Right.class), Response.class, _ -> new Response("done")))
+            .build();
+
+    assertEquals(new Response("done"), pipeline.executeAsync(new Request()).join());
+  }
+
+  @Test
+  void executeAsyncCompletesExceptionallyWhenStageFails() {
+    ParsingPipeline pipeline =
+        PipelineBuilder.init(executor)
+            .addStage(
+                _ -> {
+                  throw new IllegalArgumentException("boom");
+                })
+            .build();
+
+    CompletionException e =
+        assertThrows(CompletionException.class, () -> pipeline.executeAsync(new Request()).join());
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+  }
+
+  @Test
+  void executeRethrowsStageFailure() {
+    ParsingPipeline pipeline =
+        PipelineBuilder.init(executor)
+            .addStage(new Declared(List.of(Request.class), Left.class, _ -> new Left()))
+            .addStage(new Declared(List.of(Request.class), Right.class, _ -> new Right()))
+            .addStage(
+                new Declared(
+                    List.of(Left.class, Right.class),
+                    Response.class,
+                    _ -> {
+                      throw new IllegalStateException("boom");
+                    }))
+            .build();
+
+    assertThrows(IllegalStateException.class, () -> pipeline.execute(new Request()));
+  }
+
+  @Test
+  void failingStageReleasesCallerWithoutWaitingForSiblings() {
+    CountDownLatch release = new CountDownLatch(1);
+    ParsingPipeline pipeline =
+        PipelineBuilder.init(executor)
+            .addStage(new Declared(List.of(Request.class), Text.class, _ -> new Text("text")))
+            .addStage(new Declared(List.of(Text.class), Left.class, _ -> await(release)))
+            .addStage(
+                new Declared(
+                    List.of(Text.class),
+                    Right.class,
+                    _ -> {
+                      throw new IllegalArgumentException("boom");
+                    }))
+            .addStage(
+                new Declared(
+                    List.of(Left.class, Right.class), Response.class, _ -> new Response("done")))
+            .build();
+
+    try {
+      assertTimeoutPreemptively(
+          Duration.ofSeconds(5),
+          () ->
+              assertThrows(IllegalArgumentException.class, () -> pipeline.execute(new Request())));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void stageDeadlineFailsRunWithTimeout() {
+    CountDownLatch release = new CountDownLatch(1);
+    ParsingPipeline pipeline =
+        PipelineBuilder.init(executor).addStage(_ -> await(release), Duration.ofMillis(50)).build();
+
+    try {
+      PipelineTimeoutException e =
+          assertThrows(PipelineTimeoutException.class, () -> pipeline.execute(new Request()));
+      assertTrue(e.getMessage().contains("did not complete within 50 ms"));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void stageDeadlineInterruptsStuckStage() throws Exception {
+    ExecutorService single = Executors.newSingleThreadExecutor();
+    try {
+      ParsingPipeline pipeline =
+          PipelineBuilder.init(single)
+              .addStage(
+                  _ -> {
+                    try {
+                      Thread.sleep(Duration.ofMinutes(1));
+                    } catch (InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                      throw new IllegalStateException("interrupted", e);
+                    }
+                    return new Response("slept");
+                  },
+                  Duration.ofMillis(50))
+              .build();
+
+      assertThrows(PipelineTimeoutException.class, () -> pipeline.execute(new Request()));
+
+      // The only pool thread is free again, and without the interrupt meant for the stage.
+      assertFalse(single.submit(() -> Thread.currentThread().isInterrupted()).get(5, SECONDS));
+    } finally {
+      single.shutdownNow();
+    }
+  }
+
+  @Test
+  void pipelineDeadlineFailsAsyncRunWithTimeout() {
+    CountDownLatch release = new CountDownLatch(1);
+    ParsingPipeline pipeline =
+        PipelineBuilder.init(executor)
+            .timeout(Duration.ofMillis(50))
+            .addStage(_ -> new Text("text"))
+            .addStage(_ -> await(release))
+            .build();
+
+    try {
+      CompletionException e =
+          assertThrows(
+              CompletionException.class, () -> pipeline.executeAsync(new Request()).join());
+      assertInstanceOf(PipelineTimeoutException.class, e.getCause());
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void executeBatchReturnsResultsInRequestOrder() throws Exception {
+    ParsingPipeline pipeline =
+        PipelineBuilder.init(executor)
+            .batchWindow(2)
+            .addStage(input -> new Text(((Numbered) input).text()))
+            .addStage(
+                input -> {
+                  String text = ((Text) input).value();
+                  if (text.equals("bad")) {
+                    throw new IllegalArgumentException("bad input");
+                  }
+                  return new Response(text);
+                })
+            .build();
+
+    List<BatchResult> results =
+        pipeline.executeBatch(
+            List.of(new Numbered("one"), new Numbered("bad"), new Numbered("three")));
+
+    assertEquals(3, results.size());
+    assertEquals(new Response("one"), results.get(0).response());
+    assertFalse(results.get(1).isSuccess());
+    assertInstanceOf(IllegalArgumentException.class, results.get(1).error());
+    assertEquals(new Numbered("bad"), results.get(1).request());
+    assertEquals(new Response("three"), results.get(2).response());
+  }
+
+  @Test
+  void executeStreamKeepsAtMostBatchWindowInFlight() throws Exception {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    ParsingPipeline pipeline =
+        PipelineBuilder.init(executor)
+            .batchWindow(2)
+            .addStage(
+                input -> {
+                  maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                  return new Text(((Numbered) input).text());
+                })
+            .addStage(
+                input -> {
+                  inFlight.decrementAndGet();
+                  return new Response(((Text) input).value());
+                })
+            .build();
+    List<Numbered> requests = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      requests.add(new Numbered(String.valueOf(i)));
+    }
+
+    List<String> seen = new ArrayList<>();
+    pipeline.executeStream(
+        requests.iterator(), result -> seen.add(((Response) result.response()).value()));
+
+    assertEquals(requests.stream().map(Numbered::text).toList(), seen);
+    assertTrue(maxInFlight.get() <= 2);
+  }
+
+  @Test
+  void executeStreamWindowBoundsDocumentsOnAWiderExecutor() throws Exception {
+    ExecutorService wide = Executors.newFixedThreadPool(8);
+    try {
+      AtomicInteger inFlight = new AtomicInteger();
+      AtomicInteger maxInFlight = new AtomicInteger();
+      ParsingPipeline pipeline =
+          PipelineBuilder.init(wide)
+              .batchWindow(3)
+              .addStage(
+                  input -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                      Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                    }
+                    return new Text(((Numbered) input).text());
+                  })
+              .addStage(
+                  input -> {
+                    inFlight.decrementAndGet();
+                    return new Response(((Text) input).value());
+                  })
+              .build();
+      AtomicInteger pulled = new AtomicInteger();
+      Iterator<Numbered> requests =
+          IntStream.range(0, 40)
+              .mapToObj(i -> new Numbered(String.valueOf(i)))
+              .peek(_ -> pulled.incrementAndGet())
+              .iterator();
+
+      List<Integer> aheadOfSink = new ArrayList<>();
+      List<String> seen = new ArrayList<>();
+      pipeline.executeStream(
+          requests,
+          result -> {
+            seen.add(((Response) result.response()).value());
+            aheadOfSink.add(pulled.get() - seen.size());
+          });
+
+      assertEquals(40, seen.size());
+      // Eight threads were free, but only the window of documents ran at once.
+      assertEquals(3, maxInFlight.get());
+      assertTrue(aheadOfSink.stream().allMatch(ahead -> ahead <= 3));
+    } finally {
+      wide.shutdownNow();
+    }
+  }
+
+  private record Numbered(String text) implements PipelineRequest {}
+
+  private static Response await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return new Response("released");
+  }
+
+  private record Request() implements PipelineRequest {}
+
+  private record Text(String value) implements StageOutput {}
+
+  private record Left() implements StageOutput {}
+
+  private record Right() implements StageOutput {}
+
+  private record Response(String value) implements PipelineResponse {}
+
+  private record Declared(
+      List<Class<? extends StageInput>> consumes,
+      Class<? extends StageOutput> produces,
+      PipelineStage delegate)
+      implements PipelineStage {
+    @Override
+    public StageOutput process(StageInput input) {
+      return delegate.process(input);
+    }
+  }
+}
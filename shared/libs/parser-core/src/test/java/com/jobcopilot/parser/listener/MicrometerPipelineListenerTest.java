@@ -0,0 +1,112 @@
+package com.jobcopilot.parser.listener;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jobcopilot.parser.ParsingPipeline;
+import com.jobcopilot.parser.PipelineBuilder;
+import com.jobcopilot.parser.model.input.StageInput;
+import com.jobcopilot.parser.model.output.StageOutput;
+import com.jobcopilot.parser.model.request.PipelineRequest;
+import com.jobcopilot.parser.model.response.PipelineResponse;
+import com.jobcopilot.parser.stages.PipelineStage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class MicrometerPipelineListenerTest {
+
+  @Test
+  void recordsDurationAndInputSizePerStage() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    try (ParsingPipeline pipeline =
+        PipelineBuilder.init()
+            .name("test")
+            .listener(new MicrometerPipelineListener(registry))
+            .addStage(new Respond())
+            .build()) {
+      pipeline.execute(new Request("hello"));
+      pipeline.execute(new Request("hello world"));
+    }
+
+    Timer timer =
+        registry
+            .get(MicrometerPipelineListener.STAGE_DURATION)
+            .tags("pipeline", "test", "stage", "Respond", "outcome", "success")
+            .timer();
+    DistributionSummary inputSize =
+        registry
+            .get(MicrometerPipelineListener.STAGE_INPUT_SIZE)
+            .tags("pipeline", "test", "stage", "Respond")
+            .summary();
+    assertEquals(2, timer.count());
+    assertEquals(2, inputSize.count());
+    assertEquals(11, inputSize.max());
+  }
+
+  @Test
+  void recordsFailedStages() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ParsingPipeline pipeline =
+        PipelineBuilder.init()
+            .name("test")
+            .listener(new MicrometerPipelineListener(registry))
+            .addStage(
+                _ -> {
+                  throw new IllegalArgumentException("boom");
+                })
+            .build();
+
+    assertThrows(IllegalArgumentException.class, () -> pipeline.execute(new Request("text")));
+    pipeline.close();
+
+    assertEquals(
+        1,
+        registry
+            .get(MicrometerPipelineListener.STAGE_DURATION)
+            .tags("pipeline", "test", "outcome", "failure")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void recordsStagesFailingWithAnError() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ParsingPipeline pipeline =
+        PipelineBuilder.init()
+            .name("test")
+            .listener(new MicrometerPipelineListener(registry))
+            .addStage(
+                _ -> {
+                  throw new StackOverflowError();
+                })
+            .build();
+
+    assertThrows(StackOverflowError.class, () -> pipeline.execute(new Request("text")));
+    pipeline.close();
+
+    assertEquals(
+        1,
+        registry
+            .get(MicrometerPipelineListener.STAGE_DURATION)
+            .tags("pipeline", "test", "outcome", "failure")
+            .timer()
+            .count());
+  }
+
+  private record Request(String text) implements PipelineRequest {
+    @Override
+    public int approximateSize() {
+      return text.length();
+    }
+  }
+
+  private record Response() implements PipelineResponse {}
+
+  private static final class Respond implements PipelineStage {
+    @Override
+    public StageOutput process(StageInput input) {
+      return new Response();
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.jobcopilot.parser.matcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DictionaryMatcherTest {
+
+  @Test
+  void findsAllPhrasesInOnePass() {
+    DictionaryMatcher<String> matcher =
+        DictionaryMatcher.<String>builder()
+            .add("java", "JAVA")
+            .add("spring", "SPRING")
+            .add("spring boot", "SPRING_BOOT")
+            .add("kafka", "KAFKA")
+            .build();
+
+    List<DictionaryMatcher.Match<String>> matches = matcher.findAll("Java, Spring Boot and Kafka");
+
+    assertEquals(
+        List.of("JAVA", "SPRING", "SPRING_BOOT", "KAFKA"),
+        matches.stream().map(DictionaryMatcher.Match::value).toList());
+    DictionaryMatcher.Match<String> springBoot = matches.get(2);
+    assertEquals(6, springBoot.start());
+    assertEquals(17, springBoot.end());
+    assertEquals("spring boot", springBoot.phrase());
+  }
+
+  @Test
+  void matchesOnlyWholeWords() {
+    DictionaryMatcher<String> matcher =
+        DictionaryMatcher.<String>builder().add("go", "GO").add("sql", "SQL").build();
+
+    assertEquals(Set.of(), matcher.findValues("Good mysql_db ago"));
+    assertEquals(Set.of("GO", "SQL"), matcher.findValues("go/sql"));
+  }
+
+  @Test
+  void toleratesWhitespaceRunsInsidePhrases() {
+    DictionaryMatcher<String> matcher =
+        DictionaryMatcher.<String>builder().add("machine   learning", "ML").build();
+
+    List<DictionaryMatcher.Match<String>> matches =
+        matcher.findAll("Applied  Machine \n\t Learning team");
+
+    assertEquals(1, matches.size());
+    assertEquals(9, matches.getFirst().start());
+    assertEquals(28, matches.getFirst().end());
+  }
+
+  @Test
+  void punctuationEdgesDoNotRequireWordBoundary() {
+    DictionaryMatcher<String> matcher =
+        DictionaryMatcher.<String>builder()
+            .add("c++", "CPP")
+            .add(".net", "DOTNET")
+            .add("node.js", "NODE")
+            .build();
+
+    assertEquals(Set.of("CPP", "DOTNET", "NODE"), matcher.findValues("c++/asp.net, node.js"));
+    assertEquals(Set.of(), matcher.findValues("nodes.js"));
+  }
+
+  @Test
+  void reportsOverlappingAndNestedPhrases() {
+    DictionaryMatcher<String> matcher =
+        DictionaryMatcher.<String>builder()
+            .add("data", "DATA")
+            .add("data pipeline", "PIPELINE")
+            .add("pipeline", "STAGE")
+            .build();
+
+    assertEquals(Set.of("DATA", "PIPELINE", "STAGE"), matcher.findValues("Owns the data pipeline"));
+  }
+
+  @Test
+  void rejectsBlankPhrases() {
+    DictionaryMatcher.Builder<String> builder = DictionaryMatcher.builder();
+    assertThrows(IllegalArgumentException.class, () -> builder.add("  ", "BLANK"));
+  }
+
+  @Test
+  void emptyTextHasNoMatches() {
+    DictionaryMatcher<String> matcher = DictionaryMatcher.<String>builder().add("a", "A").build();
+
+    assertTrue(matcher.findAll("").isEmpty());
+    assertTrue(matcher.findAll(null).isEmpty());
+  }
+}
@@ -0,0 +1,78 @@
+package com.jobcopilot.parser.model.document;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TextDocumentTest {
+
+  @Test
+  void indexesLinesLikeSplitWithNegativeLimit() {
+    String text = "Title\n\n  Body line  \n";
+    TextDocument document = TextDocument.of(text);
+
+    assertEquals(text.split("\n", -1).length, document.lineCount());
+    assertEquals(
+        List.of(text.split("\n", -1)), document.lines().stream().map(TextSpan::toString).toList());
+    assertEquals("Body line", document.line(2).trim().toString());
+    assertTrue(document.line(1).isBlank());
+  }
+
+  @Test
+  void spansShareTheDocumentText() {
+    TextDocument document = TextDocument.of("Skills\nJava, Kafka\nDocker");
+
+    TextSpan body = document.lines(1, 3);
+    assertEquals("Java, Kafka\nDocker", body.toString());
+    assertSame(document, body.subSequence(0, 4).document());
+    assertEquals(7, body.subSequence(0, 4).start());
+    assertEquals(List.of("Java, Kafka", "Docker"), toStrings(document.lines().subList(1, 3)));
+    assertTrue(document.lines(2, 2).isEmpty());
+  }
+
+  @Test
+  void lowerCaseKeepsOffsetsAligned() {
+    TextDocument document = TextDocument.of("Senior ENGINEER\nRemote");
+
+    TextDocument lower = document.lowerCase();
+    assertEquals("senior engineer\nremote", lower.text());
+    assertSame(lower, document.lowerCase());
+    assertEquals("engineer", document.line(0).subSequence(7, 15).lowerCase().toString());
+    assertSame(lower, lower.lowerCase());
+  }
+
+  @Test
+  void searchesWithinTheSpanOnly() {
+    TextDocument document = TextDocument.of("nice to have\nrequired: java");
+
+    TextSpan first = document.line(0);
+    assertTrue(first.contains("to have"));
+    assertFalse(first.contains("required"));
+    assertTrue(first.startsWith("nice"));
+    assertTrue(document.line(1).endsWith("java"));
+    assertFalse(first.endsWith("java"));
+  }
+
+  @Test
+  void findsLineOfOffset() {
+    TextDocument document = TextDocument.of("a\nbc\n\nd");
+
+    assertEquals(0, document.lineOf(0));
+    assertEquals(1, document.lineOf(2));
+    assertEquals(1, document.lineOf(4));
+    assertEquals(2, document.lineOf(5));
+    assertEquals(3, document.lineOf(6));
+  }
+
+  @Test
+  void nullAndEmptyTextHaveOneEmptyLine() {
+    assertEquals(1, TextDocument.of(null).lineCount());
+    assertTrue(TextDocument.of("").whole().isEmpty());
+    assertThrows(IndexOutOfBoundsException.class, () -> TextDocument.of("abc").span(2, 5));
+  }
+
+  private static List<String> toStrings(List<TextSpan> spans) {
+    return spans.stream().map(TextSpan::toString).toList();
+  }
+}
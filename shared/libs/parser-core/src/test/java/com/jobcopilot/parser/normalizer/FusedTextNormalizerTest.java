@@ -0,0 +1,65 @@
+package com.jobcopilot.parser.normalizer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class FusedTextNormalizerTest {
+  private static final FusedTextNormalizer LINES = FusedTextNormalizer.builder().build();
+  private static final FusedTextNormalizer RESUME =
+      FusedTextNormalizer.builder()
+          .lineTrim(FusedTextNormalizer.LineTrim.STRIP)
+          .repairLineWrapping(true)
+          .cleanUpHeaders(true)
+          .dropTrailingEmptyLines(true)
+          .build();
+
+  @Test
+  void normalizesLineBreaksSpacesBulletsAndDashes() {
+    String text = "  Line 1\r\n\t•• Item\rA  −−  B — C\n";
+
+    assertEquals("Line 1\n- Item\nA - B - C\n", LINES.normalize(text));
+  }
+
+  @Test
+  void keepsAdjacentBulletAndDashRunsSeparate() {
+    assertEquals("a --b", LINES.normalize("a •−b"));
+    assertEquals("a -b", LINES.normalize("a ——b"));
+  }
+
+  @Test
+  void appliesNfkcOnlyWhenNeeded() {
+    String ascii = "Plain ASCII text";
+    String composed = "Café résumé";
+
+    assertSame(ascii, FusedTextNormalizer.toNfkc(ascii));
+    assertSame(composed, FusedTextNormalizer.toNfkc(composed));
+    assertEquals("Java fi", FusedTextNormalizer.toNfkc("Ｊａｖａ ﬁ"));
+    assertEquals("Café", FusedTextNormalizer.toNfkc("Café"));
+  }
+
+  @Test
+  void repairsWrappedLinesAndCleansHeaders() {
+    String text =
+        """
+        SUMMARY:
+        Backend engineer building
+        distributed systems.
+        - Led the team
+        continued here
+        """;
+
+    assertEquals(
+        "SUMMARY\nBackend engineer building distributed systems.\n- Led the team\ncontinued here",
+        RESUME.normalize(text));
+  }
+
+  @Test
+  void dropsTrailingEmptyLinesLikeSplittingByLines() {
+    assertEquals("a", RESUME.normalize("a\n"));
+    assertEquals("a", RESUME.normalize("a\n \n\n"));
+    assertEquals("a\n", RESUME.normalize("a\n\n\n\n"));
+    assertEquals("", RESUME.normalize(""));
+    assertEquals("a\n\n\n", LINES.normalize("a\n\n\n"));
+  }
+}